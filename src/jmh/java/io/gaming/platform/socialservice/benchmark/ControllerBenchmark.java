@@ -0,0 +1,131 @@
+package io.gaming.platform.socialservice.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import io.gaming.platform.socialservice.backpressure.PublishLimiter;
+import io.gaming.platform.socialservice.config.BackpressureProperties;
+import io.gaming.platform.socialservice.config.KeyingProperties;
+import io.gaming.platform.socialservice.config.PublishLogProperties;
+import io.gaming.platform.socialservice.controller.SocialEventController;
+import io.gaming.platform.socialservice.dto.FriendRequestRequest;
+import io.gaming.platform.socialservice.dto.NewFollowerRequest;
+import io.gaming.platform.socialservice.dto.SocialEventBatchResponse;
+import io.gaming.platform.socialservice.dto.SocialEventResponse;
+import io.gaming.platform.socialservice.eventid.UuidV7EventIdGenerator;
+import io.gaming.platform.socialservice.friendrequest.PendingFriendRequestIndex;
+import io.gaming.platform.socialservice.keying.HotKeyDetector;
+import io.gaming.platform.socialservice.keying.KeyStrategy;
+import io.gaming.platform.socialservice.keying.SocialEventKeyer;
+import io.gaming.platform.socialservice.metrics.SocialEventMetrics;
+import io.gaming.platform.socialservice.producer.SocialEventDeduplicator;
+import io.gaming.platform.socialservice.producer.SocialEventProducer;
+import io.gaming.platform.socialservice.producer.SocialEventPublishLog;
+import io.gaming.platform.socialservice.ratelimit.PlayerRateLimiter;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import jakarta.validation.Validation;
+
+/**
+ * The request path from {@link SocialEventController} down to {@code KafkaTemplate.send}, wired
+ * as in the application (deduplication, rate limiting, keying with hot-key detection, in-flight
+ * limit, metrics, sampled publish log) against a {@link StubKafkaConfiguration.StubKafkaTemplate}
+ * that acknowledges on the calling thread. Players are random so deduplication and rate limits
+ * do not short-circuit the path. Run with {@code -prof gc} for allocation per request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class ControllerBenchmark {
+
+    private static final String BATCH = """
+        [
+          {"type":"FRIEND_REQUEST","playerId":%d,"otherPlayerId":2},
+          {"type":"NEW_FOLLOWER","playerId":%d,"otherPlayerId":3},
+          {"type":"NEW_FOLLOWER","playerId":%d,"otherPlayerId":4},
+          {"type":"FRIEND_REQUEST","playerId":%d,"otherPlayerId":5}
+        ]""";
+
+    private StubKafkaConfiguration.StubKafkaTemplate kafkaTemplate;
+    private SocialEventController controller;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        SocialEventMetrics metrics = new SocialEventMetrics(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT));
+        PendingFriendRequestIndex pendingFriendRequests = new PendingFriendRequestIndex(true, Duration.ofDays(7), 1 << 20);
+        kafkaTemplate = new StubKafkaConfiguration.StubKafkaTemplate(0);
+        SocialEventProducer producer = new SocialEventProducer(
+            kafkaTemplate,
+            "social-events",
+            new SocialEventDeduplicator(true, Duration.ofSeconds(10), 100_000),
+            null,
+            metrics,
+            new SocialEventPublishLog(new PublishLogProperties(0.0, null, false)),
+            pendingFriendRequests,
+            new UuidV7EventIdGenerator(),
+            new SocialEventKeyer(new KeyingProperties(KeyStrategy.ACTOR, null, null, null),
+                new HotKeyDetector(10, 4096, 4, Duration.ofSeconds(10))),
+            new PublishLimiter(new BackpressureProperties(true, BackpressureProperties.Mode.ADAPTIVE, 200, 16, 2000,
+                Duration.ofMillis(100), 2.0, Duration.ofSeconds(1), Duration.ofSeconds(10), Duration.ofSeconds(5))),
+            null);
+        controller = new SocialEventController(
+            producer,
+            objectMapper,
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            new PlayerRateLimiter(true, 5, 20, 1 << 20, true),
+            pendingFriendRequests,
+            metrics,
+            true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        kafkaTemplate.destroy();
+    }
+
+    @Benchmark
+    public ResponseEntity<SocialEventResponse> friendRequest() {
+        long player = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+        return controller.sendFriendRequest(new FriendRequestRequest(player, player + 1)).join();
+    }
+
+    @Benchmark
+    public ResponseEntity<SocialEventResponse> newFollower() {
+        long player = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+        return controller.sendNewFollower(new NewFollowerRequest(player, player + 1)).join();
+    }
+
+    @Benchmark
+    public ResponseEntity<SocialEventBatchResponse> batchOfFour() throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        byte[] body = BATCH.formatted(
+            random.nextLong(10, Long.MAX_VALUE), random.nextLong(10, Long.MAX_VALUE),
+            random.nextLong(10, Long.MAX_VALUE), random.nextLong(10, Long.MAX_VALUE)).getBytes(StandardCharsets.UTF_8);
+        return controller.sendBatch(new ByteArrayInputStream(body)).join();
+    }
+}
@@ -0,0 +1,294 @@
+package io.gaming.platform.socialservice.benchmark;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.kafka.common.utils.AppInfoParser;
+import org.springframework.boot.SpringBootVersion;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import io.gaming.platform.socialservice.SocialServiceApplication;
+
+/**
+ * Drives the HTTP API of the full application, backed by an embedded KRaft broker, with
+ * {@code --clients} closed-loop clients for {@code --duration} seconds after {@code --warmup}.
+ * Reports requests/sec, latency percentiles, responses by status, and the allocation and GC
+ * activity of the JVM during the measured run, and writes them as JSON to {@code --output} so
+ * runs can be compared between commits or dependency upgrades. With {@code --baseline} pointing
+ * at an earlier result, the relative change of each headline number is printed too.
+ * <p>
+ * Client and service share the JVM: allocation figures include the HTTP client, which stays the
+ * same between runs, so they are meant for comparison rather than as absolute service cost.
+ * Rate limiting and acceptance validation are off so every request reaches Kafka.
+ *
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile exec:exec \
+ *     -Dbenchmark.main=io.gaming.platform.socialservice.benchmark.EndToEndLoadGenerator \
+ *     -Dbenchmark.args="--clients 200 --duration 30 --scenario mixed --output target/e2e.json"
+ * </pre>
+ */
+public final class EndToEndLoadGenerator {
+    private static final String TOPIC = "social-events";
+
+    private EndToEndLoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        int clients = Integer.parseInt(options.getOrDefault("clients", "200"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "30"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        int partitions = Integer.parseInt(options.getOrDefault("partitions", "12"));
+        String scenario = options.getOrDefault("scenario", "mixed");
+        String format = options.getOrDefault("format", "json");
+        String profile = options.getOrDefault("profile", "balanced");
+        Path output = Path.of(options.getOrDefault("output", "target/e2e-" + Instant.now().getEpochSecond() + ".json"));
+        String label = options.getOrDefault("label", gitRevision());
+
+        EmbeddedKafkaKraftBroker broker = new EmbeddedKafkaKraftBroker(1, partitions, TOPIC);
+        broker.afterPropertiesSet();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SocialServiceApplication.class)
+                .properties(
+                    "server.port=0",
+                    "spring.kafka.bootstrap-servers=" + broker.getBrokersAsString(),
+                    "app.kafka.value-format=" + format,
+                    "app.kafka.producer.profile=" + profile,
+                    "app.rate-limit.enabled=false",
+                    "app.friend-requests.validate-acceptance=false",
+                    "app.graph.enabled=false",
+                    "app.stream.enabled=false",
+                    "app.publish-log.sample-rate=0",
+                    "logging.level.root=WARN")
+                .run()) {
+            int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+            Scenario requests = new Scenario(scenario, "http://localhost:" + port + "/api/v1/social-events/");
+
+            run(requests, clients, warmupSeconds);
+            System.gc();
+            Jvm before = Jvm.sample();
+            Run measured = run(requests, clients, durationSeconds);
+            Jvm after = Jvm.sample();
+
+            ResponseModeLoadGenerator.Result latencies = ResponseModeLoadGenerator.Result.of(measured.samples(), measured.errors());
+            long requestCount = latencies.latenciesNanos().length;
+            double seconds = (after.nanoTime() - before.nanoTime()) / 1e9;
+            long allocated = after.allocatedBytes() - before.allocatedBytes();
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("label", label);
+            result.put("timestamp", Instant.now().toString());
+            result.put("scenario", scenario);
+            result.put("clients", clients);
+            result.put("durationSeconds", durationSeconds);
+            result.put("partitions", partitions);
+            result.put("valueFormat", format);
+            result.put("producerProfile", profile);
+            result.put("versions", Map.of(
+                "java", Runtime.version().toString(),
+                "springBoot", String.valueOf(SpringBootVersion.getVersion()),
+                "jackson", com.fasterxml.jackson.databind.cfg.PackageVersion.VERSION.toString(),
+                "kafkaClients", AppInfoParser.getVersion()));
+            result.put("requests", requestCount);
+            result.put("throughputPerSecond", requestCount / seconds);
+            result.put("errors", measured.errors());
+            result.put("statusCounts", new TreeMap<>(measured.statusCounts()));
+            Map<String, Double> percentiles = new LinkedHashMap<>();
+            percentiles.put("p50", latencies.percentileMillis(0.50));
+            percentiles.put("p90", latencies.percentileMillis(0.90));
+            percentiles.put("p99", latencies.percentileMillis(0.99));
+            percentiles.put("p99.9", latencies.percentileMillis(0.999));
+            percentiles.put("max", latencies.percentileMillis(1.0));
+            result.put("latencyMillis", percentiles);
+            result.put("allocationBytesPerSecond", allocated / seconds);
+            result.put("allocationBytesPerRequest", requestCount == 0 ? 0 : (double) allocated / requestCount);
+            result.put("gcCount", after.gcCount() - before.gcCount());
+            result.put("gcMillis", after.gcMillis() - before.gcMillis());
+
+            ObjectMapper json = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+            if (output.getParent() != null) {
+                Files.createDirectories(output.getParent());
+            }
+            json.writeValue(output.toFile(), result);
+            System.out.println(json.writeValueAsString(result));
+            System.out.println("written to " + output.toAbsolutePath());
+            if (options.containsKey("baseline")) {
+                compare(json.readTree(Path.of(options.get("baseline")).toFile()), json.valueToTree(result));
+            }
+        } finally {
+            broker.destroy();
+        }
+    }
+
+    private static Run run(Scenario scenario, int clients, int durationSeconds) throws InterruptedException {
+        HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        long deadline = System.nanoTime() + Duration.ofSeconds(durationSeconds).toNanos();
+        LongAdder errors = new LongAdder();
+        Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+        List<long[]> samples = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                long[] latencies = new long[1 << 18];
+                samples.add(latencies);
+                executor.submit(() -> {
+                    int n = 0;
+                    while (System.nanoTime() < deadline && n < latencies.length - 1) {
+                        HttpRequest request = scenario.next();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            statusCounts.computeIfAbsent(response.statusCode(), code -> new LongAdder()).increment();
+                            if (response.statusCode() != 202) {
+                                errors.increment();
+                            }
+                        } catch (IOException e) {
+                            errors.increment();
+                        }
+                        latencies[++n] = System.nanoTime() - start;
+                    }
+                    latencies[0] = n;
+                    return null;
+                });
+            }
+        }
+        Map<Integer, Long> counts = new HashMap<>();
+        statusCounts.forEach((status, count) -> counts.put(status, count.sum()));
+        return new Run(samples, errors.sum(), counts);
+    }
+
+    private static void compare(JsonNode baseline, JsonNode current) {
+        System.out.printf("compared with %s:%n", baseline.path("label").asText("baseline"));
+        for (String field : new String[] {"throughputPerSecond", "allocationBytesPerRequest", "gcMillis"}) {
+            printChange(field, baseline.path(field).asDouble(), current.path(field).asDouble());
+        }
+        current.path("latencyMillis").fieldNames().forEachRemaining(p -> printChange("latency " + p,
+            baseline.path("latencyMillis").path(p).asDouble(), current.path("latencyMillis").path(p).asDouble()));
+    }
+
+    private static void printChange(String name, double before, double after) {
+        double change = before == 0 ? 0 : (after - before) / before * 100;
+        System.out.printf("  %-28s %14.2f -> %14.2f  (%+.1f%%)%n", name, before, after, change);
+    }
+
+    private static String gitRevision() {
+        try {
+            Process git = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+            String revision = new String(git.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            return git.waitFor() == 0 ? revision : "unknown";
+        } catch (IOException e) {
+            return "unknown";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "unknown";
+        }
+    }
+
+    private record Run(List<long[]> samples, long errors, Map<Integer, Long> statusCounts) {
+    }
+
+    /**
+     * Builds the requests of a scenario: {@code friend-request}, {@code new-follower},
+     * {@code batch} (ten mixed events per request) or {@code mixed} (80% new followers,
+     * 15% friend requests, 5% batches). Players are random so deduplication never applies.
+     */
+    private static final class Scenario {
+        private final String name;
+        private final URI friendRequest;
+        private final URI newFollower;
+        private final URI batch;
+
+        Scenario(String name, String baseUrl) {
+            if (!List.of("friend-request", "new-follower", "batch", "mixed").contains(name)) {
+                throw new IllegalArgumentException("Unknown scenario " + name);
+            }
+            this.name = name;
+            this.friendRequest = URI.create(baseUrl + "friend-request");
+            this.newFollower = URI.create(baseUrl + "new-follower");
+            this.batch = URI.create(baseUrl + "batch");
+        }
+
+        HttpRequest next() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            String kind = name;
+            if (kind.equals("mixed")) {
+                int roll = random.nextInt(100);
+                kind = roll < 80 ? "new-follower" : roll < 95 ? "friend-request" : "batch";
+            }
+            long player = random.nextLong(1, 100_000_000);
+            long other = random.nextLong(1, 100_000_000);
+            return switch (kind) {
+                case "friend-request" -> post(friendRequest, "{\"requesterId\":" + player + ",\"targetId\":" + other + "}");
+                case "new-follower" -> post(newFollower, "{\"followerId\":" + player + ",\"targetId\":" + other + "}");
+                default -> {
+                    StringBuilder body = new StringBuilder("[");
+                    for (int i = 0; i < 10; i++) {
+                        body.append(i == 0 ? "" : ",")
+                            .append("{\"type\":\"").append(i % 3 == 0 ? "FRIEND_REQUEST" : "NEW_FOLLOWER")
+                            .append("\",\"playerId\":").append(player + i)
+                            .append(",\"otherPlayerId\":").append(other).append('}');
+                    }
+                    yield post(batch, body.append(']').toString());
+                }
+            };
+        }
+
+        private static HttpRequest post(URI uri, String body) {
+            return HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        }
+    }
+
+    /**
+     * Process-wide counters read before and after the measured run.
+     */
+    private record Jvm(long nanoTime, long allocatedBytes, long gcCount, long gcMillis) {
+
+        static Jvm sample() {
+            long gcCount = 0;
+            long gcMillis = 0;
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                gcCount += Math.max(0, gc.getCollectionCount());
+                gcMillis += Math.max(0, gc.getCollectionTime());
+            }
+            long allocated = ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                ? threads.getTotalThreadAllocatedBytes()
+                : -1;
+            return new Jvm(System.nanoTime(), allocated, gcCount, gcMillis);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package io.gaming.platform.socialservice.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.gaming.platform.socialservice.eventid.EventIdGenerator;
+import io.gaming.platform.socialservice.eventid.SnowflakeEventIdGenerator;
+import io.gaming.platform.socialservice.eventid.UuidV7EventIdGenerator;
+import io.gaming.platform.socialservice.model.SocialEvent;
+import io.gaming.platform.socialservice.model.SocialEventType;
+
+/**
+ * Cost of an event id, and of a whole event from its factory, per {@code app.event-id.generator};
+ * {@code random-uuid} gives the original {@code UUID.randomUUID()} ids. Runs on 8 threads, where
+ * the shared {@code SecureRandom} behind random UUIDs contends; compare with {@code -t 1}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class EventIdBenchmark {
+
+    @Param({"random-uuid", "uuid-v7", "snowflake"})
+    public String generator;
+
+    private EventIdGenerator eventIds;
+
+    @Setup
+    public void setUp() {
+        eventIds = switch (generator) {
+            case "random-uuid" -> EventIdGenerator.RANDOM_UUID;
+            case "uuid-v7" -> new UuidV7EventIdGenerator();
+            case "snowflake" -> new SnowflakeEventIdGenerator(1);
+            default -> throw new IllegalArgumentException(generator);
+        };
+    }
+
+    @Benchmark
+    public String nextId() {
+        return eventIds.nextId(System.currentTimeMillis());
+    }
+
+    @Benchmark
+    public SocialEvent factory() {
+        return SocialEvent.of(SocialEventType.NEW_FOLLOWER, 123456789L, 987654321L, eventIds);
+    }
+}
@@ -0,0 +1,251 @@
+package io.gaming.platform.socialservice.benchmark;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import io.gaming.platform.socialservice.SocialServiceApplication;
+import io.gaming.platform.socialservice.benchmark.ResponseModeLoadGenerator.Result;
+import io.gaming.platform.socialservice.ingest.IngestProtocol;
+import io.gaming.platform.socialservice.ingest.IngestProtocol.Reply;
+import io.gaming.platform.socialservice.ingest.SocialEventIngestServer;
+import io.gaming.platform.socialservice.model.SocialEventType;
+
+/**
+ * Compares the HTTP endpoint with the binary ingestion stream for the same load of NEW_FOLLOWER
+ * events: {@code --clients} closed-loop HTTP clients against {@code --connections} streams that
+ * each keep their window of events in flight. Kafka is replaced by {@link StubKafkaConfiguration},
+ * and rate limiting and backpressure are off, so both paths do the same work behind the API.
+ * <p>
+ * Reports events/sec, latency percentiles, and the CPU time and allocation of the JVM per event.
+ * Client and service share the JVM, so the per-event figures include the client side of each
+ * protocol, which is also what a game server pays for it.
+ *
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile exec:exec \
+ *     -Dbenchmark.main=io.gaming.platform.socialservice.benchmark.IngestLoadGenerator \
+ *     -Dbenchmark.args="--clients 200 --connections 8 --window 1024 --duration 20"
+ * </pre>
+ */
+public final class IngestLoadGenerator {
+
+    private IngestLoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        int clients = Integer.parseInt(options.getOrDefault("clients", "200"));
+        int connections = Integer.parseInt(options.getOrDefault("connections", "8"));
+        int window = Integer.parseInt(options.getOrDefault("window", "1024"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "20"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "5"));
+        long ackLatencyMs = Long.parseLong(options.getOrDefault("ack-latency-ms", "5"));
+
+        System.out.printf("http clients=%d streams=%d window=%d duration=%ds ack latency=%dms%n",
+            clients, connections, window, durationSeconds, ackLatencyMs);
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                SocialServiceApplication.class, StubKafkaConfiguration.class)
+                .properties(
+                    "server.port=0",
+                    "app.ingest.enabled=true",
+                    "app.ingest.port=0",
+                    "app.ingest.window=" + window,
+                    "app.rate-limit.enabled=false",
+                    "app.backpressure.enabled=false",
+                    "app.friend-requests.validate-acceptance=false",
+                    "app.graph.enabled=false",
+                    "app.stream.enabled=false",
+                    "app.publish-log.sample-rate=0",
+                    "benchmark.ack-latency-ms=" + ackLatencyMs,
+                    "logging.level.root=WARN")
+                .run()) {
+            int httpPort = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+            int streamPort = context.getBean(SocialEventIngestServer.class).port();
+            URI uri = URI.create("http://localhost:" + httpPort + "/api/v1/social-events/new-follower");
+
+            runHttp(uri, clients, warmupSeconds);
+            report("http", runHttp(uri, clients, durationSeconds));
+            runStreams(streamPort, connections, warmupSeconds);
+            report("stream", runStreams(streamPort, connections, durationSeconds));
+        }
+    }
+
+    private static Run runHttp(URI uri, int clients, int durationSeconds) throws InterruptedException {
+        HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        long deadline = System.nanoTime() + Duration.ofSeconds(durationSeconds).toNanos();
+        LongAdder errors = new LongAdder();
+        List<long[]> samples = new ArrayList<>();
+
+        Cost before = Cost.sample();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                long[] latencies = new long[1 << 18];
+                samples.add(latencies);
+                executor.submit(() -> {
+                    int n = 0;
+                    while (System.nanoTime() < deadline && n < latencies.length - 1) {
+                        long follower = ThreadLocalRandom.current().nextLong(1, 100_000_000);
+                        long target = ThreadLocalRandom.current().nextLong(1, 100_000_000);
+                        HttpRequest request = HttpRequest.newBuilder(uri)
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(
+                                "{\"followerId\":" + follower + ",\"targetId\":" + target + "}"))
+                            .build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 202) {
+                                errors.increment();
+                            }
+                        } catch (IOException e) {
+                            errors.increment();
+                        }
+                        latencies[++n] = System.nanoTime() - start;
+                    }
+                    latencies[0] = n;
+                    return null;
+                });
+            }
+        }
+        return new Run(Result.of(samples, errors.sum()), Cost.sample().minus(before));
+    }
+
+    /**
+     * Each stream has a writer sending as long as one of its {@code window} slots is free and a
+     * reader returning the slot of every reply. The slot is the event's sequence number, which
+     * also indexes its send time.
+     */
+    private static Run runStreams(int port, int connections, int durationSeconds) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(durationSeconds).toNanos();
+        LongAdder errors = new LongAdder();
+        List<long[]> samples = new ArrayList<>();
+
+        Cost before = Cost.sample();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < connections; i++) {
+                Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+                socket.setTcpNoDelay(true);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 64 * 1024));
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 64 * 1024));
+                int window = IngestProtocol.readHello(in);
+                ArrayBlockingQueue<Integer> free = new ArrayBlockingQueue<>(window);
+                for (int slot = 0; slot < window; slot++) {
+                    free.add(slot);
+                }
+                long[] sentAt = new long[window];
+                long[] latencies = new long[1 << 22];
+                samples.add(latencies);
+
+                executor.submit(() -> {
+                    try (socket) {
+                        while (System.nanoTime() < deadline) {
+                            Integer slot = free.poll();
+                            if (slot == null) {
+                                out.flush();
+                                slot = free.poll(100, TimeUnit.MILLISECONDS);
+                                if (slot == null) {
+                                    continue;
+                                }
+                            }
+                            ThreadLocalRandom random = ThreadLocalRandom.current();
+                            sentAt[slot] = System.nanoTime();
+                            IngestProtocol.writeEvent(out, slot, SocialEventType.NEW_FOLLOWER,
+                                random.nextLong(1, 100_000_000), random.nextLong(1, 100_000_000));
+                        }
+                        out.flush();
+                        // Wait for the replies to everything sent before closing.
+                        for (int returned = 0; returned < window; returned++) {
+                            if (free.poll(10, TimeUnit.SECONDS) == null) {
+                                break;
+                            }
+                        }
+                    }
+                    return null;
+                });
+                executor.submit(() -> {
+                    int n = 0;
+                    try {
+                        while (true) {
+                            Reply reply = IngestProtocol.readReply(in);
+                            int slot = (int) reply.sequence();
+                            if (!reply.acknowledged()) {
+                                errors.increment();
+                            }
+                            if (n < latencies.length - 1) {
+                                latencies[++n] = System.nanoTime() - sentAt[slot];
+                            }
+                            free.add(slot);
+                        }
+                    } catch (IOException e) {
+                        // The writer closed the socket after its last reply.
+                    }
+                    latencies[0] = n;
+                    return null;
+                });
+            }
+        }
+        return new Run(Result.of(samples, errors.sum()), Cost.sample().minus(before));
+    }
+
+    private static void report(String name, Run run) {
+        long events = run.result().latenciesNanos().length;
+        double seconds = run.cost().nanoTime() / 1e9;
+        System.out.printf("%-7s %10.0f events/s  p50=%6.2fms  p99=%6.2fms  cpu=%7.1fus/event  alloc=%8.0fB/event  errors=%d%n",
+            name, events / seconds, run.result().percentileMillis(0.50), run.result().percentileMillis(0.99),
+            events == 0 ? 0 : run.cost().cpuNanos() / 1000.0 / events,
+            events == 0 ? 0 : (double) run.cost().allocatedBytes() / events,
+            run.result().errors());
+    }
+
+    private record Run(Result result, Cost cost) {
+    }
+
+    /**
+     * Wall clock, process CPU time and bytes allocated by all threads, read around a run.
+     */
+    private record Cost(long nanoTime, long cpuNanos, long allocatedBytes) {
+
+        static Cost sample() {
+            long cpu = ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean os
+                ? os.getProcessCpuTime()
+                : -1;
+            long allocated = ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                ? threads.getTotalThreadAllocatedBytes()
+                : -1;
+            return new Cost(System.nanoTime(), cpu, allocated);
+        }
+
+        Cost minus(Cost earlier) {
+            return new Cost(nanoTime - earlier.nanoTime, cpuNanos - earlier.cpuNanos, allocatedBytes - earlier.allocatedBytes);
+        }
+    }
+}
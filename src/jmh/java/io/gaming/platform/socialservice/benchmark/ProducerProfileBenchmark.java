@@ -0,0 +1,124 @@
+package io.gaming.platform.socialservice.benchmark;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import io.gaming.platform.socialservice.config.ProducerTuningProperties;
+import io.gaming.platform.socialservice.config.ThroughputProfile;
+import io.gaming.platform.socialservice.eventid.EventIdGenerator;
+import io.gaming.platform.socialservice.eventid.UuidV7EventIdGenerator;
+import io.gaming.platform.socialservice.model.SocialEvent;
+import io.gaming.platform.socialservice.serialization.BinarySocialEventSerializer;
+
+/**
+ * Sends the same stream of social events through a producer built from each
+ * {@link ThroughputProfile} against an embedded KRaft broker, and reports events/sec and
+ * p50/p99 latency from {@code send} to acknowledgement.
+ *
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile exec:exec \
+ *     -Dbenchmark.main=io.gaming.platform.socialservice.benchmark.ProducerProfileBenchmark \
+ *     -Dbenchmark.args="--events 500000 --in-flight 20000 --format json"
+ * </pre>
+ */
+public final class ProducerProfileBenchmark {
+    private static final String TOPIC = "social-events";
+    private static final EventIdGenerator EVENT_IDS = new UuidV7EventIdGenerator();
+
+    private ProducerProfileBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        int events = Integer.parseInt(options.getOrDefault("events", "500000"));
+        int inFlight = Integer.parseInt(options.getOrDefault("in-flight", "20000"));
+        int partitions = Integer.parseInt(options.getOrDefault("partitions", "12"));
+        String format = options.getOrDefault("format", "json");
+
+        EmbeddedKafkaKraftBroker broker = new EmbeddedKafkaKraftBroker(1, partitions, TOPIC);
+        broker.afterPropertiesSet();
+        try {
+            System.out.printf("events=%d in-flight=%d partitions=%d format=%s%n", events, inFlight, partitions, format);
+            for (ThroughputProfile profile : ThroughputProfile.values()) {
+                // One untimed pass to warm up the JIT and fetch metadata.
+                run(broker.getBrokersAsString(), profile, format, Math.min(events, 50_000), inFlight);
+                long[] result = run(broker.getBrokersAsString(), profile, format, events, inFlight);
+                long elapsedNanos = result[result.length - 1];
+                long[] latencies = Arrays.copyOf(result, result.length - 1);
+                Arrays.sort(latencies);
+                System.out.printf("%-16s %10.0f events/s  p50=%7.2fms  p99=%7.2fms%n",
+                    profile, events / (elapsedNanos / 1e9),
+                    percentile(latencies, 0.50) / 1e6, percentile(latencies, 0.99) / 1e6);
+            }
+        } finally {
+            broker.destroy();
+        }
+    }
+
+    /**
+     * Returns the per-event latencies in nanoseconds, followed by the total elapsed time.
+     */
+    private static long[] run(String bootstrapServers, ThroughputProfile profile, String format,
+            int events, int inFlight) throws InterruptedException {
+        Map<String, Object> configs = new HashMap<>(ProducerTuningProperties.of(profile).producerConfigs());
+        configs.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configs.put(ProducerConfig.ACKS_CONFIG, "all");
+        configs.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        Serializer<SocialEvent> valueSerializer = format.equals("binary")
+            ? new BinarySocialEventSerializer()
+            : new JsonSerializer<SocialEvent>(new ObjectMapper().registerModule(new JavaTimeModule())).noTypeInfo();
+
+        long[] latencies = new long[events + 1];
+        Semaphore permits = new Semaphore(inFlight);
+        CountDownLatch done = new CountDownLatch(events);
+        AtomicLong failures = new AtomicLong();
+        try (KafkaProducer<String, SocialEvent> producer =
+                new KafkaProducer<>(configs, new StringSerializer(), valueSerializer)) {
+            long start = System.nanoTime();
+            for (int i = 0; i < events; i++) {
+                long playerId = i % 100_000;
+                SocialEvent event = SocialEvent.newFollower(playerId, playerId + 1, EVENT_IDS);
+                permits.acquire();
+                long sentAt = System.nanoTime();
+                int index = i;
+                producer.send(new ProducerRecord<>(TOPIC, Long.toString(playerId), event), (metadata, exception) -> {
+                    latencies[index] = System.nanoTime() - sentAt;
+                    if (exception != null) {
+                        failures.incrementAndGet();
+                    }
+                    permits.release();
+                    done.countDown();
+                });
+            }
+            done.await();
+            latencies[events] = System.nanoTime() - start;
+        }
+        if (failures.get() > 0) {
+            System.out.printf("%s: %d sends failed%n", profile, failures.get());
+        }
+        return latencies;
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+}
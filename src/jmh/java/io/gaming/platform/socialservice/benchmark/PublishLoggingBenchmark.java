@@ -0,0 +1,147 @@
+package io.gaming.platform.socialservice.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.logging.logback.StructuredLogEncoder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.encoder.Encoder;
+
+import io.gaming.platform.socialservice.config.PublishLogProperties;
+import io.gaming.platform.socialservice.eventid.EventIdGenerator;
+import io.gaming.platform.socialservice.eventid.UuidV7EventIdGenerator;
+import io.gaming.platform.socialservice.model.SocialEvent;
+import io.gaming.platform.socialservice.producer.SocialEventPublishLog;
+import io.gaming.platform.socialservice.producer.SocialEventSendResult;
+
+/**
+ * Throughput of the publish log per acknowledged event, writing to a file:
+ * <ul>
+ *   <li>{@code legacy} - the previous INFO line with the full event, through a synchronous appender</li>
+ *   <li>{@code structured} - every event, payload-free, through the bounded asynchronous appender</li>
+ *   <li>{@code sampled} - the default 1% sample through the same appender</li>
+ * </ul>
+ * Several threads log at once, as request threads and producer callbacks do on a busy node.
+ * The asynchronous modes drop records when the queue is full; the count written is printed on
+ * teardown.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class PublishLoggingBenchmark {
+    private static final String LEGACY_LOGGER = "io.gaming.platform.socialservice.producer.SocialEventProducer";
+    private static final EventIdGenerator EVENT_IDS = new UuidV7EventIdGenerator();
+
+    @Param({"legacy", "structured", "sampled"})
+    public String mode;
+
+    private LoggerContext context;
+    private Path logFile;
+    private Logger legacyLog;
+    private SocialEventPublishLog publishLog;
+    private SocialEventSendResult result;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        logFile = Files.createTempFile("publish-log", ".log");
+        context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+        context.putObject(Environment.class.getName(), new StandardEnvironment());
+
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setFile(logFile.toString());
+        file.setEncoder(mode.equals("legacy") ? patternEncoder() : structuredEncoder());
+        file.start();
+
+        if (mode.equals("legacy")) {
+            context.getLogger(LEGACY_LOGGER).addAppender(file);
+        } else {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(0);
+            async.setNeverBlock(true);
+            async.addAppender(file);
+            async.start();
+            ch.qos.logback.classic.Logger logger = context.getLogger(SocialEventPublishLog.LOGGER_NAME);
+            logger.setAdditive(false);
+            logger.addAppender(async);
+        }
+        context.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(ch.qos.logback.classic.Level.INFO);
+
+        legacyLog = LoggerFactory.getLogger(LEGACY_LOGGER);
+        double sampleRate = mode.equals("sampled") ? 0.01 : 1.0;
+        publishLog = new SocialEventPublishLog(new PublishLogProperties(sampleRate, null, false));
+        SocialEvent event = SocialEvent.friendRequest(123456789L, 987654321L, EVENT_IDS);
+        result = new SocialEventSendResult(event,
+            new RecordMetadata(new TopicPartition("social-events", 3), 41_000_000L, 0, System.currentTimeMillis(), 20, 180));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.stop();
+        try (var lines = Files.lines(logFile)) {
+            System.out.printf("%n%s: %d records written to %s%n", mode, lines.count(), logFile);
+        }
+        Files.deleteIfExists(logFile);
+    }
+
+    @Benchmark
+    public void publish() {
+        if (mode.equals("legacy")) {
+            RecordMetadata metadata = result.metadata();
+            legacyLog.info("Successfully sent social event {}: {} to topic {} partition {} offset {}",
+                result.event().eventType(), result.event(), metadata.topic(), metadata.partition(), metadata.offset());
+        } else {
+            publishLog.published(result);
+        }
+    }
+
+    private Encoder<ILoggingEvent> patternEncoder() {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%t] %-40.40logger{39} : %m%n");
+        encoder.start();
+        return encoder;
+    }
+
+    private Encoder<ILoggingEvent> structuredEncoder() {
+        StructuredLogEncoder encoder = new StructuredLogEncoder();
+        encoder.setContext(context);
+        encoder.setFormat("logstash");
+        encoder.start();
+        return encoder;
+    }
+}
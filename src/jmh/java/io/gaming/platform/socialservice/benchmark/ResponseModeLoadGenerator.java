@@ -0,0 +1,153 @@
+package io.gaming.platform.socialservice.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import io.gaming.platform.socialservice.SocialServiceApplication;
+
+/**
+ * Compares blocking and async response modes of the social event endpoints at a fixed
+ * Tomcat thread count. Kafka is replaced by {@link StubKafkaConfiguration}, which acknowledges
+ * each send after {@code --ack-latency-ms}, so the numbers reflect how many requests a node can
+ * hold open while waiting for the broker rather than broker throughput.
+ *
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile exec:exec \
+ *     -Dbenchmark.main=io.gaming.platform.socialservice.benchmark.ResponseModeLoadGenerator \
+ *     -Dbenchmark.args="--threads 50 --clients 400 --duration 20 --ack-latency-ms 20"
+ * </pre>
+ */
+public final class ResponseModeLoadGenerator {
+
+    private ResponseModeLoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int threads = Integer.parseInt(options.getOrDefault("threads", "50"));
+        int clients = Integer.parseInt(options.getOrDefault("clients", "400"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "20"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "5"));
+        long ackLatencyMs = Long.parseLong(options.getOrDefault("ack-latency-ms", "20"));
+
+        System.out.printf("tomcat threads=%d clients=%d duration=%ds ack latency=%dms%n",
+            threads, clients, durationSeconds, ackLatencyMs);
+        for (boolean async : new boolean[] {false, true}) {
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                    SocialServiceApplication.class, StubKafkaConfiguration.class)
+                    .properties(
+                        "server.port=0",
+                        "server.tomcat.threads.max=" + threads,
+                        "server.tomcat.threads.min-spare=" + threads,
+                        "app.api.async-responses=" + async,
+                        "benchmark.ack-latency-ms=" + ackLatencyMs,
+                        "logging.level.root=WARN")
+                    .run()) {
+                int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+                URI uri = URI.create("http://localhost:" + port + "/api/v1/social-events/friend-request");
+                run(uri, clients, warmupSeconds);
+                Result result = run(uri, clients, durationSeconds);
+                System.out.printf("%-8s %10.0f req/s  p50=%6.2fms  p99=%6.2fms  errors=%d%n",
+                    async ? "async" : "blocking", result.throughput(durationSeconds),
+                    result.percentileMillis(0.50), result.percentileMillis(0.99), result.errors());
+            }
+        }
+    }
+
+    private static Result run(URI uri, int clients, int durationSeconds) throws InterruptedException {
+        HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        long deadline = System.nanoTime() + Duration.ofSeconds(durationSeconds).toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<long[]> samples = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                long[] latencies = new long[1 << 16];
+                samples.add(latencies);
+                executor.submit(() -> {
+                    int n = 0;
+                    while (System.nanoTime() < deadline && n < latencies.length - 1) {
+                        long requester = ThreadLocalRandom.current().nextLong(1, 1_000_000);
+                        HttpRequest request = HttpRequest.newBuilder(uri)
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(
+                                "{\"requesterId\":" + requester + ",\"targetId\":" + (requester + 1) + "}"))
+                            .build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 202) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[++n] = System.nanoTime() - start;
+                    }
+                    latencies[0] = n;
+                    return null;
+                });
+            }
+        }
+        return Result.of(samples, errors.get());
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        return options;
+    }
+
+    /**
+     * Latencies of all clients, merged. Each sample array stores its length at index 0.
+     */
+    record Result(long[] latenciesNanos, long errors) {
+
+        static Result of(List<long[]> samples, long errors) {
+            int total = 0;
+            for (long[] s : samples) {
+                total += (int) s[0];
+            }
+            long[] merged = new long[total];
+            int pos = 0;
+            for (long[] s : samples) {
+                System.arraycopy(s, 1, merged, pos, (int) s[0]);
+                pos += (int) s[0];
+            }
+            Arrays.sort(merged);
+            return new Result(merged, errors);
+        }
+
+        double throughput(int durationSeconds) {
+            return (double) latenciesNanos.length / durationSeconds;
+        }
+
+        double percentileMillis(double percentile) {
+            if (latenciesNanos.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.min(latenciesNanos.length - 1, Math.ceil(percentile * latenciesNanos.length) - 1);
+            return latenciesNanos[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package io.gaming.platform.socialservice.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import io.gaming.platform.socialservice.eventid.EventIdGenerator;
+import io.gaming.platform.socialservice.eventid.UuidV7EventIdGenerator;
+import io.gaming.platform.socialservice.model.SocialEvent;
+import io.gaming.platform.socialservice.serialization.BinarySocialEventDeserializer;
+import io.gaming.platform.socialservice.serialization.BinarySocialEventSerializer;
+
+/**
+ * Encode and decode cost of a {@link SocialEvent} record value for each {@code app.kafka.value-format}.
+ * The encoded size is printed once per trial as {@code bytes/record}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+    private static final String TOPIC = "social-events";
+    private static final EventIdGenerator EVENT_IDS = new UuidV7EventIdGenerator();
+
+    @Param({"json", "binary"})
+    public String format;
+
+    private Serializer<SocialEvent> serializer;
+    private Deserializer<SocialEvent> deserializer;
+    private SocialEvent event;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        if (format.equals("json")) {
+            ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+            serializer = new JsonSerializer<SocialEvent>(objectMapper).noTypeInfo();
+            deserializer = new JsonDeserializer<>(SocialEvent.class, objectMapper, false);
+        } else {
+            serializer = new BinarySocialEventSerializer();
+            deserializer = new BinarySocialEventDeserializer();
+        }
+        event = SocialEvent.friendRequest(123456789L, 987654321L, EVENT_IDS);
+        encoded = serializer.serialize(TOPIC, event);
+        System.out.printf("%n%s bytes/record: %d%n", format, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return serializer.serialize(TOPIC, event);
+    }
+
+    @Benchmark
+    public SocialEvent decode() {
+        return deserializer.deserialize(TOPIC, encoded);
+    }
+}
@@ -0,0 +1,166 @@
+package io.gaming.platform.socialservice.benchmark;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import io.gaming.platform.socialservice.config.ProducerTuningProperties;
+import io.gaming.platform.socialservice.config.ThroughputProfile;
+import io.gaming.platform.socialservice.eventid.EventIdGenerator;
+import io.gaming.platform.socialservice.eventid.UuidV7EventIdGenerator;
+import io.gaming.platform.socialservice.model.SocialEvent;
+import io.gaming.platform.socialservice.producer.ShardedKafkaTemplate;
+import io.gaming.platform.socialservice.producer.ShardedKafkaTemplate.ShardBy;
+import io.gaming.platform.socialservice.serialization.BinarySocialEventSerializer;
+
+/**
+ * Sends the same stream of social events from many threads through a template over 1, 2, 4, ...
+ * producers against an embedded KRaft broker, and reports events/sec and p50/p99 latency from
+ * {@code send} to acknowledgement for each shard count. One shard is the plain
+ * {@link KafkaTemplate}; more use {@link ShardedKafkaTemplate}.
+ *
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile exec:exec \
+ *     -Dbenchmark.main=io.gaming.platform.socialservice.benchmark.ShardedProducerBenchmark \
+ *     -Dbenchmark.args="--shards 1,2,4,8 --threads 64 --events 2000000 --shard-by partition"
+ * </pre>
+ */
+public final class ShardedProducerBenchmark {
+    private static final String TOPIC = "social-events";
+    private static final EventIdGenerator EVENT_IDS = new UuidV7EventIdGenerator();
+
+    private ShardedProducerBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        int[] shardCounts = Arrays.stream(options.getOrDefault("shards", "1,2,4,8").split(","))
+            .mapToInt(Integer::parseInt)
+            .toArray();
+        int threads = Integer.parseInt(options.getOrDefault("threads", "64"));
+        int events = Integer.parseInt(options.getOrDefault("events", "1000000"));
+        int inFlight = Integer.parseInt(options.getOrDefault("in-flight", "50000"));
+        int partitions = Integer.parseInt(options.getOrDefault("partitions", "32"));
+        ThroughputProfile profile = ThroughputProfile.valueOf(
+            options.getOrDefault("profile", "balanced").toUpperCase().replace('-', '_'));
+        ShardBy shardBy = ShardBy.valueOf(options.getOrDefault("shard-by", "partition").toUpperCase());
+        String format = options.getOrDefault("format", "binary");
+
+        EmbeddedKafkaKraftBroker broker = new EmbeddedKafkaKraftBroker(1, partitions, TOPIC);
+        broker.afterPropertiesSet();
+        try {
+            System.out.printf("events=%d threads=%d in-flight=%d partitions=%d profile=%s shard-by=%s format=%s cores=%d%n",
+                events, threads, inFlight, partitions, profile, shardBy, format,
+                Runtime.getRuntime().availableProcessors());
+            for (int shards : shardCounts) {
+                KafkaTemplate<String, SocialEvent> template =
+                    template(broker.getBrokersAsString(), profile, format, shards, shardBy);
+                try {
+                    // One untimed pass to warm up the JIT and fetch metadata.
+                    run(template, threads, Math.min(events, 100_000), inFlight);
+                    long[] result = run(template, threads, events, inFlight);
+                    long elapsedNanos = result[result.length - 1];
+                    long[] latencies = Arrays.copyOf(result, result.length - 1);
+                    Arrays.sort(latencies);
+                    System.out.printf("shards=%-3d %10.0f events/s  p50=%7.2fms  p99=%7.2fms%n",
+                        shards, events / (elapsedNanos / 1e9),
+                        percentile(latencies, 0.50) / 1e6, percentile(latencies, 0.99) / 1e6);
+                } finally {
+                    template.destroy();
+                    template.getProducerFactory().reset();
+                }
+            }
+        } finally {
+            broker.destroy();
+        }
+    }
+
+    private static KafkaTemplate<String, SocialEvent> template(String bootstrapServers, ThroughputProfile profile,
+            String format, int shards, ShardBy shardBy) {
+        Map<String, Object> configs = new HashMap<>(ProducerTuningProperties.of(profile).producerConfigs());
+        configs.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configs.put(ProducerConfig.ACKS_CONFIG, "all");
+        configs.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        Serializer<SocialEvent> valueSerializer = format.equals("binary")
+            ? new BinarySocialEventSerializer()
+            : new JsonSerializer<SocialEvent>(new ObjectMapper().registerModule(new JavaTimeModule())).noTypeInfo();
+        DefaultKafkaProducerFactory<String, SocialEvent> factory =
+            new DefaultKafkaProducerFactory<>(configs, new StringSerializer(), valueSerializer);
+        if (shards == 1) {
+            return new KafkaTemplate<>(factory);
+        }
+        List<ProducerFactory<String, SocialEvent>> factories = new ArrayList<>();
+        for (int i = 0; i < shards; i++) {
+            factories.add(factory.copyWithConfigurationOverride(Map.of(ProducerConfig.CLIENT_ID_CONFIG, "benchmark-" + i)));
+        }
+        return new ShardedKafkaTemplate<>(factories, shardBy, Duration.ofSeconds(30));
+    }
+
+    /**
+     * Returns the per-event latencies in nanoseconds, followed by the total elapsed time.
+     */
+    private static long[] run(KafkaTemplate<String, SocialEvent> template, int threads, int events, int inFlight)
+            throws InterruptedException {
+        long[] latencies = new long[events + 1];
+        Semaphore permits = new Semaphore(inFlight);
+        CountDownLatch done = new CountDownLatch(events);
+        AtomicLong failures = new AtomicLong();
+        List<Thread> senders = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            int first = t;
+            senders.add(Thread.ofPlatform().name("sender-" + t).start(() -> {
+                for (int i = first; i < events; i += threads) {
+                    long playerId = i % 100_000;
+                    SocialEvent event = SocialEvent.newFollower(playerId, playerId + 1, EVENT_IDS);
+                    permits.acquireUninterruptibly();
+                    long sentAt = System.nanoTime();
+                    int index = i;
+                    template.send(TOPIC, Long.toString(playerId), event).whenComplete((result, ex) -> {
+                        latencies[index] = System.nanoTime() - sentAt;
+                        if (ex != null) {
+                            failures.incrementAndGet();
+                        }
+                        permits.release();
+                        done.countDown();
+                    });
+                }
+            }));
+        }
+        for (Thread sender : senders) {
+            sender.join();
+        }
+        done.await();
+        latencies[events] = System.nanoTime() - start;
+        if (failures.get() > 0) {
+            System.out.printf("%d sends failed%n", failures.get());
+        }
+        return latencies;
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+}
@@ -0,0 +1,168 @@
+package io.gaming.platform.socialservice.benchmark;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import io.gaming.platform.socialservice.SocialServiceApplication;
+
+/**
+ * Starts the service in a fresh JVM, against an embedded KRaft broker, {@code --runs} times with
+ * the startup warm-up off and as many times with it on. For each start it reports the
+ * time-to-ready, from launching the process until {@code /actuator/health/readiness} answers 200,
+ * the latency of the first request, and the median latency of the next {@code --requests}.
+ * <p>
+ * The service runs from the benchmark classpath unless {@code --jar} names a packaged jar, for
+ * example the one extracted by the {@code fast-startup} profile. {@code --jvm-args} adds JVM
+ * options such as {@code -XX:SharedArchiveFile=target/app/application.jsa -Dspring.aot.enabled=true},
+ * so CDS and AOT can be compared against the same baseline.
+ *
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile exec:exec \
+ *     -Dbenchmark.main=io.gaming.platform.socialservice.benchmark.StartupBenchmark \
+ *     -Dbenchmark.args="--runs 5 --requests 20"
+ * </pre>
+ */
+public final class StartupBenchmark {
+    private static final String TOPIC = "social-events";
+    private static final Duration START_TIMEOUT = Duration.ofMinutes(2);
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        int requests = Integer.parseInt(options.getOrDefault("requests", "20"));
+        int partitions = Integer.parseInt(options.getOrDefault("partitions", "12"));
+        String jar = options.get("jar");
+        List<String> jvmArgs = options.containsKey("jvm-args")
+            ? List.of(options.get("jvm-args").trim().split("\\s+"))
+            : List.of();
+
+        EmbeddedKafkaKraftBroker broker = new EmbeddedKafkaKraftBroker(1, partitions, TOPIC);
+        broker.afterPropertiesSet();
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        try {
+            System.out.printf("runs=%d requests=%d jar=%s jvm-args=%s%n", runs, requests, jar, jvmArgs);
+            for (boolean warmup : new boolean[] {false, true}) {
+                long[] ready = new long[runs];
+                long[] first = new long[runs];
+                long[] rest = new long[runs];
+                for (int run = 0; run < runs; run++) {
+                    long[] result = start(client, broker.getBrokersAsString(), jar, jvmArgs, warmup, requests);
+                    ready[run] = result[0];
+                    first[run] = result[1];
+                    rest[run] = result[2];
+                    System.out.printf("warmup=%-5s run=%d  ready=%6d ms  first request=%7.2f ms  next p50=%6.2f ms%n",
+                        warmup, run, TimeUnit.NANOSECONDS.toMillis(result[0]), result[1] / 1e6, result[2] / 1e6);
+                }
+                System.out.printf("warmup=%-5s median  ready=%6d ms  first request=%7.2f ms  next p50=%6.2f ms%n",
+                    warmup, TimeUnit.NANOSECONDS.toMillis(median(ready)), median(first) / 1e6, median(rest) / 1e6);
+            }
+        } finally {
+            broker.destroy();
+        }
+    }
+
+    /**
+     * Returns the time-to-ready, the first request's latency and the median latency of the
+     * following requests, all in nanoseconds.
+     */
+    private static long[] start(HttpClient client, String bootstrapServers, String jar, List<String> jvmArgs,
+            boolean warmup, int requests) throws IOException, InterruptedException {
+        int port = freePort();
+        Path dataDirectory = Files.createTempDirectory("startup-benchmark");
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        if (jar != null) {
+            command.addAll(List.of("-jar", jar));
+        } else {
+            command.addAll(List.of("-cp", System.getProperty("java.class.path"), SocialServiceApplication.class.getName()));
+        }
+        command.addAll(List.of(
+            "--server.port=" + port,
+            "--spring.kafka.bootstrap-servers=" + bootstrapServers,
+            "--app.warmup.enabled=" + warmup,
+            "--app.rate-limit.enabled=false",
+            "--app.graph.snapshot-directory=" + dataDirectory.resolve("graph"),
+            "--app.outbox.directory=" + dataDirectory.resolve("outbox"),
+            "--logging.level.root=WARN"));
+
+        long launched = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(dataDirectory.resolve("service.log").toFile())
+            .start();
+        try {
+            String base = "http://localhost:" + port;
+            HttpRequest readiness = HttpRequest.newBuilder(URI.create(base + "/actuator/health/readiness")).GET().build();
+            long readyNanos = -1;
+            while (readyNanos < 0) {
+                if (!process.isAlive() || System.nanoTime() - launched > START_TIMEOUT.toNanos()) {
+                    throw new IllegalStateException("Service did not become ready, see " + dataDirectory.resolve("service.log"));
+                }
+                try {
+                    if (client.send(readiness, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        readyNanos = System.nanoTime() - launched;
+                    }
+                } catch (IOException e) {
+                    // Not listening yet.
+                }
+                if (readyNanos < 0) {
+                    Thread.sleep(5);
+                }
+            }
+
+            long[] latencies = new long[requests + 1];
+            for (int i = 0; i <= requests; i++) {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(base + "/api/v1/social-events/new-follower"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"followerId\":" + (i + 1) + ",\"targetId\":1000000}"))
+                    .build();
+                long sent = System.nanoTime();
+                int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                latencies[i] = System.nanoTime() - sent;
+                if (status != 202) {
+                    System.out.printf("request %d answered %d%n", i, status);
+                }
+            }
+            return new long[] {readyNanos, latencies[0], median(Arrays.copyOfRange(latencies, 1, latencies.length))};
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted.length == 0 ? 0 : sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,185 @@
+package io.gaming.platform.socialservice.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import io.gaming.platform.socialservice.SocialServiceApplication;
+import io.gaming.platform.socialservice.producer.SocialEventProducer;
+import io.gaming.platform.socialservice.stream.SocialEventStreamHub;
+
+/**
+ * Opens {@code --subscribers} event streams against the service backed by an embedded KRaft
+ * broker, publishes {@code --events} NEW_FOLLOWER events at {@code --rate} per second to random
+ * subscribers through the producer, and reports how many were delivered and the latency from the
+ * event timestamp until the client read it.
+ * <p>
+ * Client and server share the JVM, so the heap figure per stream is an upper bound for the
+ * server side.
+ *
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile exec:exec \
+ *     -Dbenchmark.main=io.gaming.platform.socialservice.benchmark.StreamLoadGenerator \
+ *     -Dbenchmark.args="--subscribers 20000 --events 50000 --rate 5000"
+ * </pre>
+ */
+public final class StreamLoadGenerator {
+    private static final String TOPIC = "social-events";
+    private static final Pattern TIMESTAMP = Pattern.compile("\"timestamp\":\"([^\"]+)\"");
+
+    private StreamLoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        int subscribers = Integer.parseInt(options.getOrDefault("subscribers", "10000"));
+        int events = Integer.parseInt(options.getOrDefault("events", "50000"));
+        int rate = Integer.parseInt(options.getOrDefault("rate", "5000"));
+        int partitions = Integer.parseInt(options.getOrDefault("partitions", "12"));
+
+        EmbeddedKafkaKraftBroker broker = new EmbeddedKafkaKraftBroker(1, partitions, TOPIC);
+        broker.afterPropertiesSet();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SocialServiceApplication.class)
+                .properties(
+                    "server.port=0",
+                    "server.tomcat.max-connections=" + (subscribers + 1000),
+                    "spring.kafka.bootstrap-servers=" + broker.getBrokersAsString(),
+                    "app.rate-limit.enabled=false",
+                    "app.dedup.enabled=false",
+                    "app.friend-requests.validate-acceptance=false",
+                    "app.graph.enabled=false",
+                    "app.stream.enabled=true",
+                    "app.stream.max-subscribers=" + subscribers,
+                    "app.publish-log.sample-rate=0",
+                    "logging.level.root=WARN")
+                .run()) {
+            int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+            SocialEventStreamHub hub = context.getBean(SocialEventStreamHub.class);
+            SocialEventProducer producer = context.getBean(SocialEventProducer.class);
+
+            long heapBefore = usedHeap();
+            long[] latencies = new long[events];
+            AtomicInteger received = new AtomicInteger();
+            HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            long connectStart = System.nanoTime();
+            for (int player = 1; player <= subscribers; player++) {
+                HttpRequest request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/api/v1/social-events/stream?playerId=" + player))
+                    .header("Accept", "text/event-stream")
+                    .build();
+                http.sendAsync(request, HttpResponse.BodyHandlers.fromLineSubscriber(new LatencyRecorder(latencies, received)));
+            }
+            while (hub.subscriberCount() < subscribers) {
+                if (System.nanoTime() - connectStart > TimeUnit.MINUTES.toNanos(2)) {
+                    throw new IllegalStateException("Only " + hub.subscriberCount() + " of " + subscribers + " streams opened");
+                }
+                Thread.sleep(50);
+            }
+            long connectMillis = (System.nanoTime() - connectStart) / 1_000_000;
+            long heapPerStream = (usedHeap() - heapBefore) / subscribers;
+            System.out.printf("subscribers=%d opened in %d ms, ~%d bytes heap per stream (client + server)%n",
+                subscribers, connectMillis, heapPerStream);
+
+            long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+            long next = System.nanoTime();
+            for (int i = 0; i < events; i++) {
+                long target = ThreadLocalRandom.current().nextLong(1, subscribers + 1);
+                producer.sendNewFollowerEvent(ThreadLocalRandom.current().nextLong(1_000_000, 2_000_000), target);
+                next += intervalNanos;
+                long wait = next - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (received.get() < events && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+
+            int delivered = Math.min(received.get(), events);
+            long[] sorted = Arrays.copyOf(latencies, delivered);
+            Arrays.sort(sorted);
+            System.out.printf("delivered=%d/%d evictions=%d p50=%.2fms p99=%.2fms max=%.2fms%n",
+                delivered, events, hub.evictions(),
+                percentile(sorted, 0.50) / 1000.0, percentile(sorted, 0.99) / 1000.0, percentile(sorted, 1.0) / 1000.0);
+        } finally {
+            broker.destroy();
+        }
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        System.gc();
+        Thread.sleep(200);
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    /**
+     * Records, in microseconds, how long after its timestamp each event's data line arrived.
+     */
+    private static final class LatencyRecorder implements Flow.Subscriber<String> {
+        private final long[] latencies;
+        private final AtomicInteger received;
+
+        LatencyRecorder(long[] latencies, AtomicInteger received) {
+            this.latencies = latencies;
+            this.received = received;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (!line.startsWith("data:")) {
+                return;
+            }
+            Instant now = Instant.now();
+            Matcher matcher = TIMESTAMP.matcher(line);
+            if (matcher.find()) {
+                int index = received.getAndIncrement();
+                if (index < latencies.length) {
+                    latencies[index] = Duration.between(Instant.parse(matcher.group(1)), now).toNanos() / 1_000;
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package io.gaming.platform.socialservice.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import io.gaming.platform.socialservice.model.SocialEvent;
+import io.gaming.platform.socialservice.serialization.BinarySocialEventSerializer;
+
+/**
+ * Replaces the real KafkaTemplate with one that acknowledges every send after a fixed delay,
+ * or on the calling thread when the delay is zero, so request handling can be measured without
+ * a broker. Deliberately not annotated with
+ * {@code @Configuration}: it is registered explicitly as a source and must never be picked up
+ * by component scanning.
+ */
+public class StubKafkaConfiguration {
+
+    @Bean
+    @Primary
+    public KafkaTemplate<String, SocialEvent> stubKafkaTemplate(
+            @Value("${benchmark.ack-latency-ms:20}") long ackLatencyMs) {
+        return new StubKafkaTemplate(ackLatencyMs);
+    }
+
+    static class StubKafkaTemplate extends KafkaTemplate<String, SocialEvent> {
+        private final ScheduledExecutorService acker = Executors.newSingleThreadScheduledExecutor();
+        private final AtomicLong offset = new AtomicLong();
+        private final long ackLatencyMs;
+
+        StubKafkaTemplate(long ackLatencyMs) {
+            super(new DefaultKafkaProducerFactory<>(Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092",
+                ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, BinarySocialEventSerializer.class)));
+            this.ackLatencyMs = ackLatencyMs;
+        }
+
+        @Override
+        public CompletableFuture<SendResult<String, SocialEvent>> send(String topic, String key, SocialEvent data) {
+            CompletableFuture<SendResult<String, SocialEvent>> future = new CompletableFuture<>();
+            ProducerRecord<String, SocialEvent> record = new ProducerRecord<>(topic, key, data);
+            RecordMetadata metadata = new RecordMetadata(
+                new TopicPartition(topic, 0), offset.getAndIncrement(), 0,
+                System.currentTimeMillis(), -1, -1);
+            if (ackLatencyMs <= 0) {
+                future.complete(new SendResult<>(record, metadata));
+            } else {
+                acker.schedule(() -> future.complete(new SendResult<>(record, metadata)),
+                    ackLatencyMs, TimeUnit.MILLISECONDS);
+            }
+            return future;
+        }
+
+        @Override
+        public void destroy() {
+            acker.shutdownNow();
+            super.destroy();
+        }
+    }
+}
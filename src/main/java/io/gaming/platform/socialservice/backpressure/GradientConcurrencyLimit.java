@@ -0,0 +1,59 @@
+package io.gaming.platform.socialservice.backpressure;
+
+/**
+ * Concurrency limit adjusted by the ratio of long-term to recent latency, after the gradient
+ * algorithm of Netflix's concurrency-limits. While recent latency stays within
+ * {@code tolerance} times the long-term baseline the limit grows by about its square root per
+ * update; as latency rises beyond that, queueing is building up downstream and the limit shrinks
+ * in proportion. The baseline is an exponential average over roughly the last 600 updates,
+ * pulled down quickly when recent latency falls far below it so recovery is not delayed.
+ * <p>
+ * Not thread-safe; {@link PublishLimiter} updates it from one thread at a time.
+ */
+class GradientConcurrencyLimit {
+
+    private static final double LONG_WINDOW = 600;
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+
+    private double estimate;
+    private double longLatency;
+
+    GradientConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        this.estimate = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * @param latencyNanos mean latency of the sends completed since the last update
+     * @param maxInFlight most sends in flight at once since the last update
+     * @return the new limit
+     */
+    int update(double latencyNanos, int maxInFlight) {
+        if (longLatency == 0) {
+            longLatency = latencyNanos;
+        } else {
+            longLatency += (latencyNanos - longLatency) / LONG_WINDOW;
+            if (longLatency / latencyNanos > 2) {
+                longLatency *= 0.95;
+            }
+        }
+        // Under little load latency says nothing about how much more the producer can take.
+        if (maxInFlight < estimate / 2) {
+            return limit();
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longLatency / latencyNanos));
+        double target = estimate * gradient + Math.sqrt(estimate);
+        estimate = Math.max(minLimit, Math.min(maxLimit, estimate * (1 - SMOOTHING) + target * SMOOTHING));
+        return limit();
+    }
+
+    int limit() {
+        return (int) estimate;
+    }
+}
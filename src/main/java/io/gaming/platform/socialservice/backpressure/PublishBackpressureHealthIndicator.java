@@ -0,0 +1,33 @@
+package io.gaming.platform.socialservice.backpressure;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports {@code DEGRADED} while the node has recently refused events at its in-flight limit, so
+ * a load balancer polling {@code /actuator/health} can send traffic elsewhere. The status maps
+ * to HTTP 503 through {@code management.endpoint.health.status.http-mapping}.
+ */
+@Component
+public class PublishBackpressureHealthIndicator implements HealthIndicator {
+
+    public static final Status DEGRADED = new Status("DEGRADED", "Refusing events at the in-flight limit");
+
+    private final PublishLimiter limiter;
+
+    public PublishBackpressureHealthIndicator(PublishLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public Health health() {
+        return Health.status(limiter.isDegraded() ? DEGRADED : Status.UP)
+            .withDetail("enabled", limiter.isEnabled())
+            .withDetail("limit", limiter.limit())
+            .withDetail("inFlight", limiter.inFlight())
+            .withDetail("rejections", limiter.rejections())
+            .build();
+    }
+}
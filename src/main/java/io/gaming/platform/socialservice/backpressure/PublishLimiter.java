@@ -0,0 +1,215 @@
+package io.gaming.platform.socialservice.backpressure;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.stereotype.Component;
+
+import io.gaming.platform.socialservice.config.BackpressureProperties;
+import io.gaming.platform.socialservice.config.BackpressureProperties.Mode;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Bounds the social events sent to Kafka and not yet acknowledged. Once the producer buffer is
+ * full, {@code send} blocks the calling thread for up to {@code max.block.ms}; without a bound
+ * every request thread would end up blocked there. An event over the limit is refused straight
+ * away so the client can retry elsewhere or later.
+ * <p>
+ * Callers that submit many events at once, a batch request or an ingestion stream, can instead
+ * wait for a permit until a deadline with {@link #tryAcquire(long)}, so they are paced by the
+ * acknowledgements rather than having every event past the limit refused. Waiters park on a
+ * condition that {@link #release} signals only while someone is waiting.
+ * <p>
+ * In adaptive mode the limit follows a {@link GradientConcurrencyLimit}, fed with the mean send
+ * latency of each window. Samples are added to counters on the completing thread; whichever
+ * thread first completes a send after the window has elapsed updates the limit.
+ */
+@Component
+public class PublishLimiter implements MeterBinder {
+
+    private final boolean enabled;
+    private final GradientConcurrencyLimit adaptive;
+    private final long windowNanos;
+    private final Duration retryAfter;
+    private final long degradedForNanos;
+    private final Duration maxWait;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    private final LongAdder windowLatency = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final AtomicInteger windowMaxInFlight = new AtomicInteger();
+    private final AtomicLong windowEnd;
+
+    private final LongAdder rejections = new LongAdder();
+    private volatile long lastRejection;
+    private volatile boolean rejectedOnce;
+
+    private final ReentrantLock waitLock = new ReentrantLock();
+    private final Condition permitReleased = waitLock.newCondition();
+    private final AtomicInteger waiters = new AtomicInteger();
+
+    public PublishLimiter(BackpressureProperties properties) {
+        this.enabled = properties.enabled();
+        this.limit = properties.initialLimit();
+        this.adaptive = properties.mode() == Mode.ADAPTIVE
+            ? new GradientConcurrencyLimit(properties.initialLimit(), properties.minLimit(),
+                properties.maxLimit(), properties.latencyTolerance())
+            : null;
+        this.windowNanos = properties.window().toNanos();
+        this.windowEnd = new AtomicLong(System.nanoTime() + windowNanos);
+        this.retryAfter = properties.retryAfter();
+        this.degradedForNanos = properties.degradedFor().toNanos();
+        this.maxWait = properties.maxWait();
+    }
+
+    /**
+     * Takes a permit for one send. Every permit taken must be given back with {@link #release}.
+     *
+     * @return {@code false} if the limit is reached and the event should be refused
+     */
+    public boolean tryAcquire() {
+        if (take()) {
+            return true;
+        }
+        reject();
+        return false;
+    }
+
+    /**
+     * Takes a permit for one send, waiting for one to be released until {@code deadlineNanos}, in
+     * {@link System#nanoTime} terms. The event only counts as refused, and the node as degraded,
+     * once the deadline has passed without a permit.
+     *
+     * @return {@code false} if no permit was released in time, or the thread was interrupted
+     */
+    public boolean tryAcquire(long deadlineNanos) {
+        if (take()) {
+            return true;
+        }
+        waiters.incrementAndGet();
+        waitLock.lock();
+        try {
+            // Retaken under the lock: a release before waiters was incremented did not signal.
+            while (!take()) {
+                long remaining = deadlineNanos - System.nanoTime();
+                if (remaining <= 0) {
+                    reject();
+                    return false;
+                }
+                permitReleased.awaitNanos(remaining);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reject();
+            return false;
+        } finally {
+            waitLock.unlock();
+            waiters.decrementAndGet();
+        }
+    }
+
+    /**
+     * Gives back the permit of a send that completed, successfully or not, after {@code latencyNanos}.
+     */
+    public void release(long latencyNanos) {
+        inFlight.decrementAndGet();
+        if (waiters.get() > 0) {
+            waitLock.lock();
+            try {
+                permitReleased.signal();
+            } finally {
+                waitLock.unlock();
+            }
+        }
+        if (adaptive == null) {
+            return;
+        }
+        windowLatency.add(latencyNanos);
+        windowSamples.increment();
+        long end = windowEnd.get();
+        long now = System.nanoTime();
+        if (now - end >= 0 && windowEnd.compareAndSet(end, now + windowNanos)) {
+            long samples = windowSamples.sumThenReset();
+            long latency = windowLatency.sumThenReset();
+            int maxInFlight = windowMaxInFlight.getAndSet(inFlight.get());
+            if (samples > 0) {
+                limit = adaptive.update((double) latency / samples, maxInFlight);
+            }
+        }
+    }
+
+    private boolean take() {
+        int current = inFlight.incrementAndGet();
+        if (enabled && current > limit) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        if (adaptive != null) {
+            windowMaxInFlight.accumulateAndGet(current, Math::max);
+        }
+        return true;
+    }
+
+    private void reject() {
+        rejections.increment();
+        lastRejection = System.nanoTime();
+        rejectedOnce = true;
+    }
+
+    /**
+     * Whether an event was refused within the last {@code degraded-for}.
+     */
+    public boolean isDegraded() {
+        return rejectedOnce && System.nanoTime() - lastRejection < degradedForNanos;
+    }
+
+    public Duration retryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * How long a batch request or a streamed event waits for a permit.
+     */
+    public Duration maxWait() {
+        return maxWait;
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public long rejections() {
+        return rejections.sum();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("social.events.backpressure.limit", this, PublishLimiter::limit)
+            .description("Sends allowed in flight before events are refused")
+            .register(registry);
+        Gauge.builder("social.events.backpressure.in_flight", this, PublishLimiter::inFlight)
+            .description("Sends holding a permit")
+            .register(registry);
+        FunctionCounter.builder("social.events.backpressure.rejections", this, PublishLimiter::rejections)
+            .description("Events refused with 503 because the limit was reached")
+            .register(registry);
+    }
+}
@@ -0,0 +1,20 @@
+package io.gaming.platform.socialservice.backpressure;
+
+import java.time.Duration;
+
+/**
+ * The event was not sent because the producer is at its in-flight limit.
+ */
+public class PublishRejectedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public PublishRejectedException(Duration retryAfter) {
+        super("Too many social events in flight, retry later", null, false, false);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration retryAfter() {
+        return retryAfter;
+    }
+}
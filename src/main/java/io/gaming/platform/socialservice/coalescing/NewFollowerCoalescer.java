@@ -0,0 +1,314 @@
+package io.gaming.platform.socialservice.coalescing;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.lang.Nullable;
+
+import io.gaming.platform.socialservice.eventid.EventIdGenerator;
+import io.gaming.platform.socialservice.metrics.SocialEventMetrics;
+import io.gaming.platform.socialservice.metrics.SocialEventMetrics.Outcome;
+import io.gaming.platform.socialservice.model.SocialEvent;
+import io.gaming.platform.socialservice.model.SocialEventType;
+import io.gaming.platform.socialservice.producer.SocialEventSendResult;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Holds the NEW_FOLLOWER events of each followed player for up to a window and publishes them
+ * as one NEW_FOLLOWERS event, so a player gaining thousands of followers in a burst costs a few
+ * records instead of thousands. A window that collected a single event publishes it unchanged.
+ * <p>
+ * Followed players are spread over shards, each with its own lock and a single timer thread
+ * that closes the shard's windows, so adding and flushing scale with the number of shards. A
+ * window is flushed early once it holds {@code maxFollowers} events, by the thread that added
+ * the last one. Each shard holds at most its share of {@code maxTargets} open windows; events
+ * for further players are not held, and {@link #add} returns {@code null} for the caller to
+ * publish them itself. The same happens once the coalescer has stopped.
+ * <p>
+ * Every caller's future completes when the record carrying its event is acknowledged, with the
+ * caller's own event and that record's metadata, or fails with the record's failure. On stop,
+ * after the web server has finished its requests, every open window is flushed and the
+ * acknowledgements awaited for up to the drain timeout.
+ */
+public class NewFollowerCoalescer implements SmartLifecycle, MeterBinder {
+    private static final Logger log = LoggerFactory.getLogger(NewFollowerCoalescer.class);
+
+    private static final String OTHER_PLAYER_ID = "otherPlayerId";
+
+    private final long windowNanos;
+    private final int maxFollowers;
+    private final int maxTargetsPerShard;
+    private final Duration drainTimeout;
+    private final EventIdGenerator eventIds;
+    private final SocialEventMetrics metrics;
+    private final Shard[] shards;
+    private final LongAdder bypassed = new LongAdder();
+    private final LongAdder aggregates = new LongAdder();
+    private volatile DistributionSummary aggregateSize;
+
+    private volatile boolean running;
+
+    /**
+     * @param window longest an event is held before its window is published
+     * @param maxFollowers events after which a window is published straight away
+     * @param maxTargets followed players with a window open at once, across all shards
+     * @param shards independent partitions of the open windows, each with its own timer thread
+     * @param drainTimeout how long {@link #stop} waits for the windows it flushes to be acknowledged
+     */
+    public NewFollowerCoalescer(Duration window, int maxFollowers, int maxTargets, int shards,
+            Duration drainTimeout, EventIdGenerator eventIds, SocialEventMetrics metrics) {
+        this.windowNanos = window.toNanos();
+        this.maxFollowers = maxFollowers;
+        this.maxTargetsPerShard = Math.max(1, maxTargets / shards);
+        this.drainTimeout = drainTimeout;
+        this.eventIds = eventIds;
+        this.metrics = metrics;
+        this.shards = new Shard[shards];
+        for (int i = 0; i < shards; i++) {
+            this.shards[i] = new Shard(i);
+        }
+    }
+
+    /**
+     * Holds a NEW_FOLLOWER event until its window is published through {@code publisher}.
+     *
+     * @return completes when the record carrying the event is acknowledged, or {@code null} when
+     *         the event was not held and the caller has to publish it
+     */
+    @Nullable
+    public CompletableFuture<SocialEventSendResult> add(
+            SocialEvent event, Function<SocialEvent, CompletableFuture<SocialEventSendResult>> publisher) {
+        if (event.eventType() != SocialEventType.NEW_FOLLOWER
+                || !(event.eventData().get(OTHER_PLAYER_ID) instanceof Number other)) {
+            return null;
+        }
+        long target = other.longValue();
+        Shard shard = shards[shardOf(target)];
+        CompletableFuture<SocialEventSendResult> result = new CompletableFuture<>();
+        Window full = null;
+        synchronized (shard) {
+            if (!running) {
+                bypassed.increment();
+                return null;
+            }
+            Window window = shard.open.get(target);
+            if (window == null) {
+                if (shard.open.size() >= maxTargetsPerShard) {
+                    bypassed.increment();
+                    return null;
+                }
+                window = new Window(target, publisher);
+                Window opened = window;
+                window.timeout = shard.timer.schedule(() -> expire(shard, opened), windowNanos, TimeUnit.NANOSECONDS);
+                shard.open.put(target, window);
+            }
+            window.add(event, result);
+            if (window.size >= maxFollowers) {
+                shard.open.remove(target);
+                window.timeout.cancel(false);
+                full = window;
+            }
+        }
+        if (full != null) {
+            publish(full);
+        }
+        return result;
+    }
+
+    /**
+     * Followed players with a window open.
+     */
+    public int openWindows() {
+        int open = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                open += shard.open.size();
+            }
+        }
+        return open;
+    }
+
+    /**
+     * Events published on their own because every window slot of their shard was taken or the
+     * coalescer had stopped.
+     */
+    public long bypassed() {
+        return bypassed.sum();
+    }
+
+    /**
+     * NEW_FOLLOWERS events published.
+     */
+    public long aggregates() {
+        return aggregates.sum();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        List<Window> windows = new ArrayList<>();
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                for (Window window : shard.open.values()) {
+                    window.timeout.cancel(false);
+                    windows.add(window);
+                }
+                shard.open.clear();
+            }
+        }
+        CompletableFuture<?>[] flushed = windows.stream().map(this::publish).toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(flushed).get(drainTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            log.info("Flushed {} held new follower windows on shutdown", flushed.length);
+        } catch (TimeoutException e) {
+            log.warn("Held new follower windows not acknowledged within {}", drainTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Failed to flush held new follower windows on shutdown: {}", e.getMessage());
+        }
+        for (Shard shard : shards) {
+            shard.timer.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops after the web server has finished the requests in progress and before the Kafka
+     * producer is closed, so no held event is lost on a graceful shutdown.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("social.events.coalescing.windows", this, NewFollowerCoalescer::openWindows)
+            .description("Followed players with new follower events held for coalescing")
+            .register(registry);
+        FunctionCounter.builder("social.events.coalescing.bypassed", bypassed, LongAdder::sum)
+            .description("New follower events published on their own because the coalescer was full or stopped")
+            .register(registry);
+        FunctionCounter.builder("social.events.coalescing.aggregates", aggregates, LongAdder::sum)
+            .description("NEW_FOLLOWERS events published")
+            .register(registry);
+        aggregateSize = DistributionSummary.builder("social.events.coalescing.size")
+            .description("New follower events per published window")
+            .publishPercentiles(0.5, 0.99)
+            .register(registry);
+    }
+
+    private void expire(Shard shard, Window window) {
+        synchronized (shard) {
+            if (shard.open.get(window.target) != window) {
+                return;
+            }
+            shard.open.remove(window.target);
+        }
+        publish(window);
+    }
+
+    private CompletableFuture<SocialEventSendResult> publish(Window window) {
+        SocialEvent event = window.size == 1
+            ? window.events[0]
+            : SocialEvent.newFollowers(Arrays.copyOf(window.followers, window.size), window.target, eventIds);
+        CompletableFuture<SocialEventSendResult> sent;
+        try {
+            sent = window.publisher.apply(event);
+        } catch (RuntimeException e) {
+            sent = CompletableFuture.failedFuture(e);
+        }
+        if (window.size > 1) {
+            aggregates.increment();
+        }
+        DistributionSummary size = aggregateSize;
+        if (size != null) {
+            size.record(window.size);
+        }
+        return sent.whenComplete((result, ex) -> window.complete(result, ex));
+    }
+
+    private int shardOf(long target) {
+        return Math.floorMod((int) ((target * 0x9E3779B97F4A7C15L) >>> 32), shards.length);
+    }
+
+    private final class Window {
+        final long target;
+        final Function<SocialEvent, CompletableFuture<SocialEventSendResult>> publisher;
+        long[] followers = new long[4];
+        SocialEvent[] events = new SocialEvent[4];
+        @SuppressWarnings("unchecked")
+        CompletableFuture<SocialEventSendResult>[] results = new CompletableFuture[4];
+        int size;
+        ScheduledFuture<?> timeout;
+
+        Window(long target, Function<SocialEvent, CompletableFuture<SocialEventSendResult>> publisher) {
+            this.target = target;
+            this.publisher = publisher;
+        }
+
+        void add(SocialEvent event, CompletableFuture<SocialEventSendResult> result) {
+            if (size == followers.length) {
+                int capacity = Math.min(maxFollowers, size * 2);
+                followers = Arrays.copyOf(followers, capacity);
+                events = Arrays.copyOf(events, capacity);
+                results = Arrays.copyOf(results, capacity);
+            }
+            followers[size] = event.playerId();
+            events[size] = event;
+            results[size] = result;
+            size++;
+        }
+
+        void complete(SocialEventSendResult sent, Throwable ex) {
+            for (int i = 0; i < size; i++) {
+                if (ex != null) {
+                    results[i].completeExceptionally(ex);
+                } else {
+                    if (size > 1) {
+                        metrics.recordResult(SocialEventType.NEW_FOLLOWER, Outcome.COALESCED);
+                    }
+                    results[i].complete(new SocialEventSendResult(events[i], sent.metadata()));
+                }
+            }
+        }
+    }
+
+    private static final class Shard {
+        final HashMap<Long, Window> open = new HashMap<>();
+        final ScheduledThreadPoolExecutor timer;
+
+        Shard(int index) {
+            timer = new ScheduledThreadPoolExecutor(1,
+                Thread.ofPlatform().name("new-follower-coalescer-" + index).daemon().factory());
+            timer.setRemoveOnCancelPolicy(true);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package io.gaming.platform.socialservice.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Limit on social events sent to Kafka and not yet acknowledged, bound from
+ * {@code app.backpressure}. In {@code fixed} mode the limit stays at {@code initial-limit}; in
+ * {@code adaptive} mode it moves between {@code min-limit} and {@code max-limit} with the send
+ * latency observed every {@code window}. Events over the limit are refused with 503 and
+ * {@code retry-after}, and the node reports itself degraded for {@code degraded-for} afterwards.
+ * Streamed events wait up to {@code max-wait} for a permit before being refused.
+ */
+@Validated
+@ConfigurationProperties(prefix = "app.backpressure")
+public record BackpressureProperties(
+    @DefaultValue("true")
+    boolean enabled,
+
+    @DefaultValue("adaptive")
+    @NotNull
+    Mode mode,
+
+    @DefaultValue("200")
+    @Min(1)
+    int initialLimit,
+
+    @DefaultValue("16")
+    @Min(1)
+    int minLimit,
+
+    @DefaultValue("2000")
+    @Min(1)
+    int maxLimit,
+
+    @DefaultValue("100ms")
+    @NotNull
+    Duration window,
+
+    // How far recent latency may rise over the long-term baseline before the limit shrinks.
+    @DefaultValue("2.0")
+    @DecimalMin("1.0")
+    double latencyTolerance,
+
+    @DefaultValue("1s")
+    @NotNull
+    Duration retryAfter,
+
+    @DefaultValue("10s")
+    @NotNull
+    Duration degradedFor,
+
+    // Per streamed event.
+    @DefaultValue("5s")
+    @NotNull
+    Duration maxWait
+) {
+    public enum Mode {
+        FIXED,
+        ADAPTIVE
+    }
+
+    @AssertTrue(message = "min-limit <= initial-limit <= max-limit")
+    public boolean isLimitRangeValid() {
+        return minLimit <= initialLimit && initialLimit <= maxLimit;
+    }
+}
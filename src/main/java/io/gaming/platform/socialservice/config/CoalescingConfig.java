@@ -0,0 +1,28 @@
+package io.gaming.platform.socialservice.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.gaming.platform.socialservice.coalescing.NewFollowerCoalescer;
+import io.gaming.platform.socialservice.eventid.EventIdGenerator;
+import io.gaming.platform.socialservice.metrics.SocialEventMetrics;
+
+/**
+ * Configuration for coalescing NEW_FOLLOWER events.
+ * Only active when {@code app.coalescing.enabled} is {@code true}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.coalescing.enabled", havingValue = "true")
+@EnableConfigurationProperties(CoalescingProperties.class)
+public class CoalescingConfig {
+
+    @Bean
+    public NewFollowerCoalescer newFollowerCoalescer(
+            CoalescingProperties properties, EventIdGenerator eventIds, SocialEventMetrics metrics) {
+        int shards = properties.shards() > 0 ? properties.shards() : Runtime.getRuntime().availableProcessors();
+        return new NewFollowerCoalescer(properties.window(), properties.maxFollowers(), properties.maxTargets(),
+            shards, properties.drainTimeout(), eventIds, metrics);
+    }
+}
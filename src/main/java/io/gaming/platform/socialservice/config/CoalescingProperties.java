@@ -0,0 +1,46 @@
+package io.gaming.platform.socialservice.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Coalescing of NEW_FOLLOWER events into NEW_FOLLOWERS aggregates, bound from
+ * {@code app.coalescing}. A followed player's events are held for up to {@code window}, or until
+ * {@code max-followers} have arrived, and published as one record. At most {@code max-targets}
+ * players have events held at once; events for further players are published on their own.
+ * {@code shards} splits the held events and their timers, one shard per core when 0.
+ */
+@Validated
+@ConfigurationProperties(prefix = "app.coalescing")
+public record CoalescingProperties(
+    @DefaultValue("false")
+    boolean enabled,
+
+    @DefaultValue("500ms")
+    @NotNull
+    Duration window,
+
+    @DefaultValue("1000")
+    @Min(2)
+    int maxFollowers,
+
+    @DefaultValue("100000")
+    @Min(1)
+    int maxTargets,
+
+    @DefaultValue("0")
+    @Min(0)
+    int shards,
+
+    // How long shutdown waits for the held events it publishes to be acknowledged.
+    @DefaultValue("10s")
+    @NotNull
+    Duration drainTimeout
+) {
+}
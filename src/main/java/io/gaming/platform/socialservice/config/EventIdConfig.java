@@ -0,0 +1,44 @@
+package io.gaming.platform.socialservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.gaming.platform.socialservice.eventid.EventIdGenerator;
+import io.gaming.platform.socialservice.eventid.SnowflakeEventIdGenerator;
+import io.gaming.platform.socialservice.eventid.UuidV7EventIdGenerator;
+
+/**
+ * Configuration for the ids given to the social events this service creates.
+ */
+@Configuration
+public class EventIdConfig {
+
+    @Value("${app.event-id.generator:uuid-v7}")
+    private String generator;
+
+    @Value("${app.event-id.node-id:-1}")
+    private Integer nodeId;
+
+    /**
+     * {@code uuid-v7} (time-ordered UUIDs, the default), {@code random-uuid} (the original random
+     * UUIDs) or {@code snowflake} (time-ordered 64-bit ids, which need {@code app.event-id.node-id}
+     * to be unique per instance).
+     */
+    @Bean
+    public EventIdGenerator eventIdGenerator() {
+        return switch (generator) {
+            case "uuid-v7" -> new UuidV7EventIdGenerator();
+            case "random-uuid" -> EventIdGenerator.RANDOM_UUID;
+            case "snowflake" -> {
+                if (nodeId < 0) {
+                    throw new IllegalStateException(
+                        "app.event-id.node-id must be set to a value unique to this instance for snowflake ids");
+                }
+                yield new SnowflakeEventIdGenerator(nodeId);
+            }
+            default -> throw new IllegalStateException(
+                "Unknown app.event-id.generator '" + generator + "', expected uuid-v7, random-uuid or snowflake");
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package io.gaming.platform.socialservice.config;
+
+import ch.qos.logback.core.PropertyDefinerBase;
+
+/**
+ * Defines a Logback property as {@code true} when Spring Boot was given a log file, through
+ * {@code logging.file.name} or {@code logging.file.path}, and {@code false} otherwise. Boot passes
+ * both on as the {@code LOG_FILE} and {@code LOG_PATH} properties before Logback is configured;
+ * {@code logback-spring.xml} uses this to attach the file appender only then, without Janino.
+ */
+public class FileLoggingPropertyDefiner extends PropertyDefinerBase {
+
+    @Override
+    public String getPropertyValue() {
+        return Boolean.toString(isSet("LOG_FILE") || isSet("LOG_PATH"));
+    }
+
+    private boolean isSet(String name) {
+        String value = getContext() != null ? getContext().getProperty(name) : null;
+        if (value == null) {
+            value = System.getProperty(name);
+        }
+        return value != null && !value.isBlank();
+    }
+}
@@ -1,31 +1,56 @@
 package io.gaming.platform.socialservice.config;
 
+import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerProducerListener;
 import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.gaming.platform.socialservice.metrics.SocialEventMetrics;
+import io.gaming.platform.socialservice.model.SocialEvent;
+import io.gaming.platform.socialservice.producer.ShardedKafkaTemplate;
+import io.gaming.platform.socialservice.serialization.BinarySocialEventDeserializer;
+import io.gaming.platform.socialservice.serialization.BinarySocialEventSerializer;
+import io.gaming.platform.socialservice.serialization.TimedSocialEventSerializer;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * Configuration class for Kafka producer setup.
- * Provides beans for KafkaTemplate and related configurations.
+ * Provides beans for KafkaTemplate and related configurations, and the consumer factory used
+ * to read the topic back.
  */
 @Configuration
+@EnableConfigurationProperties({ProducerTuningProperties.class, ProducerShardingProperties.class,
+    PublishLogProperties.class, BackpressureProperties.class})
 public class KafkaConfig {
+    private static final Logger log = LoggerFactory.getLogger(KafkaConfig.class);
 
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
     
     @Value("${spring.kafka.producer.key-serializer}")
     private String keySerializer;
-    
-    @Value("${spring.kafka.producer.value-serializer}")
-    private String valueSerializer;
 
     @Value("${spring.kafka.producer.retries:3}")
     private Integer retries;
@@ -33,22 +58,88 @@ public class KafkaConfig {
     @Value("${app.kafka.topic}")
     private String topicName;
 
+    @Value("${app.kafka.value-format:json}")
+    private String valueFormat;
+
+    /**
+     * Record value encoding: {@code json} (the original format, readable by any consumer) or
+     * {@code binary} ({@link BinarySocialEventSerializer}, schema-versioned and far smaller).
+     */
     @Bean
-    public ProducerFactory<String, String> producerFactory() {
-        Map<String, Object> configProps = new HashMap<>();
+    public Serializer<SocialEvent> socialEventSerializer(ObjectMapper objectMapper) {
+        return switch (valueFormat) {
+            case "json" -> new JsonSerializer<SocialEvent>(objectMapper).noTypeInfo();
+            case "binary" -> new BinarySocialEventSerializer();
+            default -> throw new IllegalStateException(
+                "Unknown app.kafka.value-format '" + valueFormat + "', expected json or binary");
+        };
+    }
+
+    /**
+     * The producer's own client metrics (record send rate, batch size, request latency, buffer
+     * exhaustion, ...) are bound to the meter registry alongside the pipeline meters.
+     */
+    @Bean
+    public ProducerFactory<String, SocialEvent> producerFactory(
+            Serializer<SocialEvent> socialEventSerializer,
+            ProducerTuningProperties tuning,
+            SocialEventMetrics metrics,
+            MeterRegistry meterRegistry) {
+        Map<String, Object> configProps = new HashMap<>(tuning.producerConfigs());
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, keySerializer);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, valueSerializer);
         configProps.put(ProducerConfig.RETRIES_CONFIG, retries);
         configProps.put(ProducerConfig.ACKS_CONFIG, "all");
         configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
-        return new DefaultKafkaProducerFactory<>(configProps);
+        log.info("Kafka producer using {} profile: {}", tuning.profile(), tuning.producerConfigs());
+        DefaultKafkaProducerFactory<String, SocialEvent> factory = new DefaultKafkaProducerFactory<>(configProps);
+        factory.setValueSerializer(new TimedSocialEventSerializer(socialEventSerializer, metrics));
+        factory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        return factory;
+    }
+
+    /**
+     * Consumers of the service's own topic, decoding whichever {@code app.kafka.value-format} it
+     * publishes. They assign partitions directly, so there is no group and nothing is committed.
+     */
+    @Bean
+    public ConsumerFactory<String, SocialEvent> socialEventConsumerFactory(ObjectMapper objectMapper) {
+        Deserializer<SocialEvent> valueDeserializer = switch (valueFormat) {
+            case "json" -> new JsonDeserializer<>(SocialEvent.class, objectMapper, false);
+            case "binary" -> new BinarySocialEventDeserializer();
+            default -> throw new IllegalStateException(
+                "Unknown app.kafka.value-format '" + valueFormat + "', expected json or binary");
+        };
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        configProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 5000);
+        configProps.put(ConsumerConfig.FETCH_MAX_BYTES_CONFIG, 64 * 1024 * 1024);
+        return new DefaultKafkaConsumerFactory<>(configProps, new StringDeserializer(), valueDeserializer);
     }
 
+    /**
+     * With more than one shard, a {@link ShardedKafkaTemplate} over copies of the producer
+     * factory, each producer with its own client id.
+     */
     @Bean
-    public KafkaTemplate<String, String> kafkaTemplate() {
-        KafkaTemplate<String, String> template = new KafkaTemplate<>(producerFactory());
+    public KafkaTemplate<String, SocialEvent> kafkaTemplate(
+            ProducerFactory<String, SocialEvent> producerFactory,
+            ProducerShardingProperties sharding) {
+        KafkaTemplate<String, SocialEvent> template;
+        if (sharding.shards() > 1) {
+            List<ProducerFactory<String, SocialEvent>> factories = new ArrayList<>();
+            for (int i = 0; i < sharding.shards(); i++) {
+                factories.add(producerFactory.copyWithConfigurationOverride(
+                    Map.of(ProducerConfig.CLIENT_ID_CONFIG, "social-service-producer-" + i)));
+            }
+            log.info("Kafka producer sharded {} ways by {}", sharding.shards(), sharding.shardBy());
+            template = new ShardedKafkaTemplate<>(factories, sharding.shardBy(), sharding.metadataRefresh());
+        } else {
+            template = new KafkaTemplate<>(producerFactory);
+        }
         template.setDefaultTopic(topicName);
         return template;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,37 @@
+package io.gaming.platform.socialservice.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.gaming.platform.socialservice.keying.HotKeyDetector;
+import io.gaming.platform.socialservice.keying.HotKeysEndpoint;
+import io.gaming.platform.socialservice.keying.SocialEventKeyer;
+
+/**
+ * Configuration for choosing social event record keys and detecting hot keys.
+ */
+@Configuration
+@EnableConfigurationProperties(KeyingProperties.class)
+public class KeyingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.kafka.keying.hot-keys.enabled", havingValue = "true", matchIfMissing = true)
+    public HotKeyDetector hotKeyDetector(KeyingProperties properties) {
+        KeyingProperties.HotKeys hotKeys = properties.hotKeys();
+        return new HotKeyDetector(hotKeys.topK(), hotKeys.width(), hotKeys.depth(), hotKeys.decayInterval());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.kafka.keying.hot-keys.enabled", havingValue = "true", matchIfMissing = true)
+    public HotKeysEndpoint hotKeysEndpoint(HotKeyDetector hotKeyDetector) {
+        return new HotKeysEndpoint(hotKeyDetector);
+    }
+
+    @Bean
+    public SocialEventKeyer socialEventKeyer(KeyingProperties properties, ObjectProvider<HotKeyDetector> hotKeyDetector) {
+        return new SocialEventKeyer(properties, hotKeyDetector.getIfAvailable());
+    }
+}
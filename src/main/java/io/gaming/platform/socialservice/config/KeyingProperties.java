@@ -0,0 +1,111 @@
+package io.gaming.platform.socialservice.config;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import io.gaming.platform.socialservice.keying.KeyStrategy;
+import io.gaming.platform.socialservice.model.SocialEventType;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Kafka record keys of social events, bound from {@code app.kafka.keying}. {@code strategies}
+ * overrides {@code default-strategy} per {@link SocialEventType}. {@code hot-keys} sizes the
+ * detector of keys taking a disproportionate share of traffic, and {@code spread} lets the
+ * listed types spread a hot key over sub-keys, giving up ordering between those sub-keys.
+ */
+@Validated
+@ConfigurationProperties(prefix = "app.kafka.keying")
+public record KeyingProperties(
+    @DefaultValue("actor")
+    @NotNull
+    KeyStrategy defaultStrategy,
+
+    Map<SocialEventType, KeyStrategy> strategies,
+
+    @Valid
+    @DefaultValue
+    HotKeys hotKeys,
+
+    @Valid
+    @DefaultValue
+    Spread spread
+) {
+    public KeyingProperties {
+        Map<SocialEventType, KeyStrategy> byType = new EnumMap<>(SocialEventType.class);
+        if (strategies != null) {
+            byType.putAll(strategies);
+        }
+        strategies = byType;
+        hotKeys = hotKeys != null ? hotKeys : new HotKeys(true, 10, 4096, 4, Duration.ofSeconds(10));
+        spread = spread != null ? spread : new Spread(false, null, 8, 1000);
+    }
+
+    public KeyStrategy strategy(SocialEventType type) {
+        return strategies.getOrDefault(type, defaultStrategy);
+    }
+
+    /**
+     * Count-min sketch of {@code depth} rows of {@code width} counters, halved every
+     * {@code decay-interval}, and the {@code top-k} keys it has counted most.
+     */
+    public record HotKeys(
+        @DefaultValue("true")
+        boolean enabled,
+
+        @DefaultValue("10")
+        @Min(1)
+        @Max(100)
+        int topK,
+
+        @DefaultValue("4096")
+        @Min(64)
+        int width,
+
+        @DefaultValue("4")
+        @Min(1)
+        @Max(8)
+        int depth,
+
+        @DefaultValue("10s")
+        @NotNull
+        Duration decayInterval
+    ) {
+    }
+
+    /**
+     * A key of one of {@code types} counted at least {@code min-count} times (roughly, within the
+     * last two decay intervals) is suffixed with one of {@code sub-keys} sub-keys chosen by the
+     * player pair, so each pair still stays on one partition.
+     */
+    public record Spread(
+        @DefaultValue("false")
+        boolean enabled,
+
+        Set<SocialEventType> types,
+
+        @DefaultValue("8")
+        @Min(2)
+        @Max(1024)
+        int subKeys,
+
+        @DefaultValue("1000")
+        @Min(1)
+        long minCount
+    ) {
+        public Spread {
+            types = types == null || types.isEmpty()
+                ? EnumSet.of(SocialEventType.NEW_FOLLOWER)
+                : EnumSet.copyOf(types);
+        }
+    }
+}
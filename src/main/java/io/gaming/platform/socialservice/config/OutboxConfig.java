@@ -0,0 +1,47 @@
+package io.gaming.platform.socialservice.config;
+
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import io.gaming.platform.socialservice.model.SocialEvent;
+import io.gaming.platform.socialservice.outbox.OutboxRelay;
+import io.gaming.platform.socialservice.outbox.SocialEventOutbox;
+
+/**
+ * Configuration for the local outbox delivery mode.
+ * Only active when {@code app.kafka.delivery-mode} is {@code outbox}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.kafka.delivery-mode", havingValue = "outbox")
+public class OutboxConfig {
+
+    @Value("${app.outbox.directory}")
+    private String directory;
+
+    @Value("${app.outbox.segment-size-bytes:67108864}")
+    private Integer segmentSizeBytes;
+
+    @Value("${app.outbox.fsync-interval-ms:1}")
+    private Long fsyncIntervalMs;
+
+    @Value("${app.outbox.relay-batch-size:500}")
+    private Integer relayBatchSize;
+
+    @Value("${app.kafka.topic}")
+    private String topicName;
+
+    @Bean
+    public SocialEventOutbox socialEventOutbox() {
+        return new SocialEventOutbox(Path.of(directory), segmentSizeBytes, fsyncIntervalMs);
+    }
+
+    @Bean
+    public OutboxRelay outboxRelay(SocialEventOutbox socialEventOutbox, KafkaTemplate<String, SocialEvent> kafkaTemplate) {
+        return new OutboxRelay(socialEventOutbox, kafkaTemplate, topicName, relayBatchSize);
+    }
+}
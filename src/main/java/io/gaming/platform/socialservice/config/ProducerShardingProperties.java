@@ -0,0 +1,36 @@
+package io.gaming.platform.socialservice.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import io.gaming.platform.socialservice.producer.ShardedKafkaTemplate.ShardBy;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Number of Kafka producers the social events are spread over, bound from
+ * {@code app.kafka.producer.sharding}. With more than one shard each record goes to the producer
+ * chosen by {@code shard-by}; the partition count used for {@code partition} is looked up again
+ * in the background every {@code metadata-refresh}. Every shard has its own {@code buffer-memory}.
+ */
+@Validated
+@ConfigurationProperties(prefix = "app.kafka.producer.sharding")
+public record ProducerShardingProperties(
+    @DefaultValue("1")
+    @Min(1)
+    @Max(64)
+    int shards,
+
+    @DefaultValue("partition")
+    @NotNull
+    ShardBy shardBy,
+
+    @DefaultValue("30s")
+    @NotNull
+    Duration metadataRefresh
+) {
+}
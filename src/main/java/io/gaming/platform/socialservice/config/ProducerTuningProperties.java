@@ -0,0 +1,89 @@
+package io.gaming.platform.socialservice.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+
+/**
+ * Batching and buffering settings of the social event producer, bound from
+ * {@code app.kafka.producer}. The {@link ThroughputProfile} supplies every value; any setting given
+ * explicitly overrides the profile. Invalid combinations fail at startup.
+ */
+@Validated
+@ConfigurationProperties(prefix = "app.kafka.producer")
+public record ProducerTuningProperties(
+    @DefaultValue("balanced")
+    ThroughputProfile profile,
+
+    @PositiveOrZero
+    Integer lingerMs,
+
+    @Positive
+    Integer batchSize,
+
+    @Pattern(regexp = "none|gzip|snappy|lz4|zstd", message = "must be one of none, gzip, snappy, lz4, zstd")
+    String compressionType,
+
+    @Positive
+    Long bufferMemory,
+
+    // The idempotent producer only preserves ordering with at most 5 in-flight requests.
+    @Min(1)
+    @Max(5)
+    Integer maxInFlightRequestsPerConnection
+) {
+    public static ProducerTuningProperties of(ThroughputProfile profile) {
+        return new ProducerTuningProperties(profile, null, null, null, null, null);
+    }
+
+    public int effectiveLingerMs() {
+        return lingerMs != null ? lingerMs : profile.lingerMs();
+    }
+
+    public int effectiveBatchSize() {
+        return batchSize != null ? batchSize : profile.batchSize();
+    }
+
+    public String effectiveCompressionType() {
+        return compressionType != null ? compressionType : profile.compressionType();
+    }
+
+    public long effectiveBufferMemory() {
+        return bufferMemory != null ? bufferMemory : profile.bufferMemory();
+    }
+
+    public int effectiveMaxInFlightRequestsPerConnection() {
+        return maxInFlightRequestsPerConnection != null
+            ? maxInFlightRequestsPerConnection
+            : profile.maxInFlightRequestsPerConnection();
+    }
+
+    @AssertTrue(message = "buffer-memory must be at least batch-size")
+    public boolean isBufferLargerThanBatch() {
+        return effectiveBufferMemory() >= effectiveBatchSize();
+    }
+
+    /**
+     * The effective settings as Kafka producer configuration entries.
+     */
+    public Map<String, Object> producerConfigs() {
+        Map<String, Object> configs = new HashMap<>();
+        configs.put(ProducerConfig.LINGER_MS_CONFIG, effectiveLingerMs());
+        configs.put(ProducerConfig.BATCH_SIZE_CONFIG, effectiveBatchSize());
+        configs.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, effectiveCompressionType());
+        configs.put(ProducerConfig.BUFFER_MEMORY_CONFIG, effectiveBufferMemory());
+        configs.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, effectiveMaxInFlightRequestsPerConnection());
+        return configs;
+    }
+}
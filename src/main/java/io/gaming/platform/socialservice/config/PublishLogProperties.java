@@ -0,0 +1,43 @@
+package io.gaming.platform.socialservice.config;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import io.gaming.platform.socialservice.model.SocialEventType;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+
+/**
+ * Sampling of the per-event publish log, bound from {@code app.publish-log}. A rate of {@code 1}
+ * logs every published event and {@code 0} none; {@code sample-rates} overrides the default per
+ * {@link SocialEventType}. Event data is left out unless {@code include-payload} is set.
+ */
+@Validated
+@ConfigurationProperties(prefix = "app.publish-log")
+public record PublishLogProperties(
+    @DefaultValue("0.01")
+    @DecimalMin("0.0")
+    @DecimalMax("1.0")
+    double sampleRate,
+
+    Map<SocialEventType, @DecimalMin("0.0") @DecimalMax("1.0") Double> sampleRates,
+
+    @DefaultValue("false")
+    boolean includePayload
+) {
+    public PublishLogProperties {
+        Map<SocialEventType, Double> rates = new EnumMap<>(SocialEventType.class);
+        if (sampleRates != null) {
+            rates.putAll(sampleRates);
+        }
+        sampleRates = rates;
+    }
+
+    public double sampleRate(SocialEventType type) {
+        return sampleRates.getOrDefault(type, sampleRate);
+    }
+}
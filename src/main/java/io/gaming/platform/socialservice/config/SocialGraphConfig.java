@@ -0,0 +1,52 @@
+package io.gaming.platform.socialservice.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.ConsumerFactory;
+
+import io.gaming.platform.socialservice.graph.SocialGraph;
+import io.gaming.platform.socialservice.graph.SocialGraphConsumer;
+import io.gaming.platform.socialservice.graph.SocialGraphSnapshotStore;
+import io.gaming.platform.socialservice.model.SocialEvent;
+
+/**
+ * Configuration for the in-process social graph materialized from the social events topic.
+ * Only active when {@code app.graph.enabled} is {@code true}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.graph.enabled", havingValue = "true")
+public class SocialGraphConfig {
+
+    @Value("${app.kafka.topic}")
+    private String topicName;
+
+    @Value("${app.graph.snapshot-directory}")
+    private String snapshotDirectory;
+
+    @Value("${app.graph.snapshot-interval:5m}")
+    private Duration snapshotInterval;
+
+    @Bean
+    public SocialGraph socialGraph() {
+        return new SocialGraph();
+    }
+
+    @Bean
+    public SocialGraphSnapshotStore socialGraphSnapshotStore() {
+        return new SocialGraphSnapshotStore(Path.of(snapshotDirectory));
+    }
+
+    @Bean
+    public SocialGraphConsumer socialGraphConsumer(
+            SocialGraph socialGraph,
+            SocialGraphSnapshotStore socialGraphSnapshotStore,
+            ConsumerFactory<String, SocialEvent> socialEventConsumerFactory) {
+        return new SocialGraphConsumer(
+            socialGraph, socialGraphSnapshotStore, socialEventConsumerFactory, topicName, snapshotInterval);
+    }
+}
@@ -0,0 +1,55 @@
+package io.gaming.platform.socialservice.config;
+
+/**
+ * Named Kafka producer batching presets, selected with {@code app.kafka.producer.profile}.
+ * Individual settings can still be overridden in {@link ProducerTuningProperties}.
+ */
+public enum ThroughputProfile {
+    /**
+     * Kafka client defaults: no lingering, small batches, no compression.
+     */
+    LOW_LATENCY(0, 16_384, "none", 33_554_432L, 5),
+    /**
+     * A few milliseconds of lingering so concurrent requests share batches.
+     */
+    BALANCED(5, 65_536, "lz4", 67_108_864L, 5),
+    /**
+     * Large, well-compressed batches for bulk traffic at the cost of latency.
+     */
+    HIGH_THROUGHPUT(20, 262_144, "zstd", 134_217_728L, 5);
+
+    private final int lingerMs;
+    private final int batchSize;
+    private final String compressionType;
+    private final long bufferMemory;
+    private final int maxInFlightRequestsPerConnection;
+
+    ThroughputProfile(int lingerMs, int batchSize, String compressionType, long bufferMemory,
+            int maxInFlightRequestsPerConnection) {
+        this.lingerMs = lingerMs;
+        this.batchSize = batchSize;
+        this.compressionType = compressionType;
+        this.bufferMemory = bufferMemory;
+        this.maxInFlightRequestsPerConnection = maxInFlightRequestsPerConnection;
+    }
+
+    public int lingerMs() {
+        return lingerMs;
+    }
+
+    public int batchSize() {
+        return batchSize;
+    }
+
+    public String compressionType() {
+        return compressionType;
+    }
+
+    public long bufferMemory() {
+        return bufferMemory;
+    }
+
+    public int maxInFlightRequestsPerConnection() {
+        return maxInFlightRequestsPerConnection;
+    }
+}
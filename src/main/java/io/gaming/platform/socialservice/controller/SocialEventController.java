@@ -1,43 +1,88 @@
 package io.gaming.platform.socialservice.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.kafka.support.SendResult;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.gaming.platform.socialservice.backpressure.PublishRejectedException;
 import io.gaming.platform.socialservice.dto.FriendAcceptanceRequest;
 import io.gaming.platform.socialservice.dto.FriendRequestRequest;
 import io.gaming.platform.socialservice.dto.NewFollowerRequest;
+import io.gaming.platform.socialservice.dto.SocialEventBatchItem;
+import io.gaming.platform.socialservice.dto.SocialEventBatchResponse;
 import io.gaming.platform.socialservice.dto.SocialEventResponse;
+import io.gaming.platform.socialservice.friendrequest.PendingFriendRequestIndex;
+import io.gaming.platform.socialservice.metrics.SocialEventMetrics;
+import io.gaming.platform.socialservice.metrics.SocialEventMetrics.Outcome;
 import io.gaming.platform.socialservice.model.SocialEvent;
 import io.gaming.platform.socialservice.model.SocialEventType;
 import io.gaming.platform.socialservice.producer.SocialEventProducer;
+import io.gaming.platform.socialservice.producer.SocialEventSendResult;
+import io.gaming.platform.socialservice.ratelimit.PlayerRateLimiter;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 
 @RestController
 @RequestMapping("/api/v1/social-events")
 public class SocialEventController {
     private static final Logger log = LoggerFactory.getLogger(SocialEventController.class);
+    private static final String RATE_LIMITED_MESSAGE = "Rate limit exceeded";
+    private static final String NO_PENDING_REQUEST_MESSAGE = "No pending friend request to accept";
     
     private final SocialEventProducer eventProducer;
     private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final PlayerRateLimiter rateLimiter;
+    private final PendingFriendRequestIndex pendingFriendRequests;
+    private final SocialEventMetrics metrics;
+    private final boolean asyncResponses;
 
-    public SocialEventController(SocialEventProducer eventProducer, ObjectMapper objectMapper) {
+    public SocialEventController(
+            SocialEventProducer eventProducer,
+            ObjectMapper objectMapper,
+            Validator validator,
+            PlayerRateLimiter rateLimiter,
+            PendingFriendRequestIndex pendingFriendRequests,
+            SocialEventMetrics metrics,
+            @Value("${app.api.async-responses:true}") boolean asyncResponses) {
         this.eventProducer = eventProducer;
         this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.rateLimiter = rateLimiter;
+        this.pendingFriendRequests = pendingFriendRequests;
+        this.metrics = metrics;
+        this.asyncResponses = asyncResponses;
     }
 
     @PostMapping("/friend-request")
-    public ResponseEntity<SocialEventResponse> sendFriendRequest(@Valid @RequestBody FriendRequestRequest request) {
+    public CompletableFuture<ResponseEntity<SocialEventResponse>> sendFriendRequest(@Valid @RequestBody FriendRequestRequest request) {
         log.debug("Processing friend request event from player: {} to player: {}", 
             request.requesterId(), request.targetId());
         return handleSocialEvent(
@@ -49,10 +94,20 @@ public ResponseEntity<SocialEventResponse> sendFriendRequest(@Valid @RequestBody
         );
     }
 
+    /**
+     * Rejects with 409 when the requester has no open friend request to the acceptor.
+     */
     @PostMapping("/friend-acceptance")
-    public ResponseEntity<SocialEventResponse> sendFriendAcceptance(@Valid @RequestBody FriendAcceptanceRequest request) {
+    public CompletableFuture<ResponseEntity<SocialEventResponse>> sendFriendAcceptance(@Valid @RequestBody FriendAcceptanceRequest request) {
         log.debug("Processing friend acceptance event from player: {} to player: {}", 
             request.acceptorId(), request.requesterId());
+        if (!pendingFriendRequests.isAcceptable(request.requesterId(), request.acceptorId())) {
+            log.debug("No pending friend request from player: {} to player: {}",
+                request.requesterId(), request.acceptorId());
+            metrics.recordResult(SocialEventType.FRIEND_ACCEPTED, Outcome.NO_PENDING_REQUEST);
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(SocialEventResponse.error(SocialEventType.FRIEND_ACCEPTED, request.acceptorId(), NO_PENDING_REQUEST_MESSAGE)));
+        }
         return handleSocialEvent(
         		() -> eventProducer.sendFriendAcceptanceEvent(
         				request.acceptorId(),
@@ -63,7 +118,7 @@ public ResponseEntity<SocialEventResponse> sendFriendAcceptance(@Valid @RequestB
     }
 
     @PostMapping("/new-follower")
-    public ResponseEntity<SocialEventResponse> sendNewFollower(@Valid @RequestBody NewFollowerRequest request) {
+    public CompletableFuture<ResponseEntity<SocialEventResponse>> sendNewFollower(@Valid @RequestBody NewFollowerRequest request) {
         log.debug("Processing new follower event from player: {} to player: {}", 
             request.followerId(), request.targetId());
         return handleSocialEvent(
@@ -75,36 +130,174 @@ public ResponseEntity<SocialEventResponse> sendNewFollower(@Valid @RequestBody N
         );
     }
     
-    private ResponseEntity<SocialEventResponse> handleSocialEvent(
-            Supplier<CompletableFuture<SendResult<String, String>>> eventSupplier,
+    /**
+     * Accepts a JSON array of {@link SocialEventBatchItem}s of any event type. The body is read
+     * one item at a time, each valid item is handed to the producer as soon as it is parsed, and
+     * the response lists one result per item in submission order. Invalid items fail on their own
+     * without affecting the rest; a syntax error stops parsing, and the items read before it are
+     * still reported, with status 400. Each item is charged to its acting player's rate limit
+     * like a single event, and items past the player's limit fail on their own. Items refused at
+     * the producer's in-flight limit fail straight away rather than holding the request thread,
+     * and the response then carries {@code Retry-After}.
+     */
+    @PostMapping(path = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<ResponseEntity<SocialEventBatchResponse>> sendBatch(InputStream body) throws IOException {
+        List<CompletableFuture<SocialEventResponse>> results = new ArrayList<>();
+        AtomicReference<PublishRejectedException> refused = new AtomicReference<>();
+        boolean malformed = false;
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+                JsonNode node = objectMapper.readTree(parser);
+                results.add(submitBatchItem(node, refused));
+            }
+            if (token != JsonToken.END_ARRAY) {
+                log.warn("Unexpected {} in batch body after {} items", token, results.size());
+                malformed = true;
+            }
+        } catch (JsonProcessingException ex) {
+            log.warn("Malformed batch body after {} items: {}", results.size(), ex.getOriginalMessage());
+            malformed = true;
+        }
+        log.debug("Submitted batch of {} social events", results.size());
+        metrics.recordBatchSize(results.size());
+
+        HttpStatus status = malformed ? HttpStatus.BAD_REQUEST : HttpStatus.ACCEPTED;
+        CompletableFuture<ResponseEntity<SocialEventBatchResponse>> response = CompletableFuture
+            .allOf(results.toArray(CompletableFuture[]::new))
+            .thenApply(ignored -> {
+                SocialEventBatchResponse batch = SocialEventBatchResponse.of(
+                    results.stream().map(CompletableFuture::join).toList());
+                if (batch.failed() > 0) {
+                    log.warn("Batch of {} social events completed with {} failures", results.size(), batch.failed());
+                }
+                ResponseEntity.BodyBuilder builder = ResponseEntity.status(status);
+                PublishRejectedException rejected = refused.get();
+                if (rejected != null) {
+                    builder.header(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, rejected.retryAfter().toSeconds())));
+                }
+                return builder.body(batch);
+            });
+        return asyncResponses ? response : CompletableFuture.completedFuture(response.join());
+    }
+
+    /**
+     * @param refused set when an item is refused at the producer's in-flight limit
+     */
+    private CompletableFuture<SocialEventResponse> submitBatchItem(JsonNode node,
+            AtomicReference<PublishRejectedException> refused) {
+        SocialEventBatchItem item;
+        try {
+            item = objectMapper.treeToValue(node, SocialEventBatchItem.class);
+        } catch (JsonProcessingException ex) {
+            return CompletableFuture.completedFuture(SocialEventResponse.error(null, null, ex.getOriginalMessage()));
+        }
+        Set<ConstraintViolation<SocialEventBatchItem>> violations = validator.validate(item);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+            return CompletableFuture.completedFuture(SocialEventResponse.error(item.type(), item.playerId(), message));
+        }
+        if (item.type() == SocialEventType.FRIEND_ACCEPTED
+                && !pendingFriendRequests.isAcceptable(item.otherPlayerId(), item.playerId())) {
+            metrics.recordResult(item.type(), Outcome.NO_PENDING_REQUEST);
+            return CompletableFuture.completedFuture(
+                SocialEventResponse.error(item.type(), item.playerId(), NO_PENDING_REQUEST_MESSAGE));
+        }
+        if (rateLimiter.tryAcquire(item.playerId()) > 0) {
+            metrics.recordResult(item.type(), Outcome.RATE_LIMITED);
+            return CompletableFuture.completedFuture(
+                SocialEventResponse.error(item.type(), item.playerId(), RATE_LIMITED_MESSAGE));
+        }
+        try {
+            return eventProducer.sendSocialEvent(item.type(), item.playerId(), item.otherPlayerId())
+                .thenApply(this::toSuccessResponse)
+                .exceptionally(ex -> {
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                    if (cause instanceof PublishRejectedException rejected) {
+                        refused.set(rejected);
+                        return SocialEventResponse.error(item.type(), item.playerId(), rejected.getMessage());
+                    }
+                    log.debug("Failed to process batched {} event for player: {}", item.type(), item.playerId(), ex);
+                    return SocialEventResponse.error(item.type(), item.playerId(), ex.getMessage());
+                });
+        } catch (Exception ex) {
+            return CompletableFuture.completedFuture(SocialEventResponse.error(item.type(), item.playerId(), ex.getMessage()));
+        }
+    }
+
+    /**
+     * Completes once the producer future completes. In async mode the request thread is
+     * released straight away and the response is written when the broker acknowledges;
+     * in blocking mode the calling thread waits for the acknowledgement as before.
+     * Players over their rate limit get 429 without the event being published, and events refused
+     * at the producer's in-flight limit get 503; both carry Retry-After.
+     */
+    private CompletableFuture<ResponseEntity<SocialEventResponse>> handleSocialEvent(
+            Supplier<CompletableFuture<SocialEventSendResult>> eventSupplier,
             SocialEventType eventType,
             Long playerId) {
+        long retryAfterNanos = rateLimiter.tryAcquire(playerId);
+        if (retryAfterNanos > 0) {
+            log.debug("Rate limited {} event for player: {}", eventType, playerId);
+            metrics.recordResult(eventType, Outcome.RATE_LIMITED);
+            return CompletableFuture.completedFuture(buildRateLimitedResponse(eventType, playerId, retryAfterNanos));
+        }
+        CompletableFuture<ResponseEntity<SocialEventResponse>> response;
         try {
-            SendResult<String, String> result = eventSupplier.get().join();
-            log.debug("Successfully processed {} event for player: {}", eventType, playerId);
-            return buildSuccessResponse(result);
+            response = eventSupplier.get()
+                .thenApply(result -> {
+                    log.debug("Successfully processed {} event for player: {}", eventType, playerId);
+                    return buildSuccessResponse(result);
+                })
+                .exceptionally(ex -> {
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                    if (cause instanceof PublishRejectedException rejected) {
+                        return buildRejectedResponse(eventType, playerId, rejected);
+                    }
+                    log.error("Failed to process {} event for player: {}", eventType, playerId, ex);
+                    return buildErrorResponse(eventType, playerId, ex.getMessage());
+                });
         } catch (Exception ex) {
             log.error("Failed to process {} event for player: {}", eventType, playerId, ex);
-            return buildErrorResponse(eventType, playerId, ex.getMessage());
+            response = CompletableFuture.completedFuture(buildErrorResponse(eventType, playerId, ex.getMessage()));
         }
+        return asyncResponses ? response : CompletableFuture.completedFuture(response.join());
     }
 
-    private ResponseEntity<SocialEventResponse> buildSuccessResponse(SendResult<String, String> result) {
-        try {
-            SocialEvent event = objectMapper.readValue(result.getProducerRecord().value(), SocialEvent.class);
-            return ResponseEntity.accepted().body(
-        		SocialEventResponse.success(
-                    event.eventId(),
-                    event.category(),
-                    event.eventType(),
-                    event.timestamp(),
-                    event.playerId()
-                )
-            );
-        } catch (Exception e) {
-            log.error("Failed to deserialize event response", e);
-            throw new RuntimeException("Failed to process response: " + e.getMessage(), e);
-        }
+    private ResponseEntity<SocialEventResponse> buildSuccessResponse(SocialEventSendResult result) {
+        return ResponseEntity.accepted().body(toSuccessResponse(result));
+    }
+
+    private SocialEventResponse toSuccessResponse(SocialEventSendResult result) {
+        SocialEvent event = result.event();
+        return SocialEventResponse.success(
+            event.eventId(),
+            event.category(),
+            event.eventType(),
+            event.timestamp(),
+            event.playerId()
+        );
+    }
+
+    private ResponseEntity<SocialEventResponse> buildRateLimitedResponse(
+            SocialEventType eventType, Long playerId, long retryAfterNanos) {
+        long retryAfterSeconds = Math.max(1, (retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+            .body(SocialEventResponse.error(eventType, playerId, RATE_LIMITED_MESSAGE));
+    }
+
+    private ResponseEntity<SocialEventResponse> buildRejectedResponse(
+            SocialEventType eventType, Long playerId, PublishRejectedException rejected) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, rejected.retryAfter().toSeconds())))
+            .body(SocialEventResponse.error(eventType, playerId, rejected.getMessage()));
     }
 
     private ResponseEntity<SocialEventResponse> buildErrorResponse(
@@ -0,0 +1,57 @@
+package io.gaming.platform.socialservice.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.gaming.platform.socialservice.stream.SocialEventStreamHub;
+
+/**
+ * Server-Sent Events stream of the social events addressed to a player. Each event is sent with
+ * its ID, its type as the event name and the event as JSON data.
+ */
+@RestController
+@RequestMapping("/api/v1/social-events")
+@ConditionalOnProperty(name = "app.stream.enabled", havingValue = "true")
+public class SocialEventStreamController {
+    private static final Logger log = LoggerFactory.getLogger(SocialEventStreamController.class);
+
+    private final SocialEventStreamHub hub;
+    private final String retryAfterSeconds;
+
+    public SocialEventStreamController(
+            SocialEventStreamHub hub,
+            @Value("${app.stream.retry-after-seconds:5}") int retryAfterSeconds) {
+        this.hub = hub;
+        this.retryAfterSeconds = Integer.toString(retryAfterSeconds);
+    }
+
+    /**
+     * Returns 503 with Retry-After when the node already holds {@code app.stream.max-subscribers} streams.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(@RequestParam Long playerId) {
+        SseEmitter emitter = hub.subscribe(playerId);
+        if (emitter == null) {
+            log.debug("Refused stream for player: {}, node is at its subscriber limit", playerId);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds)
+                .build();
+        }
+        log.debug("Opened social event stream for player: {}", playerId);
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+            .header("X-Accel-Buffering", "no")
+            .body(emitter);
+    }
+}
@@ -0,0 +1,100 @@
+package io.gaming.platform.socialservice.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.gaming.platform.socialservice.dto.FriendshipResponse;
+import io.gaming.platform.socialservice.dto.PlayerConnectionsResponse;
+import io.gaming.platform.socialservice.graph.SocialGraph;
+import io.gaming.platform.socialservice.graph.SocialGraphConsumer;
+
+/**
+ * Read endpoints over the materialized {@link SocialGraph}. Lists are paged in ascending player
+ * ID order with {@code after} and {@code limit}; for mutual friends {@code total} is the number
+ * returned. Until the consumer has caught up with the topic the graph is incomplete, so every
+ * endpoint answers {@code 503 Service Unavailable} with a {@code Retry-After} header instead.
+ */
+@RestController
+@RequestMapping("/api/v1/social-graph/players/{playerId}")
+@ConditionalOnProperty(name = "app.graph.enabled", havingValue = "true")
+public class SocialGraphController {
+    private static final int MAX_LIMIT = 10_000;
+    private static final String CATCH_UP_RETRY_AFTER_SECONDS = "5";
+
+    private final SocialGraph graph;
+    private final SocialGraphConsumer consumer;
+
+    public SocialGraphController(SocialGraph graph, SocialGraphConsumer consumer) {
+        this.graph = graph;
+        this.consumer = consumer;
+    }
+
+    @GetMapping("/friends")
+    public ResponseEntity<PlayerConnectionsResponse> getFriends(
+            @PathVariable long playerId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "1000") int limit) {
+        if (!consumer.isCaughtUp()) {
+            return catchingUp();
+        }
+        if (limit < 0 || limit > MAX_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(new PlayerConnectionsResponse(
+            playerId, graph.friendCount(playerId), graph.friends(playerId, after, limit)));
+    }
+
+    @GetMapping("/followers")
+    public ResponseEntity<PlayerConnectionsResponse> getFollowers(
+            @PathVariable long playerId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "1000") int limit) {
+        if (!consumer.isCaughtUp()) {
+            return catchingUp();
+        }
+        if (limit < 0 || limit > MAX_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(new PlayerConnectionsResponse(
+            playerId, graph.followerCount(playerId), graph.followers(playerId, after, limit)));
+    }
+
+    @GetMapping("/friends/{otherPlayerId}")
+    public ResponseEntity<FriendshipResponse> areFriends(
+            @PathVariable long playerId,
+            @PathVariable long otherPlayerId) {
+        if (!consumer.isCaughtUp()) {
+            return catchingUp();
+        }
+        return ResponseEntity.ok(new FriendshipResponse(
+            playerId, otherPlayerId, graph.areFriends(playerId, otherPlayerId)));
+    }
+
+    @GetMapping("/mutual-friends/{otherPlayerId}")
+    public ResponseEntity<PlayerConnectionsResponse> getMutualFriends(
+            @PathVariable long playerId,
+            @PathVariable long otherPlayerId,
+            @RequestParam(defaultValue = "1000") int limit) {
+        if (!consumer.isCaughtUp()) {
+            return catchingUp();
+        }
+        if (limit < 0 || limit > MAX_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        long[] mutual = graph.mutualFriends(playerId, otherPlayerId, limit);
+        return ResponseEntity.ok(new PlayerConnectionsResponse(playerId, mutual.length, mutual));
+    }
+
+    private static <T> ResponseEntity<T> catchingUp() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, CATCH_UP_RETRY_AFTER_SECONDS)
+            .build();
+    }
+}
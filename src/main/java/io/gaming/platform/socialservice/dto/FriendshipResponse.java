@@ -0,0 +1,8 @@
+package io.gaming.platform.socialservice.dto;
+
+public record FriendshipResponse(
+    Long playerId,
+    Long otherPlayerId,
+    boolean friends
+) {
+}
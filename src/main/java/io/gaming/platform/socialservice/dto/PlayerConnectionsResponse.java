@@ -0,0 +1,12 @@
+package io.gaming.platform.socialservice.dto;
+
+/**
+ * One page of a player's friends or followers. {@code playerIds} is ascending; pass its last
+ * element as {@code after} to fetch the next page. {@code total} counts all of them.
+ */
+public record PlayerConnectionsResponse(
+    Long playerId,
+    int total,
+    long[] playerIds
+) {
+}
@@ -0,0 +1,19 @@
+package io.gaming.platform.socialservice.dto;
+
+import io.gaming.platform.socialservice.model.SocialEventType;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * One entry of a batch submission. {@code playerId} is the acting player (requester,
+ * acceptor or follower) and {@code otherPlayerId} the player the event is addressed to.
+ */
+public record SocialEventBatchItem(
+    @NotNull(message = "Event type is required")
+    SocialEventType type,
+
+    @NotNull(message = "Player ID is required")
+    Long playerId,
+
+    @NotNull(message = "Other player ID is required")
+    Long otherPlayerId
+) {}
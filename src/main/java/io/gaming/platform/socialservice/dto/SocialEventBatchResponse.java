@@ -0,0 +1,17 @@
+package io.gaming.platform.socialservice.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a batch submission. {@code results} is in the same order as the submitted items.
+ */
+public record SocialEventBatchResponse(
+    int accepted,
+    int failed,
+    List<SocialEventResponse> results
+) {
+    public static SocialEventBatchResponse of(List<SocialEventResponse> results) {
+        int accepted = (int) results.stream().filter(SocialEventResponse::isSuccess).count();
+        return new SocialEventBatchResponse(accepted, results.size() - accepted, results);
+    }
+}
@@ -0,0 +1,23 @@
+package io.gaming.platform.socialservice.eventid;
+
+import java.util.UUID;
+
+/**
+ * Source of {@link io.gaming.platform.socialservice.model.SocialEvent} ids. Every id must be
+ * readable by {@link EventIds#toUuid(String)}, which is how the binary format and the
+ * deduplicator store it.
+ */
+@FunctionalInterface
+public interface EventIdGenerator {
+
+    /**
+     * Random (version 4) UUIDs from {@link UUID#randomUUID()}, the original ids. Each one draws
+     * from the shared {@code SecureRandom}.
+     */
+    EventIdGenerator RANDOM_UUID = epochMillis -> UUID.randomUUID().toString();
+
+    /**
+     * @param epochMillis the event's timestamp, which time-ordered ids embed
+     */
+    String nextId(long epochMillis);
+}
@@ -0,0 +1,33 @@
+package io.gaming.platform.socialservice.eventid;
+
+import java.util.UUID;
+
+/**
+ * Converts event ids to and from 128 bits. UUIDs map to their own bits; a Snowflake id maps to
+ * {@code (0, id)}, which no UUID version can produce since the version lives in the high half.
+ */
+public final class EventIds {
+
+    private EventIds() {
+    }
+
+    /**
+     * @throws IllegalArgumentException if the id is neither a UUID nor a positive decimal long
+     */
+    public static UUID toUuid(String eventId) {
+        if (eventId.indexOf('-') >= 0) {
+            return UUID.fromString(eventId);
+        }
+        long id = Long.parseLong(eventId);
+        if (id <= 0) {
+            throw new IllegalArgumentException("Event id is not a positive Snowflake id: " + eventId);
+        }
+        return new UUID(0, id);
+    }
+
+    public static String toString(long mostSignificantBits, long leastSignificantBits) {
+        return mostSignificantBits == 0
+            ? Long.toString(leastSignificantBits)
+            : new UUID(mostSignificantBits, leastSignificantBits).toString();
+    }
+}
@@ -0,0 +1,45 @@
+package io.gaming.platform.socialservice.eventid;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snowflake-style 64-bit ids written as decimal: 41 bits of milliseconds since 2024-01-01T00:00Z,
+ * a 10-bit node id and a 12-bit sequence. Ids are strictly increasing per node, so every instance
+ * publishing to the topic needs its own node id.
+ * <p>
+ * The last issued (milliseconds, sequence) pair is a single {@link AtomicLong} advanced by CAS.
+ * When the sequence is exhausted, or the clock steps back, ids continue from the next
+ * millisecond after the last one issued rather than waiting for the clock.
+ */
+public final class SnowflakeEventIdGenerator implements EventIdGenerator {
+
+    public static final int MAX_NODE_ID = (1 << 10) - 1;
+
+    static final long EPOCH_MILLIS = 1_704_067_200_000L;
+    private static final int SEQUENCE_BITS = 12;
+    private static final int NODE_BITS = 10;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long node;
+    // (milliseconds since EPOCH_MILLIS << SEQUENCE_BITS) | sequence of the last id issued
+    private final AtomicLong last = new AtomicLong();
+
+    public SnowflakeEventIdGenerator(int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Snowflake node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.node = (long) nodeId << SEQUENCE_BITS;
+    }
+
+    @Override
+    public String nextId(long epochMillis) {
+        return Long.toString(nextLong(epochMillis));
+    }
+
+    long nextLong(long epochMillis) {
+        long now = (epochMillis - EPOCH_MILLIS) << SEQUENCE_BITS;
+        // Overflowing the sequence carries into the milliseconds.
+        long next = last.accumulateAndGet(now, (previous, current) -> Math.max(current, previous + 1));
+        return (next & ~SEQUENCE_MASK) << NODE_BITS | node | (next & SEQUENCE_MASK);
+    }
+}
@@ -0,0 +1,23 @@
+package io.gaming.platform.socialservice.eventid;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Time-ordered version 7 UUIDs (RFC 9562): 48 bits of epoch milliseconds followed by 74 random
+ * bits from {@link ThreadLocalRandom}, so nothing is shared between threads. Ids sort by
+ * millisecond; within one millisecond their order is random.
+ */
+public final class UuidV7EventIdGenerator implements EventIdGenerator {
+
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000_0000_0000_0000L;
+
+    @Override
+    public String nextId(long epochMillis) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long high = (epochMillis & 0xFFFF_FFFF_FFFFL) << 16 | VERSION | (random.nextLong() & 0x0FFFL);
+        long low = VARIANT | (random.nextLong() & 0x3FFF_FFFF_FFFF_FFFFL);
+        return new UUID(high, low).toString();
+    }
+}
@@ -0,0 +1,244 @@
+package io.gaming.platform.socialservice.friendrequest;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.gaming.platform.socialservice.model.SocialEvent;
+import io.gaming.platform.socialservice.model.SocialEventType;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Friend requests that have been sent and not yet accepted, so an acceptance without a matching
+ * request can be rejected before it is published.
+ * <p>
+ * Each open request takes one 24-byte slot {@code [requester][target][expires at]} in a fixed,
+ * 8-way set-associative {@code long[]}; the set is chosen by a hash of the packed
+ * (requester, target) pair. Requests expire {@code ttl} after they were sent, by event timestamp,
+ * so every instance and a replay of the topic agree on what is still open. A full set evicts the
+ * request closest to expiry, which bounds the heap at {@code max-pending} requests.
+ * <p>
+ * Until the index has been rebuilt from the topic it cannot tell a missing request from one it has
+ * not read yet, so acceptances are let through.
+ */
+@Component
+public class PendingFriendRequestIndex implements MeterBinder {
+
+    private static final int WAYS = 8;
+    private static final int STRIPES = 256;
+    private static final String OTHER_PLAYER_ID = "otherPlayerId";
+
+    // Slot layout, in longs.
+    private static final int SLOT_SIZE = 3;
+    private static final int REQUESTER = 0;
+    private static final int TARGET = 1;
+    private static final int EXPIRES_AT = 2;    // epoch millis, 0 marks a free slot
+
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final long[] slots;
+    private final int setMask;
+    private final Object[] locks = new Object[STRIPES];
+    private volatile boolean loaded;
+
+    private final LongAdder matched = new LongAdder();
+    private final LongAdder unmatched = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public PendingFriendRequestIndex(
+            @Value("${app.friend-requests.validate-acceptance:true}") boolean enabled,
+            @Value("${app.friend-requests.ttl:7d}") Duration ttl,
+            @Value("${app.friend-requests.max-pending:2097152}") int maxPending) {
+        if (maxPending < WAYS) {
+            throw new IllegalArgumentException("app.friend-requests.max-pending must be at least " + WAYS);
+        }
+        this.enabled = enabled;
+        this.ttlMillis = ttl.toMillis();
+        int sets = Integer.highestOneBit(Math.max(1, maxPending / WAYS));
+        this.setMask = sets - 1;
+        this.slots = new long[enabled ? sets * WAYS * SLOT_SIZE : 0];
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Records a {@code FRIEND_REQUEST} as open and closes the request a {@code FRIEND_ACCEPTED}
+     * answers. Other events are ignored.
+     */
+    public void apply(SocialEvent event) {
+        if (!enabled || event.playerId() == null || event.timestamp() == null
+                || !(event.eventData().get(OTHER_PLAYER_ID) instanceof Number other)) {
+            return;
+        }
+        switch (event.eventType()) {
+            case FRIEND_REQUEST -> open(event.playerId(), other.longValue(), event.timestamp().toEpochMilli() + ttlMillis);
+            case FRIEND_ACCEPTED -> close(other.longValue(), event.playerId());
+            default -> { }
+        }
+    }
+
+    /**
+     * Records a {@code FRIEND_REQUEST} as open when it is submitted for publishing, ahead of reading
+     * it back from the topic, so an acceptance submitted right behind it is let through.
+     *
+     * @return whether the request was not open yet, and is to be withdrawn if publishing it fails
+     */
+    public boolean submit(SocialEvent request) {
+        if (!enabled || request.eventType() != SocialEventType.FRIEND_REQUEST || request.playerId() == null
+                || request.timestamp() == null || !(request.eventData().get(OTHER_PLAYER_ID) instanceof Number other)) {
+            return false;
+        }
+        return open(request.playerId(), other.longValue(), request.timestamp().toEpochMilli() + ttlMillis);
+    }
+
+    /**
+     * Closes a request opened by {@link #submit} that could not be published.
+     */
+    public void withdraw(SocialEvent request) {
+        if (!enabled || request.playerId() == null
+                || !(request.eventData().get(OTHER_PLAYER_ID) instanceof Number other)) {
+            return;
+        }
+        close(request.playerId(), other.longValue());
+    }
+
+    /**
+     * Whether an acceptance by {@code targetId} of a request from {@code requesterId} may be
+     * published: validation is off, the index is still being rebuilt, or the request is open.
+     */
+    public boolean isAcceptable(long requesterId, long targetId) {
+        if (!enabled || !loaded) {
+            return true;
+        }
+        if (isPending(requesterId, targetId)) {
+            matched.increment();
+            return true;
+        }
+        unmatched.increment();
+        return false;
+    }
+
+    public boolean isPending(long requesterId, long targetId) {
+        if (!enabled) {
+            return false;
+        }
+        int set = set(requesterId, targetId);
+        long now = System.currentTimeMillis();
+        synchronized (locks[set & (STRIPES - 1)]) {
+            return find(set, requesterId, targetId, now) >= 0;
+        }
+    }
+
+    /**
+     * Called once the index has read the topic up to where it was at startup.
+     */
+    public void markLoaded() {
+        loaded = true;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    public int capacity() {
+        return slots.length / SLOT_SIZE;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("social.friend_requests.acceptances", matched, LongAdder::sum)
+            .tag("result", "matched")
+            .description("Acceptances checked against an open friend request")
+            .register(registry);
+        FunctionCounter.builder("social.friend_requests.acceptances", unmatched, LongAdder::sum)
+            .tag("result", "unmatched")
+            .description("Acceptances rejected because no friend request was open")
+            .register(registry);
+        FunctionCounter.builder("social.friend_requests.evictions", this, PendingFriendRequestIndex::evictions)
+            .description("Open friend requests evicted before their TTL because their set was full")
+            .register(registry);
+        Gauge.builder("social.friend_requests.capacity", this, PendingFriendRequestIndex::capacity)
+            .register(registry);
+    }
+
+    /**
+     * @return whether a new slot was taken, as opposed to extending an open request or ignoring an
+     *         expired one
+     */
+    private boolean open(long requester, long target, long expiresAt) {
+        int set = set(requester, target);
+        long now = System.currentTimeMillis();
+        if (expiresAt <= now) {
+            return false;
+        }
+        synchronized (locks[set & (STRIPES - 1)]) {
+            int existing = find(set, requester, target, now);
+            if (existing >= 0) {
+                slots[existing + EXPIRES_AT] = Math.max(slots[existing + EXPIRES_AT], expiresAt);
+                return false;
+            }
+            int base = set * WAYS * SLOT_SIZE;
+            int victim = base;
+            long victimExpiry = Long.MAX_VALUE;
+            for (int way = 0; way < WAYS; way++) {
+                int slot = base + way * SLOT_SIZE;
+                long expiry = slots[slot + EXPIRES_AT] > now ? slots[slot + EXPIRES_AT] : Long.MIN_VALUE;
+                if (expiry < victimExpiry) {
+                    victim = slot;
+                    victimExpiry = expiry;
+                }
+            }
+            if (victimExpiry != Long.MIN_VALUE) {
+                evictions.increment();
+            }
+            slots[victim + REQUESTER] = requester;
+            slots[victim + TARGET] = target;
+            slots[victim + EXPIRES_AT] = expiresAt;
+            return true;
+        }
+    }
+
+    private void close(long requester, long target) {
+        int set = set(requester, target);
+        synchronized (locks[set & (STRIPES - 1)]) {
+            int slot = find(set, requester, target, System.currentTimeMillis());
+            if (slot >= 0) {
+                slots[slot + EXPIRES_AT] = 0;
+            }
+        }
+    }
+
+    private int find(int set, long requester, long target, long now) {
+        int base = set * WAYS * SLOT_SIZE;
+        for (int way = 0; way < WAYS; way++) {
+            int slot = base + way * SLOT_SIZE;
+            if (slots[slot + EXPIRES_AT] > now
+                    && slots[slot + REQUESTER] == requester && slots[slot + TARGET] == target) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private int set(long requester, long target) {
+        long h = requester * 0x9E3779B97F4A7C15L ^ target * 0xC2B2AE3D27D4EB4FL;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (int) h & setMask;
+    }
+}
@@ -0,0 +1,184 @@
+package io.gaming.platform.socialservice.friendrequest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndTimestamp;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.RecordDeserializationException;
+import org.apache.kafka.common.errors.WakeupException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Component;
+
+import io.gaming.platform.socialservice.model.SocialEvent;
+
+/**
+ * Feeds the {@link PendingFriendRequestIndex} from the social events topic, so it sees requests
+ * and acceptances published by every instance.
+ * <p>
+ * On start every partition is read from the first record within the request TTL, found by
+ * timestamp, so the rebuild only replays requests that can still be open. Once the end of the
+ * topic as of startup is reached the index is marked loaded and acceptances start being checked;
+ * the loader then keeps tailing the topic.
+ */
+@Component
+public class PendingFriendRequestLoader implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(PendingFriendRequestLoader.class);
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+    private static final long INITIAL_BACKOFF_MS = 100;
+    private static final long MAX_BACKOFF_MS = 10_000;
+
+    private final PendingFriendRequestIndex index;
+    private final ConsumerFactory<String, SocialEvent> consumerFactory;
+    private final String topicName;
+    private final long ttlMillis;
+
+    private final Map<TopicPartition, Long> positions = new HashMap<>();
+    private volatile boolean running;
+    private volatile Consumer<String, SocialEvent> consumer;
+    private Thread loaderThread;
+
+    public PendingFriendRequestLoader(
+            PendingFriendRequestIndex index,
+            ConsumerFactory<String, SocialEvent> socialEventConsumerFactory,
+            @Value("${app.kafka.topic}") String topicName,
+            @Value("${app.friend-requests.ttl:7d}") Duration ttl) {
+        this.index = index;
+        this.consumerFactory = socialEventConsumerFactory;
+        this.topicName = topicName;
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    @Override
+    public void start() {
+        if (!index.isEnabled()) {
+            return;
+        }
+        running = true;
+        loaderThread = Thread.ofPlatform().name("friend-request-loader").daemon().start(this::loadLoop);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Consumer<String, SocialEvent> current = consumer;
+        if (current != null) {
+            current.wakeup();
+        }
+        if (loaderThread != null) {
+            try {
+                loaderThread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void loadLoop() {
+        long backoffMs = INITIAL_BACKOFF_MS;
+        while (running) {
+            try (Consumer<String, SocialEvent> kafkaConsumer = consumerFactory.createConsumer(null, "friend-request-loader", null)) {
+                consumer = kafkaConsumer;
+                Map<TopicPartition, Long> endOffsets = assign(kafkaConsumer);
+                backoffMs = INITIAL_BACKOFF_MS;
+                consume(kafkaConsumer, endOffsets);
+            } catch (WakeupException e) {
+                // stop() woke the consumer
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Friend request loader failed, retrying in {} ms: {}", backoffMs, e.getMessage());
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+            } finally {
+                consumer = null;
+            }
+        }
+    }
+
+    /**
+     * Resumes where a previous attempt stopped, otherwise at the first record within the TTL.
+     */
+    private Map<TopicPartition, Long> assign(Consumer<String, SocialEvent> kafkaConsumer) {
+        List<TopicPartition> partitions = kafkaConsumer.partitionsFor(topicName).stream()
+            .map(info -> new TopicPartition(topicName, info.partition()))
+            .toList();
+        kafkaConsumer.assign(partitions);
+        Map<TopicPartition, Long> since = new HashMap<>();
+        for (TopicPartition partition : partitions) {
+            if (!positions.containsKey(partition)) {
+                since.put(partition, System.currentTimeMillis() - ttlMillis);
+            }
+        }
+        Map<TopicPartition, OffsetAndTimestamp> found = since.isEmpty() ? Map.of() : kafkaConsumer.offsetsForTimes(since);
+        for (TopicPartition partition : partitions) {
+            Long position = positions.get(partition);
+            OffsetAndTimestamp first = found.get(partition);
+            if (position != null) {
+                kafkaConsumer.seek(partition, position);
+            } else if (first != null) {
+                kafkaConsumer.seek(partition, first.offset());
+            } else {
+                kafkaConsumer.seekToEnd(List.of(partition));
+            }
+        }
+        return kafkaConsumer.endOffsets(partitions);
+    }
+
+    private void consume(Consumer<String, SocialEvent> kafkaConsumer, Map<TopicPartition, Long> endOffsets) {
+        long started = System.nanoTime();
+        long applied = 0;
+        while (running) {
+            try {
+                for (ConsumerRecord<String, SocialEvent> record : kafkaConsumer.poll(POLL_TIMEOUT)) {
+                    if (record.value() != null) {
+                        index.apply(record.value());
+                        applied++;
+                    }
+                    positions.put(new TopicPartition(record.topic(), record.partition()), record.offset() + 1);
+                }
+            } catch (RecordDeserializationException e) {
+                log.warn("Skipping undecodable record at {} offset {}: {}",
+                    e.topicPartition(), e.offset(), e.getMessage());
+                kafkaConsumer.seek(e.topicPartition(), e.offset() + 1);
+                positions.put(e.topicPartition(), e.offset() + 1);
+                continue;
+            }
+            if (!index.isLoaded() && reached(kafkaConsumer, endOffsets)) {
+                index.markLoaded();
+                log.info("Rebuilt pending friend requests from {} events of {} in {} ms",
+                    applied, topicName, (System.nanoTime() - started) / 1_000_000);
+            }
+        }
+    }
+
+    private static boolean reached(Consumer<String, SocialEvent> kafkaConsumer, Map<TopicPartition, Long> endOffsets) {
+        for (Map.Entry<TopicPartition, Long> end : endOffsets.entrySet()) {
+            if (kafkaConsumer.position(end.getKey()) < end.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
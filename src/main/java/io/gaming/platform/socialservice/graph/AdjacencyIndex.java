@@ -0,0 +1,320 @@
+package io.gaming.platform.socialservice.graph;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * One directed relation between players, as a primitive {@code long[]} of neighbours per player.
+ * <p>
+ * Players are spread over striped open-addressing tables guarded by read-write locks. Appends go
+ * to the end of a player's array and only the sorted, de-duplicated prefix is searched; a reader
+ * that finds unsorted entries sorts the array once under the write lock. A relation with tens of
+ * millions of edges therefore costs 8 bytes per edge plus per-player overhead, inserts are
+ * amortised O(1) even for players with millions of followers, and lookups are a binary search.
+ */
+final class AdjacencyIndex {
+
+    static final long[] EMPTY = new long[0];
+
+    private static final int STRIPES = 64;
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    AdjacencyIndex() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * @return {@code false} if the edge was already present
+     */
+    boolean add(long player, long other) {
+        Stripe stripe = stripe(player);
+        stripe.lock.writeLock().lock();
+        try {
+            return stripe.add(player, other);
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces a player's neighbours with an already sorted, distinct array, as read from a snapshot.
+     */
+    void put(long player, long[] sortedNeighbours) {
+        Stripe stripe = stripe(player);
+        stripe.lock.writeLock().lock();
+        try {
+            stripe.put(player, sortedNeighbours);
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+    }
+
+    boolean contains(long player, long other) {
+        return read(player, false, (stripe, slot) ->
+            Arrays.binarySearch(stripe.values[slot], 0, stripe.sizes[slot], other) >= 0);
+    }
+
+    int degree(long player) {
+        return read(player, 0, (stripe, slot) -> stripe.sizes[slot]);
+    }
+
+    /**
+     * Up to {@code limit} neighbours greater than {@code after} (all of them if {@code null}), ascending.
+     */
+    long[] neighbours(long player, Long after, int limit) {
+        return read(player, EMPTY, (stripe, slot) -> {
+            long[] values = stripe.values[slot];
+            int size = stripe.sizes[slot];
+            int from = 0;
+            if (after != null) {
+                int found = Arrays.binarySearch(values, 0, size, after);
+                from = found >= 0 ? found + 1 : -(found + 1);
+            }
+            return Arrays.copyOfRange(values, from, from + Math.min(limit, size - from));
+        });
+    }
+
+    long edgeCount() {
+        long edges = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.readLock().lock();
+            try {
+                edges += stripe.edges;
+            } finally {
+                stripe.lock.readLock().unlock();
+            }
+        }
+        return edges;
+    }
+
+    long playerCount() {
+        long players = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.readLock().lock();
+            try {
+                players += stripe.count;
+            } finally {
+                stripe.lock.readLock().unlock();
+            }
+        }
+        return players;
+    }
+
+    void clear() {
+        for (Stripe stripe : stripes) {
+            stripe.lock.writeLock().lock();
+            try {
+                stripe.reset(16);
+            } finally {
+                stripe.lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Visits every player with a sorted view of its neighbours, one stripe at a time. Only the
+     * stripe being visited is locked, and only against writers.
+     */
+    void forEach(Visitor visitor) throws IOException {
+        for (Stripe stripe : stripes) {
+            stripe.lock.writeLock().lock();
+            stripe.normalizeAll();
+            stripe.lock.readLock().lock();
+            stripe.lock.writeLock().unlock();
+            try {
+                for (int slot = 0; slot < stripe.keys.length; slot++) {
+                    if (stripe.values[slot] != null) {
+                        visitor.visit(stripe.keys[slot], stripe.values[slot], stripe.sizes[slot]);
+                    }
+                }
+            } finally {
+                stripe.lock.readLock().unlock();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface Visitor {
+        void visit(long player, long[] neighbours, int size) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface SlotReader<T> {
+        T read(Stripe stripe, int slot);
+    }
+
+    private <T> T read(long player, T absent, SlotReader<T> reader) {
+        Stripe stripe = stripe(player);
+        stripe.lock.readLock().lock();
+        try {
+            int slot = stripe.find(player);
+            if (slot < 0) {
+                return absent;
+            }
+            if (stripe.isSorted(slot)) {
+                return reader.read(stripe, slot);
+            }
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
+        stripe.lock.writeLock().lock();
+        try {
+            int slot = stripe.find(player);
+            if (slot < 0) {
+                return absent;
+            }
+            stripe.normalize(slot);
+            return reader.read(stripe, slot);
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+    }
+
+    private Stripe stripe(long player) {
+        return stripes[(int) (mix(player) >>> 58)];
+    }
+
+    private static long mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 29);
+    }
+
+    private static final class Stripe {
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        long[] keys;
+        long[][] values;     // null marks a free slot
+        int[] sizes;
+        int[] sorted;        // length of the sorted, distinct prefix
+        int count;
+        long edges;
+
+        Stripe() {
+            reset(16);
+        }
+
+        void reset(int capacity) {
+            keys = new long[capacity];
+            values = new long[capacity][];
+            sizes = new int[capacity];
+            sorted = new int[capacity];
+            count = 0;
+            edges = 0;
+        }
+
+        int find(long key) {
+            int mask = keys.length - 1;
+            for (int i = (int) mix(key) & mask; values[i] != null; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private int slotFor(long key) {
+            if ((count + 1) * 2 > keys.length) {
+                grow();
+            }
+            int mask = keys.length - 1;
+            int i = (int) mix(key) & mask;
+            while (values[i] != null && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            if (values[i] == null) {
+                keys[i] = key;
+                values[i] = EMPTY;
+                count++;
+            }
+            return i;
+        }
+
+        boolean add(long player, long other) {
+            int slot = slotFor(player);
+            long[] list = values[slot];
+            int size = sizes[slot];
+            if (Arrays.binarySearch(list, 0, sorted[slot], other) >= 0) {
+                return false;
+            }
+            if (size == list.length) {
+                list = Arrays.copyOf(list, Math.max(INITIAL_CAPACITY, size + (size >> 1)));
+                values[slot] = list;
+            }
+            list[size] = other;
+            sizes[slot] = size + 1;
+            if (sorted[slot] == size && (size == 0 || list[size - 1] < other)) {
+                sorted[slot] = size + 1;
+            }
+            edges++;
+            return true;
+        }
+
+        void put(long player, long[] neighbours) {
+            int slot = slotFor(player);
+            edges += neighbours.length - sizes[slot];
+            values[slot] = neighbours.length == 0 ? EMPTY : neighbours;
+            sizes[slot] = neighbours.length;
+            sorted[slot] = neighbours.length;
+        }
+
+        boolean isSorted(int slot) {
+            return sorted[slot] == sizes[slot];
+        }
+
+        void normalize(int slot) {
+            if (isSorted(slot)) {
+                return;
+            }
+            long[] list = values[slot];
+            int size = sizes[slot];
+            Arrays.sort(list, 0, size);
+            int distinct = 1;
+            for (int i = 1; i < size; i++) {
+                if (list[i] != list[distinct - 1]) {
+                    list[distinct++] = list[i];
+                }
+            }
+            edges -= size - distinct;
+            sizes[slot] = distinct;
+            sorted[slot] = distinct;
+        }
+
+        void normalizeAll() {
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (values[slot] != null) {
+                    normalize(slot);
+                }
+            }
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            long[][] oldValues = values;
+            int[] oldSizes = sizes;
+            int[] oldSorted = sorted;
+            long oldEdges = edges;
+            reset(oldKeys.length * 2);
+            int mask = keys.length - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldValues[j] == null) {
+                    continue;
+                }
+                int i = (int) mix(oldKeys[j]) & mask;
+                while (values[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+                sizes[i] = oldSizes[j];
+                sorted[i] = oldSorted[j];
+                count++;
+            }
+            edges = oldEdges;
+        }
+    }
+}
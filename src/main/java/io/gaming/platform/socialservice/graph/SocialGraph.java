@@ -0,0 +1,132 @@
+package io.gaming.platform.socialservice.graph;
+
+import java.util.Arrays;
+
+import io.gaming.platform.socialservice.model.SocialEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Friendships and follows materialized from published social events.
+ * <p>
+ * A {@code FRIEND_ACCEPTED} event makes both players friends of each other; a
+ * {@code NEW_FOLLOWER} event adds the acting player to the other player's followers, and a
+ * {@code NEW_FOLLOWERS} event every player it lists.
+ * {@code FRIEND_REQUEST} events do not change the graph. Applying an event twice has no effect,
+ * so replaying the topic from an older position is safe.
+ */
+public class SocialGraph implements MeterBinder {
+    private static final String OTHER_PLAYER_ID = "otherPlayerId";
+
+    private final AdjacencyIndex friends = new AdjacencyIndex();
+    private final AdjacencyIndex followers = new AdjacencyIndex();
+
+    public void apply(SocialEvent event) {
+        if (event.playerId() == null || event.eventType() == null
+                || !(event.eventData().get(OTHER_PLAYER_ID) instanceof Number other)) {
+            return;
+        }
+        long player = event.playerId();
+        long otherPlayer = other.longValue();
+        switch (event.eventType()) {
+            case FRIEND_ACCEPTED -> {
+                friends.add(player, otherPlayer);
+                friends.add(otherPlayer, player);
+            }
+            case NEW_FOLLOWER -> followers.add(otherPlayer, player);
+            case NEW_FOLLOWERS -> {
+                for (long follower : event.followerIds()) {
+                    followers.add(otherPlayer, follower);
+                }
+            }
+            case FRIEND_REQUEST -> { }
+        }
+    }
+
+    /**
+     * Up to {@code limit} friends of the player with IDs greater than {@code after}, ascending.
+     */
+    public long[] friends(long playerId, Long after, int limit) {
+        return friends.neighbours(playerId, after, limit);
+    }
+
+    /**
+     * Up to {@code limit} followers of the player with IDs greater than {@code after}, ascending.
+     */
+    public long[] followers(long playerId, Long after, int limit) {
+        return followers.neighbours(playerId, after, limit);
+    }
+
+    public int friendCount(long playerId) {
+        return friends.degree(playerId);
+    }
+
+    public int followerCount(long playerId) {
+        return followers.degree(playerId);
+    }
+
+    public boolean areFriends(long playerId, long otherPlayerId) {
+        return friends.contains(playerId, otherPlayerId);
+    }
+
+    /**
+     * Up to {@code limit} players who are friends of both, ascending. Intersects the smaller
+     * friend list against the larger one by binary search.
+     */
+    public long[] mutualFriends(long playerId, long otherPlayerId, int limit) {
+        long[] a = friends.neighbours(playerId, null, Integer.MAX_VALUE);
+        long[] b = friends.neighbours(otherPlayerId, null, Integer.MAX_VALUE);
+        long[] smaller = a.length <= b.length ? a : b;
+        long[] larger = smaller == a ? b : a;
+        long[] mutual = new long[Math.min(limit, smaller.length)];
+        int count = 0;
+        int from = 0;
+        for (int i = 0; i < smaller.length && count < mutual.length; i++) {
+            int found = Arrays.binarySearch(larger, from, larger.length, smaller[i]);
+            if (found >= 0) {
+                mutual[count++] = smaller[i];
+                from = found + 1;
+            } else {
+                from = -(found + 1);
+            }
+        }
+        return count == mutual.length ? mutual : Arrays.copyOf(mutual, count);
+    }
+
+    /**
+     * Number of friendships, each counted once.
+     */
+    public long friendshipCount() {
+        return friends.edgeCount() / 2;
+    }
+
+    public long followCount() {
+        return followers.edgeCount();
+    }
+
+    public void clear() {
+        friends.clear();
+        followers.clear();
+    }
+
+    AdjacencyIndex friendIndex() {
+        return friends;
+    }
+
+    AdjacencyIndex followerIndex() {
+        return followers;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("social.graph.edges", this, SocialGraph::friendshipCount)
+            .description("Edges in the materialized social graph")
+            .tag("relation", "friend")
+            .register(registry);
+        Gauge.builder("social.graph.edges", this, SocialGraph::followCount)
+            .description("Edges in the materialized social graph")
+            .tag("relation", "follower")
+            .register(registry);
+    }
+}
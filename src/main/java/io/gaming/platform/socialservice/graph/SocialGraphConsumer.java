@@ -0,0 +1,204 @@
+package io.gaming.platform.socialservice.graph;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.RecordDeserializationException;
+import org.apache.kafka.common.errors.WakeupException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.core.ConsumerFactory;
+
+import io.gaming.platform.socialservice.model.SocialEvent;
+
+/**
+ * Keeps the {@link SocialGraph} up to date from the social events topic on a single background
+ * thread.
+ * <p>
+ * Every instance reads every partition, so partitions are assigned directly rather than through
+ * a consumer group and positions are tracked in the graph snapshot instead of committed offsets.
+ * On start the latest snapshot is loaded and consumption resumes from the positions it records;
+ * without one the topic is replayed from the beginning. A snapshot is written every
+ * {@code snapshotInterval} while events arrive, and once more on stop.
+ */
+public class SocialGraphConsumer implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(SocialGraphConsumer.class);
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+    private static final long INITIAL_BACKOFF_MS = 100;
+    private static final long MAX_BACKOFF_MS = 10_000;
+
+    private final SocialGraph graph;
+    private final SocialGraphSnapshotStore snapshots;
+    private final ConsumerFactory<String, SocialEvent> consumerFactory;
+    private final String topicName;
+    private final long snapshotIntervalNanos;
+
+    private final Map<Integer, Long> offsets = new HashMap<>();
+    private volatile boolean running;
+    private volatile boolean caughtUp;
+    private volatile Consumer<String, SocialEvent> consumer;
+    private Thread consumerThread;
+    private boolean dirty;
+
+    public SocialGraphConsumer(
+            SocialGraph graph,
+            SocialGraphSnapshotStore snapshots,
+            ConsumerFactory<String, SocialEvent> consumerFactory,
+            String topicName,
+            Duration snapshotInterval) {
+        this.graph = graph;
+        this.snapshots = snapshots;
+        this.consumerFactory = consumerFactory;
+        this.topicName = topicName;
+        this.snapshotIntervalNanos = snapshotInterval.toNanos();
+    }
+
+    /**
+     * Loads the snapshot on the calling thread, so the graph is populated before the application
+     * reports itself started, then consumes in the background.
+     */
+    @Override
+    public void start() {
+        Map<Integer, Long> snapshotOffsets = snapshots.load(graph, topicName);
+        if (snapshotOffsets != null) {
+            offsets.putAll(snapshotOffsets);
+        }
+        running = true;
+        consumerThread = Thread.ofPlatform().name("social-graph-consumer").daemon().start(this::consumeLoop);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Consumer<String, SocialEvent> current = consumer;
+        if (current != null) {
+            current.wakeup();
+        }
+        if (consumerThread != null) {
+            try {
+                consumerThread.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Whether the graph has reached the end of the topic as it was when consumption started.
+     */
+    public boolean isCaughtUp() {
+        return caughtUp;
+    }
+
+    private void consumeLoop() {
+        long backoffMs = INITIAL_BACKOFF_MS;
+        while (running) {
+            try (Consumer<String, SocialEvent> kafkaConsumer = consumerFactory.createConsumer(null, "social-graph", null)) {
+                consumer = kafkaConsumer;
+                Map<TopicPartition, Long> endOffsets = assign(kafkaConsumer);
+                backoffMs = INITIAL_BACKOFF_MS;
+                consume(kafkaConsumer, endOffsets);
+            } catch (WakeupException e) {
+                // stop() woke the consumer; fall through to the final snapshot
+            } catch (Exception e) {
+                if (!running) {
+                    break;
+                }
+                log.warn("Social graph consumer failed, retrying in {} ms: {}", backoffMs, e.getMessage());
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+            } finally {
+                consumer = null;
+            }
+        }
+        if (dirty) {
+            writeSnapshot();
+        }
+    }
+
+    private Map<TopicPartition, Long> assign(Consumer<String, SocialEvent> kafkaConsumer) {
+        List<TopicPartition> partitions = kafkaConsumer.partitionsFor(topicName).stream()
+            .map(info -> new TopicPartition(topicName, info.partition()))
+            .toList();
+        kafkaConsumer.assign(partitions);
+        for (TopicPartition partition : partitions) {
+            Long next = offsets.get(partition.partition());
+            if (next != null) {
+                kafkaConsumer.seek(partition, next);
+            } else {
+                kafkaConsumer.seekToBeginning(List.of(partition));
+            }
+        }
+        log.info("Social graph consuming {} partitions of {} from {}", partitions.size(), topicName, offsets);
+        return kafkaConsumer.endOffsets(partitions);
+    }
+
+    private void consume(Consumer<String, SocialEvent> kafkaConsumer, Map<TopicPartition, Long> endOffsets) {
+        long nextSnapshot = System.nanoTime() + snapshotIntervalNanos;
+        while (running) {
+            ConsumerRecords<String, SocialEvent> records;
+            try {
+                records = kafkaConsumer.poll(POLL_TIMEOUT);
+            } catch (RecordDeserializationException e) {
+                log.warn("Skipping undecodable record at {} offset {}: {}",
+                    e.topicPartition(), e.offset(), e.getMessage());
+                kafkaConsumer.seek(e.topicPartition(), e.offset() + 1);
+                offsets.put(e.topicPartition().partition(), e.offset() + 1);
+                continue;
+            }
+            for (ConsumerRecord<String, SocialEvent> record : records) {
+                if (record.value() != null) {
+                    graph.apply(record.value());
+                }
+                offsets.put(record.partition(), record.offset() + 1);
+            }
+            dirty |= !records.isEmpty();
+            if (!caughtUp && reached(kafkaConsumer, endOffsets)) {
+                caughtUp = true;
+                log.info("Social graph caught up with {}: {} friendships, {} follows",
+                    topicName, graph.friendshipCount(), graph.followCount());
+            }
+            if (dirty && System.nanoTime() - nextSnapshot >= 0) {
+                writeSnapshot();
+                nextSnapshot = System.nanoTime() + snapshotIntervalNanos;
+            }
+        }
+    }
+
+    private static boolean reached(Consumer<String, SocialEvent> kafkaConsumer, Map<TopicPartition, Long> endOffsets) {
+        for (Map.Entry<TopicPartition, Long> end : endOffsets.entrySet()) {
+            if (kafkaConsumer.position(end.getKey()) < end.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void writeSnapshot() {
+        try {
+            snapshots.write(graph, topicName, offsets);
+            dirty = false;
+        } catch (Exception e) {
+            log.warn("Failed to write social graph snapshot: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package io.gaming.platform.socialservice.graph;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes the {@link SocialGraph} to a single file together with the topic position it reflects,
+ * so a restart loads the file and only replays the records published since.
+ * <p>
+ * Layout: magic, version, topic, the next offset per partition, then each relation as
+ * {@code [player][degree][sorted neighbours...]} entries ended by a degree of {@code -1}, and a
+ * trailing CRC32C of everything before it. The file is written next to the current one and moved
+ * over it once fsynced, so a crash mid-write leaves the previous snapshot in place.
+ */
+public class SocialGraphSnapshotStore {
+    private static final Logger log = LoggerFactory.getLogger(SocialGraphSnapshotStore.class);
+
+    private static final int MAGIC = 0x53475048;     // "SGPH"
+    private static final int VERSION = 1;
+    private static final int END_OF_RELATION = -1;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Path file;
+    private final Path tempFile;
+
+    public SocialGraphSnapshotStore(Path directory) {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot create social graph snapshot directory " + directory, e);
+        }
+        this.file = directory.resolve("social-graph.snapshot");
+        this.tempFile = directory.resolve("social-graph.snapshot.tmp");
+    }
+
+    public void write(SocialGraph graph, String topic, Map<Integer, Long> offsets) throws IOException {
+        long start = System.nanoTime();
+        try (FileOutputStream fileOut = new FileOutputStream(tempFile.toFile())) {
+            CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(fileOut, BUFFER_SIZE), new CRC32C());
+            DataOutputStream out = new DataOutputStream(checked);
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(topic);
+            out.writeInt(offsets.size());
+            for (Map.Entry<Integer, Long> offset : offsets.entrySet()) {
+                out.writeInt(offset.getKey());
+                out.writeLong(offset.getValue());
+            }
+            writeRelation(out, graph.friendIndex());
+            writeRelation(out, graph.followerIndex());
+            out.flush();
+            out.writeInt((int) checked.getChecksum().getValue());
+            out.flush();
+            fileOut.getChannel().force(true);
+        }
+        Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        log.info("Wrote social graph snapshot with {} friendships and {} follows in {} ms",
+            graph.friendshipCount(), graph.followCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Loads the snapshot into an empty graph.
+     *
+     * @return the next offset per partition to consume from, or {@code null} if there is no
+     *         usable snapshot for the topic, in which case the graph is left empty
+     */
+    public Map<Integer, Long> load(SocialGraph graph, String topic) {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        long start = System.nanoTime();
+        try (InputStream fileIn = Files.newInputStream(file)) {
+            CheckedInputStream checked = new CheckedInputStream(new BufferedInputStream(fileIn, BUFFER_SIZE), new CRC32C());
+            DataInputStream in = new DataInputStream(checked);
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                log.warn("Ignoring social graph snapshot {} with unknown format", file);
+                return null;
+            }
+            String snapshotTopic = in.readUTF();
+            if (!snapshotTopic.equals(topic)) {
+                log.warn("Ignoring social graph snapshot of topic {}, consuming {}", snapshotTopic, topic);
+                return null;
+            }
+            int partitions = in.readInt();
+            Map<Integer, Long> offsets = new HashMap<>();
+            for (int i = 0; i < partitions; i++) {
+                offsets.put(in.readInt(), in.readLong());
+            }
+            long maxDegree = Files.size(file) / Long.BYTES;
+            readRelation(in, graph.friendIndex(), maxDegree);
+            readRelation(in, graph.followerIndex(), maxDegree);
+            int expected = (int) checked.getChecksum().getValue();
+            if (in.readInt() != expected) {
+                throw new IOException("checksum mismatch");
+            }
+            log.info("Loaded social graph snapshot with {} friendships and {} follows in {} ms",
+                graph.friendshipCount(), graph.followCount(), (System.nanoTime() - start) / 1_000_000);
+            return offsets;
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable social graph snapshot {}: {}", file, e.getMessage());
+            graph.clear();
+            return null;
+        }
+    }
+
+    private static void writeRelation(DataOutputStream out, AdjacencyIndex index) throws IOException {
+        index.forEach((player, neighbours, size) -> {
+            out.writeLong(player);
+            out.writeInt(size);
+            for (int i = 0; i < size; i++) {
+                out.writeLong(neighbours[i]);
+            }
+        });
+        out.writeLong(0);
+        out.writeInt(END_OF_RELATION);
+    }
+
+    private static void readRelation(DataInputStream in, AdjacencyIndex index, long maxDegree) throws IOException {
+        while (true) {
+            long player = in.readLong();
+            int size = in.readInt();
+            if (size == END_OF_RELATION) {
+                return;
+            }
+            if (size < 0 || size > maxDegree) {
+                throw new IOException("invalid degree " + size + " for player " + player);
+            }
+            long[] neighbours = new long[size];
+            for (int i = 0; i < size; i++) {
+                neighbours[i] = in.readLong();
+            }
+            index.put(player, neighbours);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package io.gaming.platform.socialservice.ingest;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ProtocolException;
+import java.nio.charset.StandardCharsets;
+
+import io.gaming.platform.socialservice.model.SocialEventType;
+
+/**
+ * Wire format of the streaming ingestion channel served by {@link SocialEventIngestServer}.
+ * <p>
+ * Every frame is an int32 length of the bytes that follow, then a frame type byte and its body.
+ * All numbers are big-endian.
+ * <pre>
+ * server -&gt; client, once after connecting:
+ *   byte   HELLO
+ *   byte   protocol version
+ *   int32  window: events the client may have sent without a reply yet
+ * client -&gt; server:
+ *   byte   EVENT
+ *   int64  sequence, chosen by the client and echoed in the reply
+ *   byte   event type ordinal (FRIEND_REQUEST, FRIEND_ACCEPTED or NEW_FOLLOWER)
+ *   int64  player id (requester, acceptor or follower)
+ *   int64  other player id (the player the event is addressed to)
+ * server -&gt; client, one per EVENT, in the order the sends complete:
+ *   byte   ACK
+ *   int64  sequence
+ *   int32  partition, -1 when not known yet (outbox delivery, suppressed duplicate)
+ *   int64  offset, -1 likewise
+ *   byte   event id length, then the event id in UTF-8
+ * or
+ *   byte   NACK
+ *   int64  sequence
+ *   byte   reason (REASON_*)
+ *   int32  milliseconds to wait before retrying, 0 when retrying will not help
+ *   uint16 message length, then the message in UTF-8
+ * </pre>
+ * The server does not read past the window: a client with {@code window} events unanswered is
+ * not read from until a reply has been written. Frames longer than their body are accepted and
+ * the extra bytes skipped, so fields can be appended in later versions.
+ */
+public final class IngestProtocol {
+
+    public static final byte VERSION = 1;
+
+    public static final byte HELLO = 0x01;
+    public static final byte EVENT = 0x10;
+    public static final byte ACK = 0x20;
+    public static final byte NACK = 0x21;
+
+    /** The frame was well formed but the event is not valid, like a 400 from the HTTP API. */
+    public static final byte REASON_INVALID = 1;
+    /** The player is over its rate limit, like a 429. */
+    public static final byte REASON_RATE_LIMITED = 2;
+    /** A friend acceptance without a pending request, like a 409. */
+    public static final byte REASON_NO_PENDING_REQUEST = 3;
+    /** Refused at the producer's in-flight limit, like a 503. */
+    public static final byte REASON_OVERLOADED = 4;
+    /** Publishing failed, like a 500. */
+    public static final byte REASON_FAILED = 5;
+
+    static final int EVENT_LENGTH = 1 + Long.BYTES + 1 + Long.BYTES + Long.BYTES;
+    static final int MAX_FRAME_LENGTH = 4096;
+    private static final int MAX_MESSAGE_LENGTH = 1024;
+
+    private IngestProtocol() {
+    }
+
+    /**
+     * Reply to one event: an acknowledgement carrying where the event was written, or a refusal.
+     */
+    public record Reply(
+        long sequence,
+        boolean acknowledged,
+        int partition,
+        long offset,
+        String eventId,
+        byte reason,
+        long retryAfterMillis,
+        String message
+    ) {
+        public static Reply ack(long sequence, int partition, long offset, String eventId) {
+            return new Reply(sequence, true, partition, offset, eventId, (byte) 0, 0, null);
+        }
+
+        public static Reply nack(long sequence, byte reason, long retryAfterMillis, String message) {
+            return new Reply(sequence, false, -1, -1, null, reason, retryAfterMillis, message);
+        }
+    }
+
+    public static void writeHello(DataOutputStream out, int window) throws IOException {
+        out.writeInt(1 + 1 + Integer.BYTES);
+        out.writeByte(HELLO);
+        out.writeByte(VERSION);
+        out.writeInt(window);
+    }
+
+    /**
+     * @return the window announced by the server
+     */
+    public static int readHello(DataInputStream in) throws IOException {
+        int length = readLength(in);
+        if (in.readByte() != HELLO) {
+            throw new ProtocolException("Expected HELLO frame");
+        }
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new ProtocolException("Unsupported protocol version " + version);
+        }
+        int window = in.readInt();
+        skipRemainder(in, length, 1 + 1 + Integer.BYTES);
+        return window;
+    }
+
+    public static void writeEvent(DataOutputStream out, long sequence, SocialEventType type,
+            long playerId, long otherPlayerId) throws IOException {
+        out.writeInt(EVENT_LENGTH);
+        out.writeByte(EVENT);
+        out.writeLong(sequence);
+        out.writeByte(type.ordinal());
+        out.writeLong(playerId);
+        out.writeLong(otherPlayerId);
+    }
+
+    public static void writeReply(DataOutputStream out, Reply reply) throws IOException {
+        if (reply.acknowledged()) {
+            byte[] eventId = reply.eventId().getBytes(StandardCharsets.UTF_8);
+            if (eventId.length > 0xFF) {
+                throw new ProtocolException("Event id longer than 255 bytes: " + reply.eventId());
+            }
+            out.writeInt(1 + Long.BYTES + Integer.BYTES + Long.BYTES + 1 + eventId.length);
+            out.writeByte(ACK);
+            out.writeLong(reply.sequence());
+            out.writeInt(reply.partition());
+            out.writeLong(reply.offset());
+            out.writeByte(eventId.length);
+            out.write(eventId);
+        } else {
+            String text = reply.message() == null ? "" : reply.message();
+            if (text.length() > MAX_MESSAGE_LENGTH) {
+                text = text.substring(0, MAX_MESSAGE_LENGTH);
+            }
+            byte[] message = text.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(1 + Long.BYTES + 1 + Integer.BYTES + Short.BYTES + message.length);
+            out.writeByte(NACK);
+            out.writeLong(reply.sequence());
+            out.writeByte(reply.reason());
+            out.writeInt((int) Math.min(Integer.MAX_VALUE, reply.retryAfterMillis()));
+            out.writeShort(message.length);
+            out.write(message);
+        }
+    }
+
+    public static Reply readReply(DataInputStream in) throws IOException {
+        int length = readLength(in);
+        byte type = in.readByte();
+        Reply reply;
+        int read;
+        if (type == ACK) {
+            long sequence = in.readLong();
+            int partition = in.readInt();
+            long offset = in.readLong();
+            byte[] eventId = new byte[in.readUnsignedByte()];
+            in.readFully(eventId);
+            reply = Reply.ack(sequence, partition, offset, new String(eventId, StandardCharsets.UTF_8));
+            read = 1 + Long.BYTES + Integer.BYTES + Long.BYTES + 1 + eventId.length;
+        } else if (type == NACK) {
+            long sequence = in.readLong();
+            byte reason = in.readByte();
+            int retryAfterMillis = in.readInt();
+            byte[] message = new byte[in.readUnsignedShort()];
+            in.readFully(message);
+            reply = Reply.nack(sequence, reason, retryAfterMillis, new String(message, StandardCharsets.UTF_8));
+            read = 1 + Long.BYTES + 1 + Integer.BYTES + Short.BYTES + message.length;
+        } else {
+            throw new ProtocolException("Unexpected frame type " + type);
+        }
+        skipRemainder(in, length, read);
+        return reply;
+    }
+
+    static int readLength(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 1 || length > MAX_FRAME_LENGTH) {
+            throw new ProtocolException("Frame length " + length + " out of range");
+        }
+        return length;
+    }
+
+    static void skipRemainder(DataInputStream in, int length, int read) throws IOException {
+        if (length < read) {
+            throw new ProtocolException("Frame of " + length + " bytes is shorter than its body");
+        }
+        in.skipNBytes(length - read);
+    }
+}
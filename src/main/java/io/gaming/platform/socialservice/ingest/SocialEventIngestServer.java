@@ -0,0 +1,429 @@
+package io.gaming.platform.socialservice.ingest;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ProtocolException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import io.gaming.platform.socialservice.backpressure.PublishRejectedException;
+import io.gaming.platform.socialservice.friendrequest.PendingFriendRequestIndex;
+import io.gaming.platform.socialservice.ingest.IngestProtocol.Reply;
+import io.gaming.platform.socialservice.metrics.SocialEventMetrics;
+import io.gaming.platform.socialservice.metrics.SocialEventMetrics.Outcome;
+import io.gaming.platform.socialservice.model.SocialEventType;
+import io.gaming.platform.socialservice.producer.SocialEventProducer;
+import io.gaming.platform.socialservice.producer.SocialEventSendResult;
+import io.gaming.platform.socialservice.ratelimit.PlayerRateLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Long-lived binary ingestion channel for game servers: each connection streams events in the
+ * {@link IngestProtocol} format and receives a reply per event with its event id and Kafka
+ * offset once the send completes. Events go through the same checks and
+ * {@link SocialEventProducer} path as the HTTP endpoints, without a request per event.
+ * <p>
+ * Each connection has a reader and a writer on virtual threads. The reader takes a permit of the
+ * connection's window before reading an event and hands it to the producer; replies are queued
+ * as sends complete and the writer flushes them in batches, returning a permit per reply
+ * written. A connection with {@code window} events unanswered, because Kafka is slow or because
+ * the client does not read its replies, is therefore not read from, and TCP pushes back on the
+ * client. At the producer's in-flight limit the reader likewise waits for a permit, for up to
+ * {@code app.backpressure.max-wait} per event, before the event is refused as overloaded. A
+ * malformed frame closes the connection.
+ * <p>
+ * On stop the listening socket is closed, connections stop reading, and the replies to events
+ * already read are written for up to the drain timeout before the sockets are closed.
+ */
+@Component
+@ConditionalOnProperty(name = "app.ingest.enabled", havingValue = "true")
+public class SocialEventIngestServer implements SmartLifecycle, MeterBinder {
+    private static final Logger log = LoggerFactory.getLogger(SocialEventIngestServer.class);
+
+    private static final SocialEventType[] TYPES = SocialEventType.values();
+    private static final Reply END = Reply.nack(-1, (byte) 0, 0, null);
+    private static final long ACCEPT_RETRY_DELAY_MILLIS = 100;
+
+    private final SocialEventProducer eventProducer;
+    private final PlayerRateLimiter rateLimiter;
+    private final PendingFriendRequestIndex pendingFriendRequests;
+    private final SocialEventMetrics metrics;
+    private final int configuredPort;
+    private final int window;
+    private final int maxConnections;
+    private final Duration drainTimeout;
+    private final boolean rateLimited;
+
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    private final LongAdder received = new LongAdder();
+    private final LongAdder acknowledged = new LongAdder();
+    private final LongAdder refused = new LongAdder();
+    private final LongAdder windowStalls = new LongAdder();
+    private final LongAdder rejectedConnections = new LongAdder();
+
+    private volatile ServerSocket serverSocket;
+    private volatile ExecutorService threads;
+    private volatile boolean running;
+
+    /**
+     * @param port TCP port to listen on, 0 for any free port
+     * @param window events a connection may have unanswered before it is no longer read from
+     * @param maxConnections connections held at once; further ones are closed straight away
+     * @param drainTimeout how long {@link #stop} waits for the replies to events already read
+     * @param rateLimited whether streamed events are charged to the per-player rate limit; only
+     *                    turn it off for streams from trusted game servers on a private network
+     */
+    public SocialEventIngestServer(
+            SocialEventProducer eventProducer,
+            PlayerRateLimiter rateLimiter,
+            PendingFriendRequestIndex pendingFriendRequests,
+            SocialEventMetrics metrics,
+            @Value("${app.ingest.port:9190}") int port,
+            @Value("${app.ingest.window:1024}") int window,
+            @Value("${app.ingest.max-connections:1000}") int maxConnections,
+            @Value("${app.ingest.drain-timeout:10s}") Duration drainTimeout,
+            @Value("${app.ingest.rate-limited:true}") boolean rateLimited) {
+        this.eventProducer = eventProducer;
+        this.rateLimiter = rateLimiter;
+        this.pendingFriendRequests = pendingFriendRequests;
+        this.metrics = metrics;
+        this.configuredPort = port;
+        this.window = window;
+        this.maxConnections = maxConnections;
+        this.drainTimeout = drainTimeout;
+        this.rateLimited = rateLimited;
+    }
+
+    /**
+     * Port the server listens on, or -1 when it is not running.
+     */
+    public int port() {
+        ServerSocket socket = serverSocket;
+        return socket == null ? -1 : socket.getLocalPort();
+    }
+
+    public int connectionCount() {
+        return connections.size();
+    }
+
+    @Override
+    public void start() {
+        try {
+            ServerSocket socket = new ServerSocket();
+            socket.setReuseAddress(true);
+            socket.bind(new InetSocketAddress(configuredPort));
+            serverSocket = socket;
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot listen for social event streams on port " + configuredPort, e);
+        }
+        threads = Executors.newVirtualThreadPerTaskExecutor();
+        running = true;
+        Thread.ofPlatform().name("social-ingest-acceptor").daemon().start(this::accept);
+        log.info("Accepting social event streams on port {} with a window of {} events", port(), window);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        closeQuietly(serverSocket);
+        connections.forEach(Connection::stopReading);
+        threads.shutdown();
+        try {
+            if (!threads.awaitTermination(drainTimeout.toMillis() + 1000, TimeUnit.MILLISECONDS)) {
+                log.warn("{} social event streams still open after {}", connections.size(), drainTimeout);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        connections.forEach(connection -> closeQuietly(connection.socket));
+        serverSocket = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Starts after and stops alongside the web server, so on a graceful shutdown the replies to
+     * streamed events are written before the coalescer and the Kafka producer shut down.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 1024;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("social.events.ingest.connections", connections, Set::size)
+            .description("Open social event ingestion streams")
+            .register(registry);
+        FunctionCounter.builder("social.events.ingest.events", received, LongAdder::sum)
+            .description("Events read from ingestion streams")
+            .register(registry);
+        FunctionCounter.builder("social.events.ingest.replies", acknowledged, LongAdder::sum)
+            .tag("result", "ack")
+            .description("Replies written to ingestion streams")
+            .register(registry);
+        FunctionCounter.builder("social.events.ingest.replies", refused, LongAdder::sum)
+            .tag("result", "nack")
+            .description("Replies written to ingestion streams")
+            .register(registry);
+        FunctionCounter.builder("social.events.ingest.window.stalls", windowStalls, LongAdder::sum)
+            .description("Times a stream was not read from because its window was full")
+            .register(registry);
+        FunctionCounter.builder("social.events.ingest.rejections", rejectedConnections, LongAdder::sum)
+            .description("Connections closed at max-connections")
+            .register(registry);
+    }
+
+    private void accept() {
+        ServerSocket listener = serverSocket;
+        while (running) {
+            Socket socket;
+            try {
+                socket = listener.accept();
+            } catch (IOException e) {
+                if (!running) {
+                    break;
+                }
+                // Typically out of file descriptors: pause instead of spinning on the failure.
+                log.warn("Failed to accept social event stream: {}", e.getMessage());
+                try {
+                    Thread.sleep(ACCEPT_RETRY_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                continue;
+            }
+            if (!running || connections.size() >= maxConnections) {
+                rejectedConnections.increment();
+                closeQuietly(socket);
+                continue;
+            }
+            Connection connection = new Connection(socket);
+            connections.add(connection);
+            try {
+                threads.execute(connection::read);
+            } catch (RejectedExecutionException e) {
+                connections.remove(connection);
+                closeQuietly(socket);
+            }
+        }
+    }
+
+    /**
+     * Runs the same checks as the HTTP endpoints, the rate limit unless {@code rate-limited} is
+     * off, and publishes the event.
+     */
+    CompletableFuture<Reply> submit(long sequence, int typeOrdinal, long playerId, long otherPlayerId) {
+        SocialEventType type = typeOrdinal < TYPES.length ? TYPES[typeOrdinal] : null;
+        if (type == null || type == SocialEventType.NEW_FOLLOWERS) {
+            return CompletableFuture.completedFuture(Reply.nack(
+                sequence, IngestProtocol.REASON_INVALID, 0, "Unsupported event type " + typeOrdinal));
+        }
+        if (type == SocialEventType.FRIEND_ACCEPTED && !pendingFriendRequests.isAcceptable(otherPlayerId, playerId)) {
+            metrics.recordResult(type, Outcome.NO_PENDING_REQUEST);
+            return CompletableFuture.completedFuture(Reply.nack(
+                sequence, IngestProtocol.REASON_NO_PENDING_REQUEST, 0, "No pending friend request to accept"));
+        }
+        long retryAfterNanos = rateLimited ? rateLimiter.tryAcquire(playerId) : 0;
+        if (retryAfterNanos > 0) {
+            metrics.recordResult(type, Outcome.RATE_LIMITED);
+            return CompletableFuture.completedFuture(Reply.nack(sequence, IngestProtocol.REASON_RATE_LIMITED,
+                Math.max(1, TimeUnit.NANOSECONDS.toMillis(retryAfterNanos)), "Rate limit exceeded"));
+        }
+        try {
+            return eventProducer.sendSocialEvent(type, playerId, otherPlayerId, eventProducer.permitDeadline())
+                .thenApply(result -> ack(sequence, result))
+                .exceptionally(ex -> {
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                    if (cause instanceof PublishRejectedException rejected) {
+                        return Reply.nack(sequence, IngestProtocol.REASON_OVERLOADED,
+                            Math.max(1, rejected.retryAfter().toMillis()), rejected.getMessage());
+                    }
+                    log.debug("Failed to process streamed {} event for player: {}", type, playerId, ex);
+                    return Reply.nack(sequence, IngestProtocol.REASON_FAILED, 0, cause.getMessage());
+                });
+        } catch (Exception ex) {
+            log.error("Failed to process streamed {} event for player: {}", type, playerId, ex);
+            return CompletableFuture.completedFuture(
+                Reply.nack(sequence, IngestProtocol.REASON_FAILED, 0, ex.getMessage()));
+        }
+    }
+
+    private static Reply ack(long sequence, SocialEventSendResult result) {
+        return Reply.ack(sequence, result.metadata().partition(),
+            result.isAcknowledged() ? result.metadata().offset() : -1, result.event().eventId());
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            log.trace("Error closing {}", closeable, e);
+        }
+    }
+
+    private final class Connection {
+        final Socket socket;
+        final Semaphore permits = new Semaphore(window);
+        final LinkedBlockingQueue<Reply> replies = new LinkedBlockingQueue<>();
+        volatile boolean broken;
+
+        Connection(Socket socket) {
+            this.socket = socket;
+        }
+
+        void stopReading() {
+            try {
+                socket.shutdownInput();
+            } catch (IOException e) {
+                closeQuietly(socket);
+            }
+        }
+
+        void read() {
+            Thread writer = null;
+            boolean holdingPermit = false;
+            try {
+                socket.setTcpNoDelay(true);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 64 * 1024));
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 64 * 1024));
+                IngestProtocol.writeHello(out, window);
+                out.flush();
+                writer = Thread.ofVirtual().name("social-ingest-writer").start(() -> write(out));
+                while (true) {
+                    if (!permits.tryAcquire()) {
+                        windowStalls.increment();
+                        permits.acquire();
+                    }
+                    holdingPermit = true;
+                    int length;
+                    try {
+                        length = IngestProtocol.readLength(in);
+                    } catch (EOFException e) {
+                        break;
+                    }
+                    if (in.readByte() != IngestProtocol.EVENT || length < IngestProtocol.EVENT_LENGTH) {
+                        throw new ProtocolException("Expected EVENT frame");
+                    }
+                    long sequence = in.readLong();
+                    int type = in.readUnsignedByte();
+                    long playerId = in.readLong();
+                    long otherPlayerId = in.readLong();
+                    IngestProtocol.skipRemainder(in, length, IngestProtocol.EVENT_LENGTH);
+                    received.increment();
+                    holdingPermit = false;
+                    submit(sequence, type, playerId, otherPlayerId).thenAccept(replies::add);
+                }
+            } catch (ProtocolException e) {
+                log.warn("Closing social event stream from {}: {}", socket.getRemoteSocketAddress(), e.getMessage());
+                broken = true;
+            } catch (SocketException | EOFException e) {
+                log.debug("Social event stream from {} closed: {}", socket.getRemoteSocketAddress(), e.getMessage());
+            } catch (IOException e) {
+                log.warn("Social event stream from {} failed: {}", socket.getRemoteSocketAddress(), e.getMessage());
+                broken = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                if (holdingPermit) {
+                    permits.release();
+                }
+                finish(writer);
+            }
+        }
+
+        /**
+         * Waits for the replies to the events already read, unless the connection is broken,
+         * then closes it.
+         */
+        private void finish(Thread writer) {
+            try {
+                if (writer != null && !broken
+                        && !permits.tryAcquire(window, drainTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    log.warn("Closing social event stream from {} with {} replies outstanding",
+                        socket.getRemoteSocketAddress(), window - permits.availablePermits());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            replies.add(END);
+            try {
+                if (writer != null) {
+                    writer.join(drainTimeout.toMillis());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            closeQuietly(socket);
+            connections.remove(this);
+        }
+
+        private void write(DataOutputStream out) {
+            try {
+                while (true) {
+                    Reply reply = replies.take();
+                    if (reply == END) {
+                        break;
+                    }
+                    if (!broken) {
+                        try {
+                            IngestProtocol.writeReply(out, reply);
+                            if (replies.isEmpty()) {
+                                out.flush();
+                            }
+                        } catch (IOException e) {
+                            log.debug("Cannot write to social event stream from {}: {}",
+                                socket.getRemoteSocketAddress(), e.getMessage());
+                            broken = true;
+                            closeQuietly(socket);
+                        }
+                    }
+                    (reply.acknowledged() ? acknowledged : refused).increment();
+                    permits.release();
+                }
+                if (!broken) {
+                    out.flush();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                log.debug("Cannot flush social event stream from {}: {}", socket.getRemoteSocketAddress(), e.getMessage());
+            }
+        }
+    }
+}
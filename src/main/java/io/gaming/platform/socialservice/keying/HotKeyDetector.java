@@ -0,0 +1,256 @@
+package io.gaming.platform.socialservice.keying;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Finds the record keys taking the most traffic, and how unevenly records spread over partitions.
+ * <p>
+ * Keys are counted in a count-min sketch: {@code depth} rows of {@code width} atomic counters,
+ * each row indexed by a different hash of the key. A key's estimate is the smallest of its
+ * counters, which never undercounts and overcounts only by collisions. Every
+ * {@code decayInterval} all counters are halved, so estimates follow recent traffic.
+ * <p>
+ * The {@code topK} keys with the highest estimates are tracked by id. Recording a key already in
+ * the top, or one whose estimate is below the smallest member, takes no lock; only a key that
+ * may displace a member does.
+ */
+public class HotKeyDetector implements MeterBinder {
+
+    private static final long[] SEEDS = {
+        0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+        0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x94D049BB133111EBL, 0xBF58476D1CE4E5B9L
+    };
+
+    /**
+     * A tracked key and its current estimate.
+     */
+    public record HotKey(String key, long estimate) {
+    }
+
+    private final int depth;
+    private final int widthMask;
+    private final int logWidth;
+    private final AtomicLongArray counters;
+    private final long decayNanos;
+    private final AtomicLong nextDecay;
+
+    private final int topK;
+    // Guarded by this; published to readers through topIds.
+    private final long[] members;
+    private final String[] memberKeys;
+    private int memberCount;
+    private volatile long[] topIds = new long[0];
+    private volatile long admission;
+
+    private volatile AtomicLongArray partitionCounts = new AtomicLongArray(16);
+
+    public HotKeyDetector(int topK, int width, int depth, Duration decayInterval) {
+        if (depth < 1 || depth > SEEDS.length) {
+            throw new IllegalArgumentException("Sketch depth must be between 1 and " + SEEDS.length + ": " + depth);
+        }
+        int rowWidth = Integer.highestOneBit(Math.max(64, width));
+        this.depth = depth;
+        this.widthMask = rowWidth - 1;
+        this.logWidth = Integer.numberOfTrailingZeros(rowWidth);
+        this.counters = new AtomicLongArray(rowWidth * depth);
+        this.decayNanos = decayInterval.toNanos();
+        this.nextDecay = new AtomicLong(System.nanoTime() + decayNanos);
+        this.topK = topK;
+        this.members = new long[topK];
+        this.memberKeys = new String[topK];
+    }
+
+    /**
+     * Counts one record for the key.
+     *
+     * @param keyId 64-bit identity of the key; distinct keys should have distinct ids
+     * @param key the key as written to the record, kept for keys that make the top
+     * @return the key's estimated count, including this record
+     */
+    public long record(long keyId, String key) {
+        decayIfDue();
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(index(row, keyId)));
+        }
+        if (estimate > admission && Arrays.binarySearch(topIds, keyId) < 0) {
+            offer(keyId, key, estimate);
+        }
+        return estimate;
+    }
+
+    /**
+     * The key's estimated count, without counting it.
+     */
+    public long estimate(long keyId) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, keyId)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Counts one record written to the partition.
+     */
+    public void recordPartition(int partition) {
+        if (partition < 0) {
+            return;
+        }
+        AtomicLongArray counts = partitionCounts;
+        if (partition >= counts.length()) {
+            counts = growPartitions(partition);
+        }
+        counts.incrementAndGet(partition);
+    }
+
+    /**
+     * The tracked keys, hottest first.
+     */
+    public synchronized List<HotKey> hotKeys() {
+        List<HotKey> hot = new ArrayList<>(memberCount);
+        for (int i = 0; i < memberCount; i++) {
+            hot.add(new HotKey(memberKeys[i], estimate(members[i])));
+        }
+        hot.sort(Comparator.comparingLong(HotKey::estimate).reversed());
+        return hot;
+    }
+
+    /**
+     * Recent records per partition, indexed by partition, over the partitions seen so far.
+     */
+    public long[] partitionCounts() {
+        AtomicLongArray counts = partitionCounts;
+        int partitions = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            if (counts.get(i) > 0) {
+                partitions = i + 1;
+            }
+        }
+        long[] snapshot = new long[partitions];
+        for (int i = 0; i < partitions; i++) {
+            snapshot[i] = counts.get(i);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Records in the busiest partition relative to the mean over all partitions seen: 1 when
+     * traffic is even, the partition count when one partition takes everything.
+     */
+    public double partitionSkew() {
+        long[] counts = partitionCounts();
+        long total = 0;
+        long max = 0;
+        for (long count : counts) {
+            total += count;
+            max = Math.max(max, count);
+        }
+        return total == 0 ? 0 : (double) max * counts.length / total;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("social.events.partition.skew", this, HotKeyDetector::partitionSkew)
+            .description("Recent records in the busiest partition over the mean per partition")
+            .register(registry);
+        for (int rank = 1; rank <= topK; rank++) {
+            int index = rank - 1;
+            Gauge.builder("social.events.hot_keys.estimate", this, detector -> detector.estimateAtRank(index))
+                .tag("rank", Integer.toString(rank))
+                .description("Estimated recent records of the key at this rank; see the hotkeys endpoint for keys")
+                .register(registry);
+        }
+    }
+
+    private double estimateAtRank(int index) {
+        List<HotKey> hot = hotKeys();
+        return index < hot.size() ? hot.get(index).estimate() : 0;
+    }
+
+    private synchronized void offer(long keyId, String key, long estimate) {
+        if (Arrays.binarySearch(topIds, keyId) >= 0) {
+            return;
+        }
+        if (memberCount < topK) {
+            members[memberCount] = keyId;
+            memberKeys[memberCount] = key;
+            memberCount++;
+        } else {
+            int coldest = 0;
+            long coldestEstimate = Long.MAX_VALUE;
+            for (int i = 0; i < memberCount; i++) {
+                long memberEstimate = estimate(members[i]);
+                if (memberEstimate < coldestEstimate) {
+                    coldest = i;
+                    coldestEstimate = memberEstimate;
+                }
+            }
+            if (estimate <= coldestEstimate) {
+                admission = coldestEstimate;
+                return;
+            }
+            members[coldest] = keyId;
+            memberKeys[coldest] = key;
+        }
+        publishMembers();
+    }
+
+    private void publishMembers() {
+        long[] ids = Arrays.copyOf(members, memberCount);
+        Arrays.sort(ids);
+        long coldest = Long.MAX_VALUE;
+        for (int i = 0; i < memberCount; i++) {
+            coldest = Math.min(coldest, estimate(members[i]));
+        }
+        topIds = ids;
+        admission = memberCount < topK ? 0 : coldest;
+    }
+
+    private void decayIfDue() {
+        long due = nextDecay.get();
+        if (System.nanoTime() - due < 0 || !nextDecay.compareAndSet(due, System.nanoTime() + decayNanos)) {
+            return;
+        }
+        // Increments racing with the halving may be lost; estimates stay approximate either way.
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, counters.get(i) >>> 1);
+        }
+        AtomicLongArray counts = partitionCounts;
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, counts.get(i) >>> 1);
+        }
+        synchronized (this) {
+            publishMembers();
+        }
+    }
+
+    private synchronized AtomicLongArray growPartitions(int partition) {
+        AtomicLongArray counts = partitionCounts;
+        if (partition < counts.length()) {
+            return counts;
+        }
+        AtomicLongArray grown = new AtomicLongArray(Integer.highestOneBit(partition) << 1);
+        for (int i = 0; i < counts.length(); i++) {
+            grown.set(i, counts.get(i));
+        }
+        partitionCounts = grown;
+        return grown;
+    }
+
+    private int index(int row, long keyId) {
+        long h = (keyId ^ SEEDS[row]) * SEEDS[(row + 1) & (SEEDS.length - 1)];
+        h ^= h >>> 31;
+        return (row << logWidth) | ((int) (h >>> (64 - logWidth)) & widthMask);
+    }
+}
@@ -0,0 +1,30 @@
+package io.gaming.platform.socialservice.keying;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import io.gaming.platform.socialservice.keying.HotKeyDetector.HotKey;
+
+/**
+ * {@code /actuator/hotkeys}: the hottest record keys and recent records per partition, which the
+ * rank-tagged gauges cannot name.
+ */
+@Endpoint(id = "hotkeys")
+public class HotKeysEndpoint {
+
+    public record HotKeysReport(List<HotKey> keys, long[] partitionCounts, double partitionSkew) {
+    }
+
+    private final HotKeyDetector detector;
+
+    public HotKeysEndpoint(HotKeyDetector detector) {
+        this.detector = detector;
+    }
+
+    @ReadOperation
+    public HotKeysReport hotKeys() {
+        return new HotKeysReport(detector.hotKeys(), detector.partitionCounts(), detector.partitionSkew());
+    }
+}
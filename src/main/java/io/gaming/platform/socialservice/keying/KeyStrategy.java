@@ -0,0 +1,21 @@
+package io.gaming.platform.socialservice.keying;
+
+/**
+ * Which player(s) of an event form its Kafka key, and so which events share a partition and
+ * keep their relative order.
+ */
+public enum KeyStrategy {
+    /**
+     * The acting player: everything one player does stays in order.
+     */
+    ACTOR,
+    /**
+     * The other player: everything that happens to one player stays in order.
+     */
+    TARGET,
+    /**
+     * Both players, lowest id first: a request and its acceptance share a partition whichever
+     * side sent them.
+     */
+    PAIR
+}
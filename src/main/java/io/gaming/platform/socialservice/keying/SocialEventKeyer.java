@@ -0,0 +1,92 @@
+package io.gaming.platform.socialservice.keying;
+
+import org.springframework.lang.Nullable;
+
+import io.gaming.platform.socialservice.config.KeyingProperties;
+import io.gaming.platform.socialservice.model.SocialEvent;
+import io.gaming.platform.socialservice.model.SocialEventType;
+
+/**
+ * Chooses the Kafka record key of each social event by the {@link KeyStrategy} configured for its
+ * type, and feeds the keys to the {@link HotKeyDetector}. When spreading is on for the type, a
+ * hot key is split into sub-keys by player pair: the sub-key is a hash of the two players, in
+ * either order, modulo {@code sub-keys}, so a pair always gets the same one. While the key stays
+ * hot the pair's events stay in order, but events of different pairs for the same hot player may
+ * land on different partitions. When the key turns hot, or cools down again, a pair's events move
+ * between the plain key and its sub-key, so an event sent just before the switch may be read
+ * after one sent just after it.
+ * <p>
+ * An event without another player is keyed by its acting player, and a NEW_FOLLOWERS aggregate
+ * by its followed player, whatever the strategy.
+ */
+public class SocialEventKeyer {
+
+    private static final String OTHER_PLAYER_ID = "otherPlayerId";
+    private static final SocialEventType[] EVENT_TYPES = SocialEventType.values();
+
+    private final KeyStrategy[] strategies = new KeyStrategy[EVENT_TYPES.length];
+    private final boolean[] spread = new boolean[EVENT_TYPES.length];
+    private final int subKeys;
+    private final long spreadMinCount;
+    private final HotKeyDetector detector;
+
+    /**
+     * @param detector counts keys and partitions, or {@code null} to turn detection and spreading off
+     */
+    public SocialEventKeyer(KeyingProperties properties, @Nullable HotKeyDetector detector) {
+        for (SocialEventType type : EVENT_TYPES) {
+            strategies[type.ordinal()] = properties.strategy(type);
+            spread[type.ordinal()] = detector != null && properties.spread().enabled()
+                && properties.spread().types().contains(type);
+        }
+        this.subKeys = properties.spread().subKeys();
+        this.spreadMinCount = properties.spread().minCount();
+        this.detector = detector;
+    }
+
+    public String key(SocialEvent event) {
+        long player = event.playerId();
+        Object other = event.eventData().get(OTHER_PLAYER_ID);
+        long otherPlayer = other instanceof Number number ? number.longValue() : player;
+        SocialEventType type = event.eventType();
+        KeyStrategy strategy = !(other instanceof Number) ? KeyStrategy.ACTOR
+            : type == SocialEventType.NEW_FOLLOWERS ? KeyStrategy.TARGET
+            : strategies[type.ordinal()];
+        return switch (strategy) {
+            case ACTOR -> record(type, player, Long.toString(player), player, otherPlayer);
+            case TARGET -> record(type, otherPlayer, Long.toString(otherPlayer), player, otherPlayer);
+            case PAIR -> {
+                long low = Math.min(player, otherPlayer);
+                long high = Math.max(player, otherPlayer);
+                yield record(type, mix(low, high), low + "-" + high, player, otherPlayer);
+            }
+        };
+    }
+
+    /**
+     * Counts an acknowledged record's partition towards the skew metric.
+     */
+    public void recordPartition(int partition) {
+        if (detector != null) {
+            detector.recordPartition(partition);
+        }
+    }
+
+    private String record(SocialEventType type, long keyId, String key, long player, long otherPlayer) {
+        if (detector == null) {
+            return key;
+        }
+        long estimate = detector.record(keyId, key);
+        if (!spread[type.ordinal()] || estimate < spreadMinCount) {
+            return key;
+        }
+        return key + '#' + Math.floorMod(mix(Math.min(player, otherPlayer), Math.max(player, otherPlayer)), subKeys);
+    }
+
+    private static long mix(long a, long b) {
+        long h = a * 0x9E3779B97F4A7C15L ^ b * 0xC2B2AE3D27D4EB4FL;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        return h ^ (h >>> 33);
+    }
+}
@@ -0,0 +1,138 @@
+package io.gaming.platform.socialservice.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.stereotype.Component;
+
+import io.gaming.platform.socialservice.model.SocialEventType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Meters of the social event publish pipeline.
+ * <p>
+ * Every meter is registered up front for each {@link SocialEventType} and outcome and looked up
+ * by ordinal, so recording is an array access plus the meter update and never builds tags or
+ * allocates on the request path.
+ */
+@Component
+public class SocialEventMetrics {
+
+    /**
+     * How a publish attempt ended.
+     */
+    public enum Outcome {
+        /** Written to Kafka and acknowledged by the broker. */
+        ACKNOWLEDGED,
+        /** Durable in the local outbox, not yet in Kafka. */
+        ACCEPTED,
+        /** Suppressed as a repeat of a recent event. */
+        DUPLICATE,
+        /** Rejected because the player was over their rate limit. */
+        RATE_LIMITED,
+        /** Rejected as a friend acceptance without an open friend request. */
+        NO_PENDING_REQUEST,
+        /** Refused because too many sends were in flight. */
+        SHED,
+        /** Published as one of the followers of a NEW_FOLLOWERS aggregate. */
+        COALESCED,
+        /** Could not be published. */
+        FAILED;
+
+        private final String tag = name().toLowerCase();
+    }
+
+    private static final SocialEventType[] EVENT_TYPES = SocialEventType.values();
+    private static final Outcome[] OUTCOMES = Outcome.values();
+
+    private final Timer[] serialization = new Timer[EVENT_TYPES.length];
+    private final Timer[] send = new Timer[EVENT_TYPES.length];
+    private final Timer[][] ack = new Timer[EVENT_TYPES.length][2];
+    private final Counter[][] results = new Counter[EVENT_TYPES.length][OUTCOMES.length];
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final DistributionSummary batchSize;
+
+    public SocialEventMetrics(MeterRegistry registry) {
+        for (SocialEventType type : EVENT_TYPES) {
+            String typeTag = type.name();
+            serialization[type.ordinal()] = Timer.builder("social.events.serialization")
+                .description("Time to encode a social event as a record value")
+                .tag("type", typeTag)
+                .publishPercentiles(0.5, 0.99)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(100))
+                .maximumExpectedValue(Duration.ofMillis(10))
+                .register(registry);
+            send[type.ordinal()] = Timer.builder("social.events.send")
+                .description("Time spent handing a social event to the Kafka producer, including any blocking on a full buffer")
+                .tag("type", typeTag)
+                .publishPercentiles(0.5, 0.99)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(500))
+                .maximumExpectedValue(Duration.ofSeconds(60))
+                .register(registry);
+            for (boolean success : new boolean[] {true, false}) {
+                ack[type.ordinal()][success ? 0 : 1] = Timer.builder("social.events.ack")
+                    .description("Time from handing a social event to the producer until the broker acknowledged or rejected it")
+                    .tag("type", typeTag)
+                    .tag("outcome", success ? "success" : "failure")
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(120))
+                    .register(registry);
+            }
+            for (Outcome outcome : OUTCOMES) {
+                results[type.ordinal()][outcome.ordinal()] = Counter.builder("social.events.published")
+                    .description("Social events by final outcome")
+                    .tag("type", typeTag)
+                    .tag("outcome", outcome.tag)
+                    .register(registry);
+            }
+        }
+        Gauge.builder("social.events.in_flight", inFlight, AtomicInteger::get)
+            .description("Sends handed to the Kafka producer and not yet acknowledged")
+            .register(registry);
+        batchSize = DistributionSummary.builder("social.events.batch.size")
+            .description("Items per batch request")
+            .publishPercentiles(0.5, 0.99)
+            .register(registry);
+    }
+
+    public void recordSerialization(SocialEventType type, long nanos) {
+        serialization[type.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records the time spent in the producer's send call and counts the send as in flight.
+     */
+    public void recordSend(SocialEventType type, long nanos) {
+        send[type.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+        inFlight.incrementAndGet();
+    }
+
+    /**
+     * Records the broker's answer to a send previously passed to {@link #recordSend}.
+     */
+    public void recordAck(SocialEventType type, boolean success, long nanos) {
+        inFlight.decrementAndGet();
+        ack[type.ordinal()][success ? 0 : 1].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordResult(SocialEventType type, Outcome outcome) {
+        results[type.ordinal()][outcome.ordinal()].increment();
+    }
+
+    public void recordBatchSize(int items) {
+        batchSize.record(items);
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+}
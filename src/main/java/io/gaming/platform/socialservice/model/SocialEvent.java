@@ -1,9 +1,11 @@
 package io.gaming.platform.socialservice.model;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.gaming.platform.socialservice.eventid.EventIdGenerator;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.Map;
-import java.util.UUID;
 
 public record SocialEvent(
     EventCategory category,
@@ -14,36 +16,75 @@ public record SocialEvent(
     Long playerId,
     Map<String, Object> eventData
 ) {
-    public static SocialEvent friendRequest(Long requesterId, Long targetId) {
+    /**
+     * Creates the event of the given type between the acting player and the other player, with an
+     * id from the given generator. The id and the timestamp come from the same clock reading.
+     */
+    public static SocialEvent of(SocialEventType eventType, Long playerId, Long otherPlayerId, EventIdGenerator eventIds) {
+        if (eventType == SocialEventType.NEW_FOLLOWERS) {
+            throw new IllegalArgumentException("NEW_FOLLOWERS events are built by newFollowers");
+        }
+        Instant now = Instant.now();
         return new SocialEvent(
             EventCategory.SOCIAL,
-            SocialEventType.FRIEND_REQUEST,
-            UUID.randomUUID().toString(),
-            Instant.now(),
-            requesterId,
-            Map.of("otherPlayerId", targetId)
+            eventType,
+            eventIds.nextId(now.toEpochMilli()),
+            now,
+            playerId,
+            Map.of("otherPlayerId", otherPlayerId)
         );
     }
 
-    public static SocialEvent friendAccepted(Long accepterId, Long requesterId) {
-        return new SocialEvent(
-            EventCategory.SOCIAL,
-            SocialEventType.FRIEND_ACCEPTED,
-            UUID.randomUUID().toString(),
-            Instant.now(),
-            accepterId,
-            Map.of("otherPlayerId", requesterId)
-        );
+    public static SocialEvent friendRequest(Long requesterId, Long targetId, EventIdGenerator eventIds) {
+        return of(SocialEventType.FRIEND_REQUEST, requesterId, targetId, eventIds);
+    }
+
+    public static SocialEvent friendAccepted(Long accepterId, Long requesterId, EventIdGenerator eventIds) {
+        return of(SocialEventType.FRIEND_ACCEPTED, accepterId, requesterId, eventIds);
     }
 
-    public static SocialEvent newFollower(Long followerId, Long followedId) {
+    public static SocialEvent newFollower(Long followerId, Long followedId, EventIdGenerator eventIds) {
+        return of(SocialEventType.NEW_FOLLOWER, followerId, followedId, eventIds);
+    }
+
+    /**
+     * Aggregate of the NEW_FOLLOWER events of one followed player, in the order they arrived. Its
+     * parts each had a different acting player, so the aggregate is attributed to the followed
+     * player, as both its player and its other player, and is always keyed by it. It shares a
+     * partition with its parts only when NEW_FOLLOWER is keyed by TARGET.
+     */
+    public static SocialEvent newFollowers(long[] followerIds, Long followedId, EventIdGenerator eventIds) {
+        Instant now = Instant.now();
         return new SocialEvent(
             EventCategory.SOCIAL,
-            SocialEventType.NEW_FOLLOWER,
-            UUID.randomUUID().toString(),
-            Instant.now(),
-            followerId,
-            Map.of("otherPlayerId", followedId)
+            SocialEventType.NEW_FOLLOWERS,
+            eventIds.nextId(now.toEpochMilli()),
+            now,
+            followedId,
+            Map.of("otherPlayerId", followedId, "followerIds", followerIds)
         );
     }
-} 
\ No newline at end of file
+
+    /**
+     * The players who started following the other player: every follower of a NEW_FOLLOWERS
+     * event, whether its list was read back as JSON or binary, and the acting player of a
+     * NEW_FOLLOWER event. Empty for other types.
+     */
+    @JsonIgnore
+    public long[] followerIds() {
+        if (eventType == SocialEventType.NEW_FOLLOWER) {
+            return new long[] {playerId};
+        }
+        if (eventType != SocialEventType.NEW_FOLLOWERS || eventData == null) {
+            return new long[0];
+        }
+        Object followers = eventData.get("followerIds");
+        if (followers instanceof long[] ids) {
+            return ids;
+        }
+        if (followers instanceof Collection<?> ids) {
+            return ids.stream().mapToLong(id -> ((Number) id).longValue()).toArray();
+        }
+        return new long[0];
+    }
+}
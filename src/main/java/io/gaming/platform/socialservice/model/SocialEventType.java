@@ -3,5 +3,7 @@
 public enum SocialEventType {
     FRIEND_REQUEST,
     FRIEND_ACCEPTED,
-    NEW_FOLLOWER
-} 
\ No newline at end of file
+    NEW_FOLLOWER,
+    // Several NEW_FOLLOWER events of one followed player, published by the service when coalescing.
+    NEW_FOLLOWERS
+}
@@ -0,0 +1,125 @@
+package io.gaming.platform.socialservice.outbox;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import io.gaming.platform.socialservice.model.SocialEvent;
+import io.gaming.platform.socialservice.outbox.SocialEventOutbox.Batch;
+import io.gaming.platform.socialservice.outbox.SocialEventOutbox.Entry;
+import io.gaming.platform.socialservice.outbox.SocialEventOutbox.Position;
+
+/**
+ * Drains the {@link SocialEventOutbox} into Kafka on a single background thread.
+ * <p>
+ * Records are sent in outbox order and the checkpoint only moves once every record of a batch
+ * has been acknowledged, so with the idempotent producer the per-key order of the outbox is
+ * the per-partition order in Kafka. A failed batch is retried from its first record with
+ * exponential backoff, which makes delivery at-least-once.
+ */
+public class OutboxRelay implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final long IDLE_WAIT_MS = 50;
+    private static final long INITIAL_BACKOFF_MS = 100;
+    private static final long MAX_BACKOFF_MS = 10_000;
+
+    private final SocialEventOutbox outbox;
+    private final KafkaTemplate<String, SocialEvent> kafkaTemplate;
+    private final String topicName;
+    private final int batchSize;
+
+    private volatile boolean running;
+    private Thread relayThread;
+
+    public OutboxRelay(
+            SocialEventOutbox outbox,
+            KafkaTemplate<String, SocialEvent> kafkaTemplate,
+            String topicName,
+            int batchSize) {
+        this.outbox = outbox;
+        this.kafkaTemplate = kafkaTemplate;
+        this.topicName = topicName;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        relayThread = Thread.ofPlatform().name("outbox-relay").daemon().start(this::relayLoop);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (relayThread != null) {
+            relayThread.interrupt();
+            try {
+                relayThread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void relayLoop() {
+        long backoffMs = INITIAL_BACKOFF_MS;
+        Position position = null;
+        while (running) {
+            try {
+                if (position == null) {
+                    position = outbox.checkpoint();
+                    log.info("Outbox relay resuming from segment {} position {}", position.segment(), position.offset());
+                }
+                Batch batch = outbox.read(position, batchSize);
+                if (batch.entries().isEmpty()) {
+                    if (!batch.next().equals(position)) {
+                        outbox.commit(batch.next());
+                        position = batch.next();
+                    }
+                    outbox.awaitDurable(position, IDLE_WAIT_MS);
+                    continue;
+                }
+                deliver(batch.entries());
+                outbox.commit(batch.next());
+                position = batch.next();
+                backoffMs = INITIAL_BACKOFF_MS;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Outbox relay failed to deliver batch, retrying in {} ms: {}", backoffMs, e.getMessage());
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+            }
+        }
+    }
+
+    private void deliver(List<Entry> entries) throws Exception {
+        CompletableFuture<?>[] sends = new CompletableFuture<?>[entries.size()];
+        for (int i = 0; i < sends.length; i++) {
+            Entry entry = entries.get(i);
+            sends[i] = kafkaTemplate.send(topicName, entry.key(), entry.event());
+        }
+        CompletableFuture.allOf(sends).get();
+        log.debug("Outbox relay delivered {} events to topic {}", sends.length, topicName);
+    }
+}
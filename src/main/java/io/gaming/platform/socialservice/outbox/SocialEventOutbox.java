@@ -0,0 +1,439 @@
+package io.gaming.platform.socialservice.outbox;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.gaming.platform.socialservice.model.SocialEvent;
+import io.gaming.platform.socialservice.serialization.BinarySocialEventDeserializer;
+import io.gaming.platform.socialservice.serialization.BinarySocialEventSerializer;
+
+/**
+ * Local append-only log of social events, used when the service acknowledges
+ * events once they are durable on disk rather than once Kafka has them.
+ * <p>
+ * Records are appended to fixed-size memory-mapped segment files. Appends only copy bytes
+ * into the mapping; a single flusher thread forces the mapping to disk and completes every
+ * append it covered, so concurrent requests share one fsync. {@link OutboxRelay} reads the
+ * durable part of the log in append order and records its progress in a checkpoint file,
+ * which is what lets events survive a broker outage or a restart.
+ * <p>
+ * Record layout: {@code [int bodyLength][int crc32c(body)][short keyLength][key][event]}, where
+ * the event is encoded with {@link BinarySocialEventSerializer} whatever the Kafka value format.
+ * A length of {@code 0} marks the end of the written data and {@code -1} marks a segment
+ * that was closed because the next record did not fit.
+ */
+public class SocialEventOutbox implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(SocialEventOutbox.class);
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String CHECKPOINT_FILE = "relay.checkpoint";
+    private static final int HEADER_SIZE = 8;
+    private static final int END_OF_SEGMENT = -1;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long fsyncIntervalNanos;
+    private final FileChannel checkpointChannel;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition pendingAppends = lock.newCondition();
+    private final ArrayDeque<PendingAppend> waiters = new ArrayDeque<>();
+    private final Object durableSignal = new Object();
+    private final Thread flusher;
+
+    private long writeSegment;
+    private MappedByteBuffer writeBuffer;
+    private volatile Position durable;
+    private volatile boolean running = true;
+
+    // Only touched by the relay thread.
+    private long readSegment = -1;
+    private MappedByteBuffer readBuffer;
+
+    public SocialEventOutbox(Path directory, int segmentSize, long fsyncIntervalMs) {
+        if (segmentSize < 1024) {
+            throw new IllegalArgumentException("Outbox segment size must be at least 1024 bytes");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsyncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(fsyncIntervalMs);
+        try {
+            Files.createDirectories(directory);
+            List<Long> segments = listSegments();
+            this.writeSegment = segments.isEmpty() ? 0 : segments.get(segments.size() - 1);
+            this.writeBuffer = mapSegment(writeSegment, FileChannel.MapMode.READ_WRITE);
+            this.writeBuffer.position(recoverWritePosition(writeBuffer));
+            this.durable = new Position(writeSegment, writeBuffer.position());
+            this.checkpointChannel = FileChannel.open(directory.resolve(CHECKPOINT_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open outbox in " + directory, e);
+        }
+        log.info("Opened social event outbox in {} at segment {} position {}",
+            directory, writeSegment, durable.offset());
+        this.flusher = Thread.ofPlatform().name("outbox-flusher").daemon().start(this::flushLoop);
+    }
+
+    /**
+     * Appends a record and returns a future that completes once it has been forced to disk.
+     */
+    public CompletableFuture<Void> append(String key, SocialEvent event) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] valueBytes = BinarySocialEventSerializer.encode(event);
+        int bodyLength = Short.BYTES + keyBytes.length + valueBytes.length;
+        if (keyBytes.length > Short.MAX_VALUE || HEADER_SIZE + bodyLength + Integer.BYTES > segmentSize) {
+            return CompletableFuture.failedFuture(
+                new IllegalArgumentException("Record of " + bodyLength + " bytes does not fit an outbox segment"));
+        }
+        ByteBuffer body = ByteBuffer.allocate(bodyLength)
+            .putShort((short) keyBytes.length)
+            .put(keyBytes)
+            .put(valueBytes)
+            .flip();
+        CRC32C crc = new CRC32C();
+        crc.update(body.duplicate());
+
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        lock.lock();
+        try {
+            if (!running) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Outbox is closed"));
+            }
+            // Always leave room for the end-of-segment marker.
+            if (writeBuffer.position() + HEADER_SIZE + bodyLength + Integer.BYTES > segmentSize) {
+                rollSegment();
+            }
+            writeBuffer.putInt(bodyLength).putInt((int) crc.getValue()).put(body);
+            waiters.add(new PendingAppend(writeSegment, writeBuffer.position(), future));
+            pendingAppends.signal();
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(new UncheckedIOException("Failed to append to outbox", e));
+        } finally {
+            lock.unlock();
+        }
+        return future;
+    }
+
+    /**
+     * Reads up to {@code maxRecords} durable records starting at {@code from}.
+     * The returned batch carries the position just after the last record read.
+     */
+    public Batch read(Position from, int maxRecords) throws IOException {
+        Position limit = durable;
+        List<Entry> entries = new ArrayList<>();
+        long segment = from.segment();
+        int offset = from.offset();
+        while (entries.size() < maxRecords && segment <= limit.segment()) {
+            if (!Files.exists(segmentPath(segment))) {
+                // Segment ids are contiguous; a gap only appears below the oldest retained segment.
+                segment++;
+                offset = 0;
+                continue;
+            }
+            MappedByteBuffer buffer = readBuffer(segment);
+            int end = segment == limit.segment() ? limit.offset() : segmentSize;
+            boolean segmentDone = false;
+            while (entries.size() < maxRecords) {
+                if (offset + HEADER_SIZE > end) {
+                    segmentDone = segment < limit.segment();
+                    break;
+                }
+                int length = buffer.getInt(offset);
+                if (length == END_OF_SEGMENT || length == 0) {
+                    segmentDone = segment < limit.segment();
+                    break;
+                }
+                byte[] body = new byte[length];
+                buffer.get(offset + HEADER_SIZE, body);
+                entries.add(decode(body));
+                offset += HEADER_SIZE + length;
+            }
+            if (!segmentDone) {
+                break;
+            }
+            segment++;
+            offset = 0;
+        }
+        return new Batch(entries, new Position(segment, offset));
+    }
+
+    /**
+     * Blocks until records beyond {@code position} become durable or the timeout elapses.
+     */
+    public void awaitDurable(Position position, long timeoutMs) throws InterruptedException {
+        synchronized (durableSignal) {
+            if (durable.equals(position)) {
+                durableSignal.wait(timeoutMs);
+            }
+        }
+    }
+
+    /**
+     * Returns the position the relay has delivered up to, or the start of the oldest segment.
+     */
+    public Position checkpoint() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES + Integer.BYTES);
+        if (checkpointChannel.read(buffer, 0) == buffer.capacity()) {
+            buffer.flip();
+            return new Position(buffer.getLong(), buffer.getInt());
+        }
+        List<Long> segments = listSegments();
+        return new Position(segments.isEmpty() ? writeSegment : segments.get(0), 0);
+    }
+
+    /**
+     * Persists the relay position and deletes segments that lie entirely before it.
+     */
+    public void commit(Position position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES + Integer.BYTES)
+            .putLong(position.segment())
+            .putInt(position.offset())
+            .flip();
+        checkpointChannel.write(buffer, 0);
+        checkpointChannel.force(false);
+        for (long segment : listSegments()) {
+            if (segment >= position.segment()) {
+                break;
+            }
+            Files.deleteIfExists(segmentPath(segment));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            running = false;
+            pendingAppends.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        checkpointChannel.close();
+        log.info("Closed social event outbox in {}", directory);
+    }
+
+    private void flushLoop() {
+        while (true) {
+            lock.lock();
+            try {
+                while (running && waiters.isEmpty()) {
+                    pendingAppends.awaitUninterruptibly();
+                }
+                if (!running) {
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (fsyncIntervalNanos > 0) {
+                // Let more appends join this fsync.
+                LockSupport.parkNanos(fsyncIntervalNanos);
+            }
+            flush();
+        }
+    }
+
+    private void flush() {
+        MappedByteBuffer buffer;
+        Position written;
+        lock.lock();
+        try {
+            buffer = writeBuffer;
+            written = new Position(writeSegment, writeBuffer.position());
+        } finally {
+            lock.unlock();
+        }
+
+        Throwable failure = null;
+        try {
+            buffer.force();
+        } catch (RuntimeException e) {
+            log.error("Failed to force outbox segment {} to disk", written.segment(), e);
+            failure = e;
+        }
+
+        List<PendingAppend> covered = new ArrayList<>();
+        lock.lock();
+        try {
+            while (!waiters.isEmpty() && waiters.peek().isCoveredBy(written)) {
+                covered.add(waiters.poll());
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (failure == null) {
+            synchronized (durableSignal) {
+                durable = written;
+                durableSignal.notifyAll();
+            }
+        }
+        for (PendingAppend append : covered) {
+            if (failure == null) {
+                append.future().complete(null);
+            } else {
+                append.future().completeExceptionally(failure);
+            }
+        }
+    }
+
+    /**
+     * Seals the current segment and starts the next one. Called with the lock held. The next
+     * segment is mapped before the current one is sealed, so on failure the outbox keeps
+     * appending to the current segment once there is room again, and nothing is written past
+     * an end marker.
+     */
+    private void rollSegment() throws IOException {
+        MappedByteBuffer next;
+        try {
+            next = mapSegment(writeSegment + 1, FileChannel.MapMode.READ_WRITE);
+        } catch (IOException e) {
+            try {
+                Path path = segmentPath(writeSegment + 1);
+                if (Files.isRegularFile(path)) {
+                    Files.delete(path);
+                }
+            } catch (IOException ignored) {
+                e.addSuppressed(ignored);
+            }
+            throw e;
+        }
+        int end = writeBuffer.position();
+        writeBuffer.putInt(END_OF_SEGMENT);
+        try {
+            writeBuffer.force();
+        } catch (UncheckedIOException e) {
+            writeBuffer.putInt(end, 0);
+            writeBuffer.position(end);
+            throw e.getCause();
+        }
+        writeSegment++;
+        writeBuffer = next;
+        log.debug("Rolled outbox to segment {}", writeSegment);
+    }
+
+    /**
+     * Finds the end of the valid data in a segment. A torn or corrupt record at the tail
+     * (from a crash mid-write) is discarded and the rest of the segment zeroed.
+     */
+    private int recoverWritePosition(MappedByteBuffer buffer) {
+        int offset = 0;
+        CRC32C crc = new CRC32C();
+        while (true) {
+            int length = buffer.getInt(offset);
+            if (length == 0 || length == END_OF_SEGMENT) {
+                return offset;
+            }
+            if (length < 0 || offset + HEADER_SIZE + length + Integer.BYTES > segmentSize) {
+                break;
+            }
+            crc.reset();
+            crc.update(buffer.slice(offset + HEADER_SIZE, length));
+            if ((int) crc.getValue() != buffer.getInt(offset + Integer.BYTES)) {
+                break;
+            }
+            offset += HEADER_SIZE + length;
+        }
+        log.warn("Discarding torn record at outbox segment {} position {}", writeSegment, offset);
+        for (int i = offset; i < segmentSize; i++) {
+            buffer.put(i, (byte) 0);
+        }
+        buffer.force();
+        return offset;
+    }
+
+    private MappedByteBuffer readBuffer(long segment) throws IOException {
+        if (segment != readSegment) {
+            readBuffer = mapSegment(segment, FileChannel.MapMode.READ_ONLY);
+            readSegment = segment;
+        }
+        return readBuffer;
+    }
+
+    private MappedByteBuffer mapSegment(long segment, FileChannel.MapMode mode) throws IOException {
+        Path path = segmentPath(segment);
+        if (mode == FileChannel.MapMode.READ_ONLY) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                return channel.map(mode, 0, segmentSize);
+            }
+        }
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(mode, 0, segmentSize);
+        }
+    }
+
+    private List<Long> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .map(path -> path.getFileName().toString())
+                .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                .map(name -> Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())))
+                .sorted()
+                .toList();
+        }
+    }
+
+    private Path segmentPath(long segment) {
+        return directory.resolve(String.format("%020d%s", segment, SEGMENT_SUFFIX));
+    }
+
+    private static Entry decode(byte[] body) {
+        ByteBuffer buffer = ByteBuffer.wrap(body);
+        int keyLength = buffer.getShort();
+        String key = new String(body, Short.BYTES, keyLength, StandardCharsets.UTF_8);
+        int valueOffset = Short.BYTES + keyLength;
+        byte[] value = Arrays.copyOfRange(body, valueOffset, body.length);
+        return new Entry(key, BinarySocialEventDeserializer.decode(value));
+    }
+
+    /**
+     * A location in the log: segment id and byte offset within it.
+     */
+    public record Position(long segment, int offset) {
+    }
+
+    /**
+     * A single outbox record.
+     */
+    public record Entry(String key, SocialEvent event) {
+    }
+
+    /**
+     * Records read from the log and the position to continue from.
+     */
+    public record Batch(List<Entry> entries, Position next) {
+    }
+
+    private record PendingAppend(long segment, int end, CompletableFuture<Void> future) {
+        boolean isCoveredBy(Position written) {
+            return segment < written.segment() || (segment == written.segment() && end <= written.offset());
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package io.gaming.platform.socialservice.producer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.SendResult;
+
+/**
+ * {@link KafkaTemplate} that spreads records over several producers, each with its own sender
+ * thread, record accumulator and broker connections, so that sends from many request threads
+ * are not serialized on a single producer.
+ * <p>
+ * All records with the same key go to the same producer, which keeps their order. With
+ * {@link ShardBy#PARTITION} the template picks the partition itself, the same way as Kafka's
+ * default partitioner, and producer {@code partition % shards} sends it. Each partition is then
+ * written by a single producer and its batches stay as full as with one producer. With
+ * {@link ShardBy#KEY} the producer is chosen by key hash and every producer writes to every
+ * partition, so batches are smaller. Either way keys are hashed with murmur2 over their UTF-8
+ * bytes, as {@code StringSerializer} writes them. Records without a key go to a random producer.
+ * <p>
+ * The partition count of a topic is cached, and a background thread looks it up again every
+ * {@code metadataRefresh}, so partitions added to the topic are used from then on without a send
+ * ever waiting for metadata. Only the first record of a topic not loaded by {@link #prepare}
+ * looks the count up on the calling thread, as its producer would wait for the metadata anyway.
+ */
+public class ShardedKafkaTemplate<V> extends KafkaTemplate<String, V> {
+    private static final Logger log = LoggerFactory.getLogger(ShardedKafkaTemplate.class);
+
+    /**
+     * How a record's producer is chosen.
+     */
+    public enum ShardBy {
+        PARTITION,
+        KEY
+    }
+
+    private final List<ProducerFactory<String, V>> factories;
+    private final KafkaTemplate<String, V>[] shards;
+    private final ShardBy shardBy;
+    private final Map<String, Integer> partitionCounts = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService metadataRefresher;
+
+    @SuppressWarnings("unchecked")
+    public ShardedKafkaTemplate(List<ProducerFactory<String, V>> factories, ShardBy shardBy, Duration metadataRefresh) {
+        super(factories.get(0));
+        if (metadataRefresh.isNegative() || metadataRefresh.isZero()) {
+            throw new IllegalArgumentException("app.kafka.producer.sharding.metadata-refresh must be positive");
+        }
+        this.factories = List.copyOf(factories);
+        this.shards = factories.stream().map(KafkaTemplate::new).toArray(KafkaTemplate[]::new);
+        this.shardBy = shardBy;
+        this.metadataRefresher = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("social-kafka-metadata").daemon().factory());
+        long refreshNanos = metadataRefresh.toNanos();
+        metadataRefresher.scheduleWithFixedDelay(this::refreshPartitionCounts, refreshNanos, refreshNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public int shardCount() {
+        return shards.length;
+    }
+
+    @Override
+    public CompletableFuture<SendResult<String, V>> send(String topic, String key, V data) {
+        return send(new ProducerRecord<>(topic, key, data));
+    }
+
+    @Override
+    public CompletableFuture<SendResult<String, V>> send(String topic, Integer partition, String key, V data) {
+        return send(new ProducerRecord<>(topic, partition, key, data));
+    }
+
+    @Override
+    public CompletableFuture<SendResult<String, V>> send(ProducerRecord<String, V> record) {
+        if (record.partition() != null) {
+            return shards[record.partition() % shards.length].send(record);
+        }
+        if (record.key() == null) {
+            return shards[ThreadLocalRandom.current().nextInt(shards.length)].send(record);
+        }
+        if (shardBy == ShardBy.KEY) {
+            return shards[hash(record.key()) % shards.length].send(record);
+        }
+        int partition = partitionFor(record.topic(), record.key());
+        return shards[partition % shards.length].send(new ProducerRecord<>(
+            record.topic(), partition, record.timestamp(), record.key(), record.value(), record.headers()));
+    }
+
+    /**
+     * Creates every shard's producer and loads the topic's metadata into each, blocking for up
+     * to {@code max.block.ms} per shard.
+     *
+     * @return the topic's partition count
+     */
+    public int prepare(String topic) {
+        int count = 0;
+        for (KafkaTemplate<String, V> shard : shards) {
+            count = shard.partitionsFor(topic).size();
+        }
+        partitionCounts.put(topic, count);
+        return count;
+    }
+
+    /**
+     * The partition Kafka's default partitioner would choose for the key.
+     */
+    int partitionFor(String topic, String key) {
+        Integer count = partitionCounts.get(topic);
+        if (count == null) {
+            count = partitionCounts.computeIfAbsent(topic, unknown -> shards[0].partitionsFor(unknown).size());
+        }
+        return hash(key) % count;
+    }
+
+    /**
+     * Kafka's default partitioner hash: murmur2 of the key's UTF-8 bytes, made non-negative.
+     */
+    private static int hash(String key) {
+        return Utils.toPositive(Utils.murmur2(key.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Looks up the partition count of every topic sent to so far. A topic whose metadata cannot
+     * be fetched keeps its previous count.
+     */
+    void refreshPartitionCounts() {
+        for (String topic : partitionCounts.keySet()) {
+            try {
+                partitionCounts.put(topic, shards[0].partitionsFor(topic).size());
+            } catch (RuntimeException e) {
+                log.warn("Cannot refresh the partition count of {}, keeping {}: {}",
+                    topic, partitionCounts.get(topic), e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void flush() {
+        for (KafkaTemplate<String, V> shard : shards) {
+            shard.flush();
+        }
+    }
+
+    /**
+     * Closes the producers of every shard.
+     */
+    @Override
+    public void destroy() {
+        metadataRefresher.shutdownNow();
+        super.destroy();
+        for (ProducerFactory<String, V> factory : factories) {
+            factory.reset();
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package io.gaming.platform.socialservice.producer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import io.gaming.platform.socialservice.eventid.EventIds;
+import io.gaming.platform.socialservice.model.EventCategory;
+import io.gaming.platform.socialservice.model.SocialEvent;
+import io.gaming.platform.socialservice.model.SocialEventType;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Suppresses repeats of the same (event type, player, other player) within a time window, as
+ * produced by client retries and double taps, so they are not published again.
+ * <p>
+ * Entries live in a fixed, 4-way set-associative table held in a single {@code long[]}, one
+ * 64-byte slot per entry. A key hashes to one set; a new key takes a free or expired way, else
+ * evicts the way closest to expiry. Sets are guarded by a fixed array of striped locks, so memory
+ * is bounded by {@code max-size} and concurrent requests only contend when they hash to the
+ * same stripe. Alongside each slot the send of its event is held until it is acknowledged, so a
+ * repeat arriving in the meantime completes with the original rather than ahead of it.
+ */
+@Component
+public class SocialEventDeduplicator implements MeterBinder {
+
+    private static final int WAYS = 4;
+    private static final int STRIPES = 256;
+    private static final String OTHER_PLAYER_ID = "otherPlayerId";
+
+    // Slot layout, in longs.
+    private static final int SLOT_SIZE = 8;
+    private static final int PLAYER = 0;
+    private static final int OTHER_PLAYER = 1;
+    private static final int TYPE = 2;           // ordinal + 1, 0 marks a free slot
+    private static final int EXPIRES_AT = 3;     // System.nanoTime() deadline
+    private static final int ID_HIGH = 4;
+    private static final int ID_LOW = 5;
+    private static final int TIMESTAMP_MICROS = 6;
+
+    private static final SocialEventType[] EVENT_TYPES = SocialEventType.values();
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final long[] slots;
+    private final Object[] sends;
+    private final int setMask;
+    private final Object[] locks = new Object[STRIPES];
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public SocialEventDeduplicator(
+            @Value("${app.dedup.enabled:true}") boolean enabled,
+            @Value("${app.dedup.ttl:10s}") Duration ttl,
+            @Value("${app.dedup.max-size:100000}") int maxSize) {
+        if (maxSize < WAYS) {
+            throw new IllegalArgumentException("app.dedup.max-size must be at least " + WAYS);
+        }
+        this.enabled = enabled;
+        this.ttlNanos = ttl.toNanos();
+        int sets = Integer.highestOneBit(Math.max(1, maxSize / WAYS));
+        this.setMask = sets - 1;
+        this.slots = new long[enabled ? sets * WAYS * SLOT_SIZE : 0];
+        this.sends = new Object[enabled ? sets * WAYS : 0];
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Records the event and its send unless the same action was recorded within the TTL, in which
+     * case the original is returned and the caller should not publish again.
+     *
+     * @param send completes with the result of publishing this event
+     * @return the original event, with its send while that is not yet acknowledged, or
+     *         {@code null} if this event is new
+     */
+    @Nullable
+    public Duplicate findDuplicate(SocialEvent event, CompletableFuture<SocialEventSendResult> send) {
+        if (!enabled || !(event.eventData().get(OTHER_PLAYER_ID) instanceof Number other)) {
+            return null;
+        }
+        long player = event.playerId();
+        long otherPlayer = other.longValue();
+        long type = event.eventType().ordinal() + 1;
+        int set = set(player, otherPlayer, type);
+        long now = System.nanoTime();
+        UUID eventId = EventIds.toUuid(event.eventId());
+        int recorded;
+
+        synchronized (locks[set & (STRIPES - 1)]) {
+            int base = set * WAYS * SLOT_SIZE;
+            int victim = -1;
+            long victimExpiry = Long.MAX_VALUE;
+            for (int way = 0; way < WAYS; way++) {
+                int slot = base + way * SLOT_SIZE;
+                boolean live = slots[slot + TYPE] != 0 && slots[slot + EXPIRES_AT] - now > 0;
+                if (live && slots[slot + TYPE] == type
+                        && slots[slot + PLAYER] == player && slots[slot + OTHER_PLAYER] == otherPlayer) {
+                    hits.increment();
+                    @SuppressWarnings("unchecked")
+                    CompletableFuture<SocialEventSendResult> originalSend =
+                        (CompletableFuture<SocialEventSendResult>) sends[slot / SLOT_SIZE];
+                    return new Duplicate(toEvent(slot), originalSend);
+                }
+                long expiry = live ? slots[slot + EXPIRES_AT] - now : Long.MIN_VALUE;
+                if (expiry < victimExpiry) {
+                    victim = slot;
+                    victimExpiry = expiry;
+                }
+            }
+            if (victimExpiry != Long.MIN_VALUE) {
+                evictions.increment();
+            }
+            slots[victim + PLAYER] = player;
+            slots[victim + OTHER_PLAYER] = otherPlayer;
+            slots[victim + TYPE] = type;
+            slots[victim + EXPIRES_AT] = now + ttlNanos;
+            slots[victim + ID_HIGH] = eventId.getMostSignificantBits();
+            slots[victim + ID_LOW] = eventId.getLeastSignificantBits();
+            slots[victim + TIMESTAMP_MICROS] = event.timestamp().getEpochSecond() * 1_000_000L
+                + event.timestamp().getNano() / 1_000;
+            sends[victim / SLOT_SIZE] = send;
+            recorded = victim;
+        }
+        misses.increment();
+        send.thenRun(() -> acknowledged(recorded, set, eventId));
+        return null;
+    }
+
+    /**
+     * Drops the entry recorded for this event, so a retry after a failed send is published.
+     */
+    public void forget(SocialEvent event) {
+        if (!enabled || !(event.eventData().get(OTHER_PLAYER_ID) instanceof Number other)) {
+            return;
+        }
+        long player = event.playerId();
+        long otherPlayer = other.longValue();
+        long type = event.eventType().ordinal() + 1;
+        UUID eventId = EventIds.toUuid(event.eventId());
+        int set = set(player, otherPlayer, type);
+
+        synchronized (locks[set & (STRIPES - 1)]) {
+            int base = set * WAYS * SLOT_SIZE;
+            for (int way = 0; way < WAYS; way++) {
+                int slot = base + way * SLOT_SIZE;
+                if (slots[slot + ID_HIGH] == eventId.getMostSignificantBits()
+                        && slots[slot + ID_LOW] == eventId.getLeastSignificantBits()) {
+                    slots[slot + TYPE] = 0;
+                    sends[slot / SLOT_SIZE] = null;
+                    return;
+                }
+            }
+        }
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    public int capacity() {
+        return slots.length / SLOT_SIZE;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("social.events.dedup.requests", this, SocialEventDeduplicator::hits)
+            .tag("result", "hit")
+            .description("Events suppressed as duplicates")
+            .register(registry);
+        FunctionCounter.builder("social.events.dedup.requests", this, SocialEventDeduplicator::misses)
+            .tag("result", "miss")
+            .description("Events not seen within the deduplication window")
+            .register(registry);
+        FunctionCounter.builder("social.events.dedup.evictions", this, SocialEventDeduplicator::evictions)
+            .description("Live entries evicted before their TTL because their set was full")
+            .register(registry);
+        Gauge.builder("social.events.dedup.capacity", this, SocialEventDeduplicator::capacity)
+            .register(registry);
+    }
+
+    /**
+     * Releases the send of an acknowledged event, unless its slot has since been reused; later
+     * repeats complete straight away.
+     */
+    private void acknowledged(int slot, int set, UUID eventId) {
+        synchronized (locks[set & (STRIPES - 1)]) {
+            if (slots[slot + ID_HIGH] == eventId.getMostSignificantBits()
+                    && slots[slot + ID_LOW] == eventId.getLeastSignificantBits()) {
+                sends[slot / SLOT_SIZE] = null;
+            }
+        }
+    }
+
+    private SocialEvent toEvent(int slot) {
+        long micros = slots[slot + TIMESTAMP_MICROS];
+        return new SocialEvent(
+            EventCategory.SOCIAL,
+            EVENT_TYPES[(int) slots[slot + TYPE] - 1],
+            EventIds.toString(slots[slot + ID_HIGH], slots[slot + ID_LOW]),
+            Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000L),
+            slots[slot + PLAYER],
+            Map.of(OTHER_PLAYER_ID, slots[slot + OTHER_PLAYER])
+        );
+    }
+
+    private int set(long player, long otherPlayer, long type) {
+        long h = player * 0x9E3779B97F4A7C15L ^ otherPlayer * 0xC2B2AE3D27D4EB4FL ^ type;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (int) h & setMask;
+    }
+
+    /**
+     * A repeat of a recorded event.
+     *
+     * @param original the event recorded first
+     * @param send the original's send while it is not yet acknowledged, else {@code null}
+     */
+    public record Duplicate(SocialEvent original, @Nullable CompletableFuture<SocialEventSendResult> send) {
+    }
+}
@@ -1,12 +1,22 @@
 package io.gaming.platform.socialservice.producer;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gaming.platform.socialservice.backpressure.PublishLimiter;
+import io.gaming.platform.socialservice.backpressure.PublishRejectedException;
+import io.gaming.platform.socialservice.coalescing.NewFollowerCoalescer;
+import io.gaming.platform.socialservice.eventid.EventIdGenerator;
+import io.gaming.platform.socialservice.friendrequest.PendingFriendRequestIndex;
+import io.gaming.platform.socialservice.keying.SocialEventKeyer;
+import io.gaming.platform.socialservice.metrics.SocialEventMetrics;
+import io.gaming.platform.socialservice.metrics.SocialEventMetrics.Outcome;
 import io.gaming.platform.socialservice.model.SocialEvent;
+import io.gaming.platform.socialservice.model.SocialEventType;
+import io.gaming.platform.socialservice.outbox.SocialEventOutbox;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 
 import java.util.concurrent.CompletableFuture;
@@ -14,63 +24,247 @@
 @Service
 public class SocialEventProducer {
     private static final Logger log = LoggerFactory.getLogger(SocialEventProducer.class);
+    private static final long NO_WAIT = Long.MIN_VALUE;
     
-    private final KafkaTemplate<String, String> kafkaTemplate;
-    private final ObjectMapper objectMapper;
+    private final KafkaTemplate<String, SocialEvent> kafkaTemplate;
     private final String topicName;
+    private final SocialEventDeduplicator deduplicator;
+    private final SocialEventOutbox outbox;
+    private final SocialEventMetrics metrics;
+    private final SocialEventPublishLog publishLog;
+    private final PendingFriendRequestIndex pendingFriendRequests;
+    private final EventIdGenerator eventIds;
+    private final SocialEventKeyer keyer;
+    private final PublishLimiter limiter;
+    private final NewFollowerCoalescer coalescer;
 
+    /**
+     * @param deduplicator suppresses repeats of an event within its window
+     * @param outbox local outbox to append to instead of sending directly, or {@code null}
+     *               to send every event to Kafka and wait for its acknowledgement
+     * @param metrics publish pipeline meters
+     * @param publishLog sampled log of acknowledged events
+     * @param pendingFriendRequests told about friend requests as soon as they are submitted, ahead
+     *                              of reading them back from the topic, and again when publishing
+     *                              one fails
+     * @param eventIds ids of the events this producer creates
+     * @param keyer record key of each event
+     * @param limiter bounds the sends awaiting an acknowledgement
+     * @param coalescer merges NEW_FOLLOWER events of one followed player into NEW_FOLLOWERS
+     *                  events, or {@code null} to publish each on its own
+     */
     public SocialEventProducer(
-            KafkaTemplate<String, String> kafkaTemplate,
-            ObjectMapper objectMapper,
-            @Value("${app.kafka.topic}") String topicName) {
+            KafkaTemplate<String, SocialEvent> kafkaTemplate,
+            @Value("${app.kafka.topic}") String topicName,
+            SocialEventDeduplicator deduplicator,
+            @Nullable SocialEventOutbox outbox,
+            SocialEventMetrics metrics,
+            SocialEventPublishLog publishLog,
+            PendingFriendRequestIndex pendingFriendRequests,
+            EventIdGenerator eventIds,
+            SocialEventKeyer keyer,
+            PublishLimiter limiter,
+            @Nullable NewFollowerCoalescer coalescer) {
         this.kafkaTemplate = kafkaTemplate;
-        this.objectMapper = objectMapper;
         this.topicName = topicName;
+        this.deduplicator = deduplicator;
+        this.outbox = outbox;
+        this.metrics = metrics;
+        this.publishLog = publishLog;
+        this.pendingFriendRequests = pendingFriendRequests;
+        this.eventIds = eventIds;
+        this.keyer = keyer;
+        this.limiter = limiter;
+        this.coalescer = coalescer;
     }
 
     /**
      * Sends a friend request event to Kafka.
      */
-    public CompletableFuture<SendResult<String, String>> sendFriendRequestEvent(Long requesterId, Long targetId) {
-        return sendSocialEvent(SocialEvent.friendRequest(requesterId, targetId));
+    public CompletableFuture<SocialEventSendResult> sendFriendRequestEvent(Long requesterId, Long targetId) {
+        return sendSocialEvent(SocialEventType.FRIEND_REQUEST, requesterId, targetId);
     }
 
     /**
      * Sends a friend acceptance event to Kafka.
      */
-    public CompletableFuture<SendResult<String, String>> sendFriendAcceptanceEvent(Long accepterId, Long requesterId) {
-        return sendSocialEvent(SocialEvent.friendAccepted(accepterId, requesterId));
+    public CompletableFuture<SocialEventSendResult> sendFriendAcceptanceEvent(Long accepterId, Long requesterId) {
+        return sendSocialEvent(SocialEventType.FRIEND_ACCEPTED, accepterId, requesterId);
     }
 
     /**
      * Sends a new follower event to Kafka.
      */
-    public CompletableFuture<SendResult<String, String>> sendNewFollowerEvent(Long followerId, Long followedId) {
-        return sendSocialEvent(SocialEvent.newFollower(followerId, followedId));
+    public CompletableFuture<SocialEventSendResult> sendNewFollowerEvent(Long followerId, Long followedId) {
+        return sendSocialEvent(SocialEventType.NEW_FOLLOWER, followerId, followedId);
+    }
+
+    /**
+     * Creates the event of the given type between the acting player and the other player and
+     * sends it to Kafka.
+     */
+    public CompletableFuture<SocialEventSendResult> sendSocialEvent(SocialEventType eventType, Long playerId, Long otherPlayerId) {
+        return sendSocialEvent(SocialEvent.of(eventType, playerId, otherPlayerId, eventIds), NO_WAIT);
+    }
+
+    /**
+     * Like {@link #sendSocialEvent(SocialEventType, Long, Long)}, but at the in-flight limit the
+     * calling thread waits for a permit until {@code permitDeadlineNanos} (see
+     * {@link #permitDeadline()}) before the event is refused. For streamed events, whose reader
+     * thread may wait, so a stream past the limit is paced rather than cut short.
+     */
+    public CompletableFuture<SocialEventSendResult> sendSocialEvent(SocialEventType eventType, Long playerId,
+            Long otherPlayerId, long permitDeadlineNanos) {
+        return sendSocialEvent(SocialEvent.of(eventType, playerId, otherPlayerId, eventIds), permitDeadlineNanos);
+    }
+
+    /**
+     * {@link System#nanoTime} at which a caller starting to submit events now stops waiting for
+     * permits: now plus {@code app.backpressure.max-wait}.
+     */
+    public long permitDeadline() {
+        return System.nanoTime() + limiter.maxWait().toNanos();
     }
 
     /**
      * Generic method to send any social event to Kafka.
+     * A repeat of a recently sent event is not sent again; the result carries the original event,
+     * and while the original is still in flight it completes, or fails, with the original.
+     * When too many sends are awaiting acknowledgement the future fails with
+     * {@link PublishRejectedException} without the event being sent. With coalescing on, a
+     * NEW_FOLLOWER event completes once the record it was merged into is acknowledged.
+     */
+    public CompletableFuture<SocialEventSendResult> sendSocialEvent(SocialEvent event) {
+        return sendSocialEvent(event, NO_WAIT);
+    }
+
+    private CompletableFuture<SocialEventSendResult> sendSocialEvent(SocialEvent event, long permitDeadlineNanos) {
+        CompletableFuture<SocialEventSendResult> send = new CompletableFuture<>();
+        CompletableFuture<SocialEventSendResult> result = null;
+        try {
+            SocialEventDeduplicator.Duplicate duplicate = deduplicator.findDuplicate(event, send);
+            if (duplicate != null) {
+                log.debug("Suppressed duplicate {} event for player {}, original event {}",
+                    event.eventType(), event.playerId(), duplicate.original().eventId());
+                metrics.recordResult(event.eventType(), Outcome.DUPLICATE);
+                if (duplicate.send() != null) {
+                    return duplicate.send().copy();
+                }
+                return CompletableFuture.completedFuture(
+                    SocialEventSendResult.unacknowledged(duplicate.original(), topicName));
+            }
+            if (coalescer != null && event.eventType() == SocialEventType.NEW_FOLLOWER) {
+                CompletableFuture<SocialEventSendResult> held = coalescer.add(event, aggregate -> publish(aggregate, NO_WAIT));
+                if (held != null) {
+                    result = held.whenComplete((ignored, ex) -> {
+                        if (ex != null) {
+                            deduplicator.forget(event);
+                        }
+                    });
+                }
+            }
+        } catch (Exception e) {
+            metrics.recordResult(event.eventType(), Outcome.FAILED);
+            deduplicator.forget(event);
+            log.error("Error preparing social event {}: {}", event.eventType(), e.getMessage(), e);
+            result = CompletableFuture.failedFuture(e);
+        }
+        if (result == null) {
+            result = publish(event, permitDeadlineNanos);
+        }
+        // Repeats submitted while this send is in flight complete with it.
+        result.whenComplete((sendResult, ex) -> {
+            if (ex != null) {
+                send.completeExceptionally(ex);
+            } else {
+                send.complete(sendResult);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Sends the event to Kafka, or appends it to the outbox, without looking for duplicates.
+     * A friend request is opened in the pending index before it is sent, so an acceptance
+     * submitted behind it, in the same batch or stream, is not refused while it awaits its ack.
+     *
+     * @param permitDeadlineNanos when to stop waiting for an in-flight permit, or {@code NO_WAIT}
      */
-    private CompletableFuture<SendResult<String, String>> sendSocialEvent(SocialEvent event) {
+    private CompletableFuture<SocialEventSendResult> publish(SocialEvent event, long permitDeadlineNanos) {
+        boolean submitted = pendingFriendRequests.submit(event);
         try {
-            String message = objectMapper.writeValueAsString(event);
-            String key = event.playerId().toString();
+            String key = keyer.key(event);
 
-            return kafkaTemplate.send(topicName, key, message)
+            if (outbox != null) {
+                return appendToOutbox(event, key, submitted);
+            }
+            if (!(permitDeadlineNanos == NO_WAIT ? limiter.tryAcquire() : limiter.tryAcquire(permitDeadlineNanos))) {
+                log.debug("Shed {} event for player {} at the in-flight limit", event.eventType(), event.playerId());
+                metrics.recordResult(event.eventType(), Outcome.SHED);
+                deduplicator.forget(event);
+                withdraw(event, submitted);
+                return CompletableFuture.failedFuture(new PublishRejectedException(limiter.retryAfter()));
+            }
+            long start = System.nanoTime();
+            CompletableFuture<SendResult<String, SocialEvent>> send;
+            try {
+                send = kafkaTemplate.send(topicName, key, event);
+            } catch (RuntimeException e) {
+                limiter.release(System.nanoTime() - start);
+                throw e;
+            }
+            long sent = System.nanoTime();
+            metrics.recordSend(event.eventType(), sent - start);
+            return send
+                .whenComplete((result, ex) -> limiter.release(System.nanoTime() - start))
                 .thenApply(result -> {
-                    log.info("Successfully sent social event {}: {} to topic {} partition {} offset {}",
-                        event.eventType(), message, result.getRecordMetadata().topic(),
-                        result.getRecordMetadata().partition(), result.getRecordMetadata().offset());
-                    return result;
+                    metrics.recordAck(event.eventType(), true, System.nanoTime() - sent);
+                    metrics.recordResult(event.eventType(), Outcome.ACKNOWLEDGED);
+                    SocialEventSendResult sendResult = new SocialEventSendResult(event, result.getRecordMetadata());
+                    keyer.recordPartition(sendResult.metadata().partition());
+                    publishLog.published(sendResult);
+                    return sendResult;
                 })
                 .exceptionally(ex -> {
+                    metrics.recordAck(event.eventType(), false, System.nanoTime() - sent);
+                    metrics.recordResult(event.eventType(), Outcome.FAILED);
+                    deduplicator.forget(event);
+                    withdraw(event, submitted);
                     log.error("Failed to send social event {}: {}", event.eventType(), ex.getMessage(), ex);
                     throw new RuntimeException("Failed to send social event", ex);
                 });
         } catch (Exception e) {
+            metrics.recordResult(event.eventType(), Outcome.FAILED);
+            deduplicator.forget(event);
+            withdraw(event, submitted);
             log.error("Error preparing social event {}: {}", event.eventType(), e.getMessage(), e);
             return CompletableFuture.failedFuture(e);
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * Completes once the event is durable in the outbox. Partition and offset are not known
+     * until the relay has delivered it, so the metadata carries {@code -1} for both.
+     */
+    private CompletableFuture<SocialEventSendResult> appendToOutbox(SocialEvent event, String key, boolean submitted) {
+        return outbox.append(key, event)
+            .thenApply(ignored -> {
+                log.debug("Accepted social event {} {} into outbox", event.eventType(), event.eventId());
+                metrics.recordResult(event.eventType(), Outcome.ACCEPTED);
+                return SocialEventSendResult.unacknowledged(event, topicName);
+            })
+            .exceptionally(ex -> {
+                metrics.recordResult(event.eventType(), Outcome.FAILED);
+                deduplicator.forget(event);
+                withdraw(event, submitted);
+                log.error("Failed to append social event {} to outbox: {}", event.eventType(), ex.getMessage(), ex);
+                throw new RuntimeException("Failed to append social event to outbox", ex);
+            });
+    }
+
+    private void withdraw(SocialEvent event, boolean submitted) {
+        if (submitted) {
+            pendingFriendRequests.withdraw(event);
+        }
+    }
+}
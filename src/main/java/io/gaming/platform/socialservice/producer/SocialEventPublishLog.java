@@ -0,0 +1,63 @@
+package io.gaming.platform.socialservice.producer;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.spi.LoggingEventBuilder;
+import org.springframework.stereotype.Component;
+
+import io.gaming.platform.socialservice.config.PublishLogProperties;
+import io.gaming.platform.socialservice.model.SocialEvent;
+import io.gaming.platform.socialservice.model.SocialEventType;
+
+/**
+ * Structured log of published social events, sampled per {@link SocialEventType}.
+ * <p>
+ * Records go to the {@value #LOGGER_NAME} logger as key-value pairs rather than a formatted
+ * message. {@code logback-spring.xml} routes that logger through a bounded asynchronous appender
+ * that drops records when full, so a slow log sink never holds up a send. Events that are not
+ * sampled cost one random draw.
+ */
+@Component
+public class SocialEventPublishLog {
+    public static final String LOGGER_NAME = "io.gaming.platform.socialservice.publish";
+
+    private static final Logger log = LoggerFactory.getLogger(LOGGER_NAME);
+
+    private final double[] sampleRates = new double[SocialEventType.values().length];
+    private final boolean includePayload;
+
+    public SocialEventPublishLog(PublishLogProperties properties) {
+        for (SocialEventType type : SocialEventType.values()) {
+            sampleRates[type.ordinal()] = properties.sampleRate(type);
+        }
+        this.includePayload = properties.includePayload();
+    }
+
+    public void published(SocialEventSendResult result) {
+        SocialEvent event = result.event();
+        if (!isSampled(event.eventType()) || !log.isInfoEnabled()) {
+            return;
+        }
+        RecordMetadata metadata = result.metadata();
+        LoggingEventBuilder entry = log.atInfo()
+            .setMessage("Published social event")
+            .addKeyValue("eventType", event.eventType())
+            .addKeyValue("eventId", event.eventId())
+            .addKeyValue("playerId", event.playerId())
+            .addKeyValue("topic", metadata.topic())
+            .addKeyValue("partition", metadata.partition())
+            .addKeyValue("offset", metadata.offset());
+        if (includePayload) {
+            entry = entry.addKeyValue("eventData", event.eventData());
+        }
+        entry.log();
+    }
+
+    boolean isSampled(SocialEventType type) {
+        double rate = sampleRates[type.ordinal()];
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+}
@@ -0,0 +1,29 @@
+package io.gaming.platform.socialservice.producer;
+
+import io.gaming.platform.socialservice.model.SocialEvent;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+
+/**
+ * Result of publishing a social event: the event as it was built by the producer and the
+ * metadata of the record it was written to. When the event was accepted without a Kafka
+ * acknowledgement (outbox delivery, or a suppressed duplicate), partition and offset are {@code -1}.
+ */
+public record SocialEventSendResult(
+    SocialEvent event,
+    RecordMetadata metadata
+) {
+    /**
+     * Result for an event whose record position is not known.
+     */
+    public static SocialEventSendResult unacknowledged(SocialEvent event, String topic) {
+        RecordMetadata metadata = new RecordMetadata(
+            new TopicPartition(topic, RecordMetadata.UNKNOWN_PARTITION), -1L, 0,
+            event.timestamp().toEpochMilli(), -1, -1);
+        return new SocialEventSendResult(event, metadata);
+    }
+
+    public boolean isAcknowledged() {
+        return metadata.hasOffset();
+    }
+}
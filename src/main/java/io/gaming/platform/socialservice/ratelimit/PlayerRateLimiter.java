@@ -0,0 +1,153 @@
+package io.gaming.platform.socialservice.ratelimit;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Per-player token bucket in front of the social event endpoints.
+ * <p>
+ * The bucket is kept in its GCRA form: instead of a token count and a refill time, each player
+ * has a single "theoretical arrival time" (TAT). A request at {@code now} is allowed when
+ * {@code TAT - burstTolerance <= now}, and then moves the TAT one emission interval forward.
+ * This is exactly a bucket of {@code burst} tokens refilled at {@code events-per-second}.
+ * <p>
+ * A player whose TAT is in the past has a full bucket, which is the same as having no entry at
+ * all, so idle players are evicted for free by overwriting them. State lives in a fixed
+ * 8-way set-associative table of 16-byte slots ({@code [playerId][TAT]}) in a {@link ByteBuffer}
+ * that can be allocated off-heap. When a set holds only active players, the one closest to a
+ * full bucket is dropped. Memory is therefore fixed at {@code max-players * 16} bytes.
+ */
+@Component
+public class PlayerRateLimiter implements MeterBinder {
+
+    private static final int WAYS = 8;
+    private static final int SLOT_BYTES = 2 * Long.BYTES;
+    private static final int STRIPES = 256;
+
+    private final boolean enabled;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final ByteBuffer table;
+    private final int setMask;
+    private final Object[] locks = new Object[STRIPES];
+    // Keeps stored times positive, so a zeroed slot always reads as idle.
+    private final long origin = System.nanoTime() - 1;
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public PlayerRateLimiter(
+            @Value("${app.rate-limit.enabled:true}") boolean enabled,
+            @Value("${app.rate-limit.events-per-second:5}") double eventsPerSecond,
+            @Value("${app.rate-limit.burst:20}") int burst,
+            @Value("${app.rate-limit.max-players:1048576}") int maxPlayers,
+            @Value("${app.rate-limit.off-heap:true}") boolean offHeap) {
+        if (eventsPerSecond <= 0 || burst < 1 || maxPlayers < WAYS) {
+            throw new IllegalArgumentException(
+                "app.rate-limit requires events-per-second > 0, burst >= 1 and max-players >= " + WAYS);
+        }
+        this.enabled = enabled;
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / eventsPerSecond);
+        this.burstToleranceNanos = (burst - 1) * emissionIntervalNanos;
+        int sets = Integer.highestOneBit(maxPlayers / WAYS);
+        this.setMask = sets - 1;
+        int bytes = enabled ? sets * WAYS * SLOT_BYTES : 0;
+        this.table = (offHeap ? ByteBuffer.allocateDirect(bytes) : ByteBuffer.allocate(bytes))
+            .order(ByteOrder.nativeOrder());
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Takes one token from the player's bucket.
+     *
+     * @return {@code 0} if the request is allowed, otherwise the nanoseconds until it would be
+     */
+    public long tryAcquire(long playerId) {
+        if (!enabled) {
+            return 0;
+        }
+        long now = System.nanoTime() - origin;
+        int set = set(playerId);
+
+        synchronized (locks[set & (STRIPES - 1)]) {
+            int base = set * WAYS * SLOT_BYTES;
+            int slot = -1;
+            long tat = now;
+            int victim = base;
+            long victimTat = Long.MAX_VALUE;
+            for (int way = 0; way < WAYS; way++) {
+                int offset = base + way * SLOT_BYTES;
+                long storedTat = table.getLong(offset + Long.BYTES);
+                if (storedTat > now && table.getLong(offset) == playerId) {
+                    slot = offset;
+                    tat = storedTat;
+                    break;
+                }
+                if (storedTat < victimTat) {
+                    victim = offset;
+                    victimTat = storedTat;
+                }
+            }
+            if (slot < 0) {
+                slot = victim;
+                if (victimTat > now) {
+                    evictions.increment();
+                }
+            }
+
+            long allowAt = tat - burstToleranceNanos;
+            if (now < allowAt) {
+                rejected.increment();
+                return allowAt - now;
+            }
+            table.putLong(slot, playerId);
+            table.putLong(slot + Long.BYTES, Math.max(tat, now) + emissionIntervalNanos);
+        }
+        allowed.increment();
+        return 0;
+    }
+
+    public long allowedCount() {
+        return allowed.sum();
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("social.events.rate_limit.requests", this, PlayerRateLimiter::allowedCount)
+            .tag("result", "allowed")
+            .register(registry);
+        FunctionCounter.builder("social.events.rate_limit.requests", this, PlayerRateLimiter::rejectedCount)
+            .tag("result", "rejected")
+            .description("Requests answered with 429 Too Many Requests")
+            .register(registry);
+        FunctionCounter.builder("social.events.rate_limit.evictions", this, PlayerRateLimiter::evictionCount)
+            .description("Active players dropped from the limiter because their set was full")
+            .register(registry);
+    }
+
+    private int set(long playerId) {
+        long h = playerId * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 32;
+        return (int) h & setMask;
+    }
+}
@@ -0,0 +1,127 @@
+package io.gaming.platform.socialservice.serialization;
+
+import static io.gaming.platform.socialservice.serialization.BinarySocialEventSerializer.KNOWN_KEYS;
+import static io.gaming.platform.socialservice.serialization.BinarySocialEventSerializer.SCHEMA_VERSION;
+import static io.gaming.platform.socialservice.serialization.BinarySocialEventSerializer.TAG_BOOLEAN;
+import static io.gaming.platform.socialservice.serialization.BinarySocialEventSerializer.TAG_DOUBLE;
+import static io.gaming.platform.socialservice.serialization.BinarySocialEventSerializer.TAG_LONG;
+import static io.gaming.platform.socialservice.serialization.BinarySocialEventSerializer.TAG_LONG_ARRAY;
+import static io.gaming.platform.socialservice.serialization.BinarySocialEventSerializer.TAG_NULL;
+import static io.gaming.platform.socialservice.serialization.BinarySocialEventSerializer.TAG_STRING;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import io.gaming.platform.socialservice.eventid.EventIds;
+import io.gaming.platform.socialservice.model.EventCategory;
+import io.gaming.platform.socialservice.model.SocialEvent;
+import io.gaming.platform.socialservice.model.SocialEventType;
+
+/**
+ * Reads the format written by {@link BinarySocialEventSerializer}.
+ */
+public class BinarySocialEventDeserializer implements Deserializer<SocialEvent> {
+
+    private static final EventCategory[] CATEGORIES = EventCategory.values();
+    private static final SocialEventType[] EVENT_TYPES = SocialEventType.values();
+
+    @Override
+    public SocialEvent deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        return decode(data);
+    }
+
+    /**
+     * Decodes an event without going through the Kafka deserializer contract.
+     */
+    public static SocialEvent decode(byte[] data) {
+        try {
+            ByteBuffer in = ByteBuffer.wrap(data);
+            byte version = in.get();
+            if (version != SCHEMA_VERSION) {
+                throw new SerializationException("Unsupported SocialEvent schema version " + version);
+            }
+            EventCategory category = CATEGORIES[in.get()];
+            SocialEventType eventType = EVENT_TYPES[in.get()];
+            String eventId = EventIds.toString(in.getLong(), in.getLong());
+            Instant timestamp = fromEpochMicros(in.getLong());
+            long playerId = unZigZag(readVarLong(in));
+
+            int entries = (int) readVarLong(in);
+            Map<String, Object> eventData = new LinkedHashMap<>(Math.max(2, entries * 2));
+            for (int i = 0; i < entries; i++) {
+                int keyId = (int) readVarLong(in);
+                String key = keyId == 0 ? readString(in) : KNOWN_KEYS.get(keyId - 1);
+                eventData.put(key, readValue(in));
+            }
+            return new SocialEvent(category, eventType, eventId, timestamp, playerId,
+                Collections.unmodifiableMap(eventData));
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new SerializationException("Truncated or corrupt SocialEvent record", e);
+        }
+    }
+
+    private static Object readValue(ByteBuffer in) {
+        byte tag = in.get();
+        return switch (tag) {
+            case TAG_NULL -> null;
+            case TAG_LONG -> unZigZag(readVarLong(in));
+            case TAG_STRING -> readString(in);
+            case TAG_BOOLEAN -> in.get() != 0;
+            case TAG_DOUBLE -> Double.longBitsToDouble(in.getLong());
+            case TAG_LONG_ARRAY -> readLongArray(in);
+            default -> throw new SerializationException("Unknown eventData value tag " + tag);
+        };
+    }
+
+    private static long[] readLongArray(ByteBuffer in) {
+        int length = (int) readVarLong(in);
+        if (length < 0 || length > in.remaining()) {
+            throw new SerializationException("Malformed long array length " + length);
+        }
+        long[] values = new long[length];
+        long previous = 0;
+        for (int i = 0; i < length; i++) {
+            previous += unZigZag(readVarLong(in));
+            values[i] = previous;
+        }
+        return values;
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new SerializationException("Malformed varint");
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = (int) readVarLong(in);
+        String value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+
+    private static Instant fromEpochMicros(long micros) {
+        return Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000L);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,173 @@
+package io.gaming.platform.socialservice.serialization;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+import io.gaming.platform.socialservice.eventid.EventIds;
+import io.gaming.platform.socialservice.model.SocialEvent;
+
+/**
+ * Compact binary encoding of {@link SocialEvent}, read back by {@link BinarySocialEventDeserializer}.
+ * <p>
+ * Layout (schema version 1):
+ * <pre>
+ * byte    schema version
+ * byte    category ordinal
+ * byte    event type ordinal
+ * 16      event id as UUID (most, least significant bits); a Snowflake id as (0, id), see EventIds
+ * 8       timestamp as epoch microseconds
+ * varlong player id (zig-zag)
+ * varint  number of eventData entries, then per entry:
+ *         varint key id (0 = literal UTF-8 key follows, otherwise index into KNOWN_KEYS + 1)
+ *         byte   value tag, then the value; a long[] is a varint count followed by the zig-zag
+ *                varlong difference of each element from the one before it (the first from 0)
+ * </pre>
+ * Enum ordinals are part of the format: new constants must only ever be appended.
+ */
+public class BinarySocialEventSerializer implements Serializer<SocialEvent> {
+
+    static final byte SCHEMA_VERSION = 1;
+
+    /**
+     * eventData keys written as a one-byte id instead of their name. Append only.
+     */
+    static final List<String> KNOWN_KEYS = List.of("otherPlayerId", "followerIds");
+
+    static final byte TAG_NULL = 0;
+    static final byte TAG_LONG = 1;
+    static final byte TAG_STRING = 2;
+    static final byte TAG_BOOLEAN = 3;
+    static final byte TAG_DOUBLE = 4;
+    static final byte TAG_LONG_ARRAY = 5;
+
+    @Override
+    public byte[] serialize(String topic, SocialEvent event) {
+        if (event == null) {
+            return null;
+        }
+        return encode(event);
+    }
+
+    /**
+     * Encodes an event without going through the Kafka serializer contract.
+     */
+    public static byte[] encode(SocialEvent event) {
+        Writer out = new Writer();
+        out.writeByte(SCHEMA_VERSION);
+        out.writeByte(event.category().ordinal());
+        out.writeByte(event.eventType().ordinal());
+        UUID eventId;
+        try {
+            eventId = EventIds.toUuid(event.eventId());
+        } catch (IllegalArgumentException e) {
+            throw new SerializationException("Event id is not a UUID or Snowflake id: " + event.eventId(), e);
+        }
+        out.writeLong(eventId.getMostSignificantBits());
+        out.writeLong(eventId.getLeastSignificantBits());
+        out.writeLong(toEpochMicros(event.timestamp()));
+        out.writeVarLong(zigZag(event.playerId()));
+
+        Map<String, Object> eventData = event.eventData() == null ? Map.of() : event.eventData();
+        out.writeVarLong(eventData.size());
+        for (Map.Entry<String, Object> entry : eventData.entrySet()) {
+            int keyId = KNOWN_KEYS.indexOf(entry.getKey());
+            out.writeVarLong(keyId + 1);
+            if (keyId < 0) {
+                out.writeString(entry.getKey());
+            }
+            writeValue(out, entry.getKey(), entry.getValue());
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeValue(Writer out, String key, Object value) {
+        if (value == null) {
+            out.writeByte(TAG_NULL);
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            out.writeByte(TAG_LONG);
+            out.writeVarLong(zigZag(((Number) value).longValue()));
+        } else if (value instanceof String s) {
+            out.writeByte(TAG_STRING);
+            out.writeString(s);
+        } else if (value instanceof Boolean b) {
+            out.writeByte(TAG_BOOLEAN);
+            out.writeByte(b ? 1 : 0);
+        } else if (value instanceof Double || value instanceof Float) {
+            out.writeByte(TAG_DOUBLE);
+            out.writeLong(Double.doubleToLongBits(((Number) value).doubleValue()));
+        } else if (value instanceof long[] values) {
+            out.writeByte(TAG_LONG_ARRAY);
+            out.writeVarLong(values.length);
+            long previous = 0;
+            for (long element : values) {
+                out.writeVarLong(zigZag(element - previous));
+                previous = element;
+            }
+        } else {
+            throw new SerializationException(
+                "Unsupported eventData value type " + value.getClass().getName() + " for key " + key);
+        }
+    }
+
+    static long toEpochMicros(Instant timestamp) {
+        return Math.addExact(Math.multiplyExact(timestamp.getEpochSecond(), 1_000_000L), timestamp.getNano() / 1_000);
+    }
+
+    static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Minimal growable big-endian byte writer; avoids the synchronization of ByteArrayOutputStream.
+     */
+    private static final class Writer {
+        private byte[] buffer = new byte[64];
+        private int size;
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[size++] = (byte) value;
+        }
+
+        void writeLong(long value) {
+            ensureCapacity(Long.BYTES);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+        private void ensureCapacity(int additional) {
+            if (size + additional > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + additional));
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package io.gaming.platform.socialservice.serialization;
+
+import java.util.Map;
+
+import org.apache.kafka.common.serialization.Serializer;
+
+import io.gaming.platform.socialservice.metrics.SocialEventMetrics;
+import io.gaming.platform.socialservice.model.SocialEvent;
+
+/**
+ * Records the encoding time of each record value, per event type, around another serializer.
+ */
+public class TimedSocialEventSerializer implements Serializer<SocialEvent> {
+
+    private final Serializer<SocialEvent> delegate;
+    private final SocialEventMetrics metrics;
+
+    public TimedSocialEventSerializer(Serializer<SocialEvent> delegate, SocialEventMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        delegate.configure(configs, isKey);
+    }
+
+    @Override
+    public byte[] serialize(String topic, SocialEvent event) {
+        if (event == null) {
+            return delegate.serialize(topic, null);
+        }
+        long start = System.nanoTime();
+        byte[] bytes = delegate.serialize(topic, event);
+        metrics.recordSerialization(event.eventType(), System.nanoTime() - start);
+        return bytes;
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
@@ -0,0 +1,163 @@
+package io.gaming.platform.socialservice.startup;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.kafka.common.serialization.Serializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.gaming.platform.socialservice.dto.FriendAcceptanceRequest;
+import io.gaming.platform.socialservice.dto.FriendRequestRequest;
+import io.gaming.platform.socialservice.dto.NewFollowerRequest;
+import io.gaming.platform.socialservice.dto.SocialEventBatchItem;
+import io.gaming.platform.socialservice.dto.SocialEventBatchResponse;
+import io.gaming.platform.socialservice.dto.SocialEventResponse;
+import io.gaming.platform.socialservice.eventid.EventIdGenerator;
+import io.gaming.platform.socialservice.model.SocialEvent;
+import io.gaming.platform.socialservice.model.SocialEventType;
+import io.gaming.platform.socialservice.producer.ShardedKafkaTemplate;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.validation.Validator;
+
+/**
+ * Does the one-off work of the first requests before the instance reports itself ready.
+ * <p>
+ * Application runners complete before the readiness state turns to {@code ACCEPTING_TRAFFIC},
+ * so while this runs {@code /actuator/health/readiness} answers 503 and the load balancer holds
+ * traffic back. It creates the Kafka producer (every shard's, when sharded) and loads the
+ * topic's metadata, then encodes one event of each type with the record value serializer and
+ * reads and writes each request and response type with Jackson and the validator. Nothing is
+ * published. When the broker does not answer within the timeout the instance becomes ready
+ * anyway and the first sends wait for the metadata as before.
+ * <p>
+ * Time-to-ready is logged once the application is ready, and exported by Spring Boot as
+ * {@code application.ready.time}.
+ */
+@Component
+public class StartupWarmup implements ApplicationRunner, MeterBinder {
+    private static final Logger log = LoggerFactory.getLogger(StartupWarmup.class);
+
+    private final KafkaTemplate<String, SocialEvent> kafkaTemplate;
+    private final Serializer<SocialEvent> socialEventSerializer;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final EventIdGenerator eventIds;
+    private final String topicName;
+    private final boolean enabled;
+    private final Duration timeout;
+
+    private volatile long producerNanos;
+    private volatile long serializerNanos;
+
+    public StartupWarmup(
+            KafkaTemplate<String, SocialEvent> kafkaTemplate,
+            Serializer<SocialEvent> socialEventSerializer,
+            ObjectMapper objectMapper,
+            Validator validator,
+            EventIdGenerator eventIds,
+            @Value("${app.kafka.topic}") String topicName,
+            @Value("${app.warmup.enabled:true}") boolean enabled,
+            @Value("${app.warmup.timeout:30s}") Duration timeout) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.socialEventSerializer = socialEventSerializer;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.eventIds = eventIds;
+        this.topicName = topicName;
+        this.enabled = enabled;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        CompletableFuture<Integer> metadata = CompletableFuture.supplyAsync(this::prepareProducer);
+        try {
+            primeSerializers();
+        } catch (Exception e) {
+            log.warn("Failed to prime serializers: {}", e.getMessage());
+        }
+        serializerNanos = System.nanoTime() - start;
+        try {
+            int partitions = metadata.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            log.info("Warmed up in {} ms: producer and metadata of {} ({} partitions) {} ms, serializers {} ms",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), topicName, partitions,
+                TimeUnit.NANOSECONDS.toMillis(producerNanos), TimeUnit.NANOSECONDS.toMillis(serializerNanos));
+        } catch (TimeoutException e) {
+            log.warn("Kafka metadata for {} not loaded within {}, becoming ready without it", topicName, timeout);
+        } catch (ExecutionException e) {
+            log.warn("Failed to load Kafka metadata for {}, becoming ready without it: {}",
+                topicName, e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        log.info("Ready to accept traffic {} ms after JVM start ({} ms in SpringApplication.run)",
+            ManagementFactory.getRuntimeMXBean().getUptime(), event.getTimeTaken().toMillis());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        TimeGauge.builder("social.startup.warmup", this, TimeUnit.NANOSECONDS, warmup -> warmup.producerNanos)
+            .description("Time spent warming up before becoming ready")
+            .tag("step", "producer")
+            .register(registry);
+        TimeGauge.builder("social.startup.warmup", this, TimeUnit.NANOSECONDS, warmup -> warmup.serializerNanos)
+            .description("Time spent warming up before becoming ready")
+            .tag("step", "serializers")
+            .register(registry);
+    }
+
+    /**
+     * @return the topic's partition count
+     */
+    private int prepareProducer() {
+        long start = System.nanoTime();
+        int partitions = kafkaTemplate instanceof ShardedKafkaTemplate<?> sharded
+            ? sharded.prepare(topicName)
+            : kafkaTemplate.partitionsFor(topicName).size();
+        producerNanos = System.nanoTime() - start;
+        return partitions;
+    }
+
+    private void primeSerializers() throws JsonProcessingException {
+        for (SocialEventType type : SocialEventType.values()) {
+            SocialEvent event = type == SocialEventType.NEW_FOLLOWERS
+                ? SocialEvent.newFollowers(new long[] {1L, 2L}, 3L, eventIds)
+                : SocialEvent.of(type, 1L, 2L, eventIds);
+            socialEventSerializer.serialize(topicName, event);
+            SocialEventResponse response = SocialEventResponse.success(
+                event.eventId(), event.category(), type, event.timestamp(), event.playerId());
+            objectMapper.writeValueAsBytes(SocialEventBatchResponse.of(List.of(response)));
+        }
+        validator.validate(objectMapper.readValue("{\"requesterId\":1,\"targetId\":2}", FriendRequestRequest.class));
+        validator.validate(objectMapper.readValue("{\"acceptorId\":2,\"requesterId\":1}", FriendAcceptanceRequest.class));
+        validator.validate(objectMapper.readValue("{\"followerId\":1,\"targetId\":2}", NewFollowerRequest.class));
+        validator.validate(objectMapper.readValue(
+            "{\"type\":\"NEW_FOLLOWER\",\"playerId\":1,\"otherPlayerId\":2}", SocialEventBatchItem.class));
+    }
+}
@@ -0,0 +1,147 @@
+package io.gaming.platform.socialservice.stream;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.RecordDeserializationException;
+import org.apache.kafka.common.errors.WakeupException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Component;
+
+import io.gaming.platform.socialservice.model.SocialEvent;
+
+/**
+ * Tails the social events topic and hands every new event to the {@link SocialEventStreamHub},
+ * so players receive events published through any instance.
+ * <p>
+ * Streams only carry events published after the client connected, so every partition is read
+ * from its end at startup; after a reconnect to the broker the consumer resumes where it stopped.
+ * Polling returns as soon as records arrive, so delivery adds a fetch round trip to the
+ * producer's acknowledgement latency.
+ */
+@Component
+@ConditionalOnProperty(name = "app.stream.enabled", havingValue = "true")
+public class SocialEventStreamConsumer implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(SocialEventStreamConsumer.class);
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+    private static final long INITIAL_BACKOFF_MS = 100;
+    private static final long MAX_BACKOFF_MS = 10_000;
+
+    private final SocialEventStreamHub hub;
+    private final ConsumerFactory<String, SocialEvent> consumerFactory;
+    private final String topicName;
+
+    private final Map<TopicPartition, Long> positions = new HashMap<>();
+    private volatile boolean running;
+    private volatile Consumer<String, SocialEvent> consumer;
+    private Thread consumerThread;
+
+    public SocialEventStreamConsumer(
+            SocialEventStreamHub hub,
+            ConsumerFactory<String, SocialEvent> socialEventConsumerFactory,
+            @Value("${app.kafka.topic}") String topicName) {
+        this.hub = hub;
+        this.consumerFactory = socialEventConsumerFactory;
+        this.topicName = topicName;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        consumerThread = Thread.ofPlatform().name("social-stream-consumer").daemon().start(this::consumeLoop);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Consumer<String, SocialEvent> current = consumer;
+        if (current != null) {
+            current.wakeup();
+        }
+        if (consumerThread != null) {
+            try {
+                consumerThread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void consumeLoop() {
+        long backoffMs = INITIAL_BACKOFF_MS;
+        while (running) {
+            try (Consumer<String, SocialEvent> kafkaConsumer = consumerFactory.createConsumer(null, "social-stream", null)) {
+                consumer = kafkaConsumer;
+                assign(kafkaConsumer);
+                backoffMs = INITIAL_BACKOFF_MS;
+                consume(kafkaConsumer);
+            } catch (WakeupException e) {
+                // stop() woke the consumer
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Social event stream consumer failed, retrying in {} ms: {}", backoffMs, e.getMessage());
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+            } finally {
+                consumer = null;
+            }
+        }
+    }
+
+    private void assign(Consumer<String, SocialEvent> kafkaConsumer) {
+        List<TopicPartition> partitions = kafkaConsumer.partitionsFor(topicName).stream()
+            .map(info -> new TopicPartition(topicName, info.partition()))
+            .toList();
+        kafkaConsumer.assign(partitions);
+        for (TopicPartition partition : partitions) {
+            Long position = positions.get(partition);
+            if (position != null) {
+                kafkaConsumer.seek(partition, position);
+            } else {
+                kafkaConsumer.seekToEnd(List.of(partition));
+            }
+        }
+    }
+
+    private void consume(Consumer<String, SocialEvent> kafkaConsumer) {
+        while (running) {
+            try {
+                for (ConsumerRecord<String, SocialEvent> record : kafkaConsumer.poll(POLL_TIMEOUT)) {
+                    if (record.value() != null) {
+                        hub.publish(record.value());
+                    }
+                    positions.put(new TopicPartition(record.topic(), record.partition()), record.offset() + 1);
+                }
+            } catch (RecordDeserializationException e) {
+                log.warn("Skipping undecodable record at {} offset {}: {}",
+                    e.topicPartition(), e.offset(), e.getMessage());
+                kafkaConsumer.seek(e.topicPartition(), e.offset() + 1);
+                positions.put(e.topicPartition(), e.offset() + 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package io.gaming.platform.socialservice.stream;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.gaming.platform.socialservice.model.SocialEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Fans social events out to the Server-Sent Event streams of the players they are addressed to.
+ * <p>
+ * An idle subscriber is only its emitter, a small queue and an entry in the per-player index; no
+ * thread is held. Publishing appends to the subscriber's queue and, if no drain is running,
+ * starts one on a virtual thread, which writes queued events until the queue is empty. A blocked
+ * socket therefore only parks that virtual thread. A subscriber whose queue reaches
+ * {@code buffer-size} is too slow to keep up: it is removed and its stream closed, and the client
+ * is expected to reconnect. Heartbeat comments keep idle connections open through proxies and
+ * surface dead clients.
+ */
+@Component
+@ConditionalOnProperty(name = "app.stream.enabled", havingValue = "true")
+public class SocialEventStreamHub implements MeterBinder, DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(SocialEventStreamHub.class);
+
+    private static final String OTHER_PLAYER_ID = "otherPlayerId";
+    private static final Object HEARTBEAT = new Object();
+    private static final Subscriber[] NONE = new Subscriber[0];
+
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long connectionTimeoutMs;
+
+    private final ConcurrentHashMap<Long, Subscriber[]> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeats;
+
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private volatile Timer latency;
+
+    public SocialEventStreamHub(
+            @Value("${app.stream.buffer-size:64}") int bufferSize,
+            @Value("${app.stream.max-subscribers:500000}") int maxSubscribers,
+            @Value("${app.stream.heartbeat-interval:30s}") Duration heartbeatInterval,
+            @Value("${app.stream.max-connection-duration:30m}") Duration maxConnectionDuration) {
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.connectionTimeoutMs = maxConnectionDuration.toMillis();
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("social-stream-heartbeat").daemon().factory());
+        long heartbeatMs = heartbeatInterval.toMillis();
+        heartbeats.scheduleAtFixedRate(this::sendHeartbeats, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens a stream of the events addressed to the player.
+     *
+     * @return the emitter to return from the handler, or {@code null} if the node is at
+     *         {@code max-subscribers}
+     */
+    public SseEmitter subscribe(long playerId) {
+        return subscribe(playerId, new SseEmitter(connectionTimeoutMs));
+    }
+
+    SseEmitter subscribe(long playerId, SseEmitter emitter) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            rejected.increment();
+            return null;
+        }
+        Subscriber subscriber = new Subscriber(playerId, emitter);
+        subscribers.compute(playerId, (id, current) -> {
+            Subscriber[] updated = current == null ? new Subscriber[1] : Arrays.copyOf(current, current.length + 1);
+            updated[updated.length - 1] = subscriber;
+            return updated;
+        });
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(ex -> remove(subscriber));
+        return emitter;
+    }
+
+    /**
+     * Queues the event for every stream of the player it is addressed to. Never blocks.
+     */
+    public void publish(SocialEvent event) {
+        if (!(event.eventData().get(OTHER_PLAYER_ID) instanceof Number other)) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers.getOrDefault(other.longValue(), NONE)) {
+            if (!subscriber.offer(event)) {
+                evict(subscriber);
+            }
+        }
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    public long evictions() {
+        return evicted.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("social.events.stream.subscribers", subscriberCount, AtomicInteger::get)
+            .description("Open social event streams")
+            .register(registry);
+        FunctionCounter.builder("social.events.stream.deliveries", delivered, LongAdder::sum)
+            .description("Events written to social event streams")
+            .register(registry);
+        FunctionCounter.builder("social.events.stream.evictions", this, SocialEventStreamHub::evictions)
+            .description("Streams closed because the client fell more than buffer-size events behind")
+            .register(registry);
+        FunctionCounter.builder("social.events.stream.rejections", rejected, LongAdder::sum)
+            .description("Stream requests refused at max-subscribers")
+            .register(registry);
+        latency = Timer.builder("social.events.stream.latency")
+            .description("Time from an event's timestamp until it was written to a stream")
+            .publishPercentiles(0.5, 0.99)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofMillis(1))
+            .maximumExpectedValue(Duration.ofSeconds(30))
+            .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        heartbeats.shutdownNow();
+        subscribers.values().forEach(list -> {
+            for (Subscriber subscriber : list) {
+                subscriber.closed.set(true);
+                senders.execute(subscriber.emitter::complete);
+            }
+        });
+        subscribers.clear();
+        senders.shutdown();
+    }
+
+    private void sendHeartbeats() {
+        subscribers.values().forEach(list -> {
+            for (Subscriber subscriber : list) {
+                if (!subscriber.offer(HEARTBEAT)) {
+                    evict(subscriber);
+                }
+            }
+        });
+    }
+
+    private void evict(Subscriber subscriber) {
+        if (remove(subscriber)) {
+            evicted.increment();
+            log.debug("Closing stream of slow subscriber for player {}", subscriber.playerId);
+            // A blocked write holds the emitter, so complete it off the publishing thread.
+            senders.execute(subscriber.emitter::complete);
+        }
+    }
+
+    private boolean remove(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return false;
+        }
+        subscribers.computeIfPresent(subscriber.playerId, (id, current) -> {
+            Subscriber[] updated = Arrays.stream(current).filter(s -> s != subscriber).toArray(Subscriber[]::new);
+            return updated.length == 0 ? null : updated;
+        });
+        subscriberCount.decrementAndGet();
+        return true;
+    }
+
+    private final class Subscriber {
+        final long playerId;
+        final SseEmitter emitter;
+        final Queue<Object> queue = new ConcurrentLinkedQueue<>();
+        final AtomicInteger queued = new AtomicInteger();
+        final AtomicBoolean draining = new AtomicBoolean();
+        final AtomicBoolean closed = new AtomicBoolean();
+
+        Subscriber(long playerId, SseEmitter emitter) {
+            this.playerId = playerId;
+            this.emitter = emitter;
+        }
+
+        /**
+         * @return {@code false} if the queue is full
+         */
+        boolean offer(Object item) {
+            if (closed.get()) {
+                return true;
+            }
+            if (queued.incrementAndGet() > bufferSize) {
+                queued.decrementAndGet();
+                return false;
+            }
+            queue.offer(item);
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+            return true;
+        }
+
+        private void drain() {
+            try {
+                Object item;
+                while (!closed.get() && (item = queue.poll()) != null) {
+                    queued.decrementAndGet();
+                    send(item);
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Stream of player {} closed: {}", playerId, e.getMessage());
+                remove(this);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            if (!closed.get() && !queue.isEmpty() && draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void send(Object item) throws IOException {
+            if (item == HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+                return;
+            }
+            SocialEvent event = (SocialEvent) item;
+            emitter.send(SseEmitter.event()
+                .id(event.eventId())
+                .name(event.eventType().name())
+                .data(event, MediaType.APPLICATION_JSON));
+            delivered.increment();
+            Timer timer = latency;
+            if (timer != null && event.timestamp() != null) {
+                timer.record(Duration.between(event.timestamp(), Instant.now()));
+            }
+        }
+    }
+}
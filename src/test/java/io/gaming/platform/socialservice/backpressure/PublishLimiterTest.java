@@ -0,0 +1,119 @@
+package io.gaming.platform.socialservice.backpressure;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+
+import io.gaming.platform.socialservice.config.BackpressureProperties;
+import io.gaming.platform.socialservice.config.BackpressureProperties.Mode;
+
+class PublishLimiterTest {
+
+    @Test
+    void tryAcquire_ShouldRefuseOverLimitAndReportDegraded() {
+        // Arrange
+        PublishLimiter limiter = new PublishLimiter(properties(true, Mode.FIXED, 2));
+        PublishBackpressureHealthIndicator health = new PublishBackpressureHealthIndicator(limiter);
+        Status before = health.health().getStatus();
+
+        // Act
+        boolean first = limiter.tryAcquire();
+        boolean second = limiter.tryAcquire();
+        boolean third = limiter.tryAcquire();
+        limiter.release(1_000_000);
+        boolean afterRelease = limiter.tryAcquire();
+
+        // Assert
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(third).isFalse();
+        assertThat(afterRelease).isTrue();
+        assertThat(limiter.inFlight()).isEqualTo(2);
+        assertThat(limiter.rejections()).isEqualTo(1);
+        assertThat(before).isEqualTo(Status.UP);
+        assertThat(health.health().getStatus()).isEqualTo(PublishBackpressureHealthIndicator.DEGRADED);
+    }
+
+    @Test
+    void tryAcquire_ShouldWaitUntilAPermitIsReleasedWithoutReportingDegraded() throws InterruptedException {
+        // Arrange
+        PublishLimiter limiter = new PublishLimiter(properties(true, Mode.FIXED, 1));
+        limiter.tryAcquire();
+        Thread releaser = Thread.ofVirtual().start(() -> {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+            limiter.release(1_000_000);
+        });
+
+        // Act
+        boolean acquired = limiter.tryAcquire(System.nanoTime() + TimeUnit.SECONDS.toNanos(5));
+        releaser.join();
+
+        // Assert
+        assertThat(acquired).isTrue();
+        assertThat(limiter.inFlight()).isEqualTo(1);
+        assertThat(limiter.rejections()).isZero();
+        assertThat(limiter.isDegraded()).isFalse();
+    }
+
+    @Test
+    void tryAcquire_ShouldRefuseOnceTheDeadlinePassesWithoutARelease() {
+        // Arrange
+        PublishLimiter limiter = new PublishLimiter(properties(true, Mode.FIXED, 1));
+        limiter.tryAcquire();
+        long start = System.nanoTime();
+
+        // Act
+        boolean acquired = limiter.tryAcquire(start + TimeUnit.MILLISECONDS.toNanos(50));
+
+        // Assert
+        assertThat(acquired).isFalse();
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+        assertThat(limiter.inFlight()).isEqualTo(1);
+        assertThat(limiter.rejections()).isEqualTo(1);
+        assertThat(limiter.isDegraded()).isTrue();
+    }
+
+    @Test
+    void tryAcquire_ShouldNeverRefuseWhenDisabled() {
+        // Arrange
+        PublishLimiter limiter = new PublishLimiter(properties(false, Mode.FIXED, 1));
+
+        // Act & Assert
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+        assertThat(limiter.isDegraded()).isFalse();
+    }
+
+    @Test
+    void gradientLimit_ShouldGrowWhileLatencyHoldsAndShrinkWhenItRises() {
+        // Arrange
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(100, 10, 1_000, 2.0);
+        int grown = 0;
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            grown = limit.update(5_000_000, limit.limit());
+        }
+        int shrunk = grown;
+        for (int i = 0; i < 20; i++) {
+            shrunk = limit.update(100_000_000, limit.limit());
+        }
+        int idle = limit.update(100_000_000, 1);
+
+        // Assert
+        assertThat(grown).isGreaterThan(100);
+        assertThat(shrunk).isLessThan(grown / 2).isGreaterThanOrEqualTo(10);
+        assertThat(idle).isEqualTo(shrunk);
+    }
+
+    private static BackpressureProperties properties(boolean enabled, Mode mode, int limit) {
+        return new BackpressureProperties(enabled, mode, limit, 1, Math.max(limit, 100),
+            Duration.ofMillis(100), 2.0, Duration.ofSeconds(1), Duration.ofSeconds(10), Duration.ofSeconds(5));
+    }
+}
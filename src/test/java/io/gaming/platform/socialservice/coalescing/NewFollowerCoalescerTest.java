@@ -0,0 +1,131 @@
+package io.gaming.platform.socialservice.coalescing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.gaming.platform.socialservice.eventid.EventIdGenerator;
+import io.gaming.platform.socialservice.eventid.UuidV7EventIdGenerator;
+import io.gaming.platform.socialservice.metrics.SocialEventMetrics;
+import io.gaming.platform.socialservice.model.SocialEvent;
+import io.gaming.platform.socialservice.model.SocialEventType;
+import io.gaming.platform.socialservice.producer.SocialEventSendResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class NewFollowerCoalescerTest {
+    private static final Long TARGET_ID = 42L;
+    private static final EventIdGenerator EVENT_IDS = new UuidV7EventIdGenerator();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<SocialEvent> published = new CopyOnWriteArrayList<>();
+    private NewFollowerCoalescer coalescer;
+
+    @AfterEach
+    void tearDown() {
+        if (coalescer != null && coalescer.isRunning()) {
+            coalescer.stop();
+        }
+    }
+
+    @Test
+    void add_ShouldPublishOneAggregateOnceMaxFollowersArrive() {
+        // Arrange
+        coalescer = coalescer(Duration.ofMinutes(1), 3, 100);
+
+        // Act
+        CompletableFuture<SocialEventSendResult> first = coalescer.add(SocialEvent.newFollower(1L, TARGET_ID, EVENT_IDS), this::publish);
+        CompletableFuture<SocialEventSendResult> second = coalescer.add(SocialEvent.newFollower(2L, TARGET_ID, EVENT_IDS), this::publish);
+        boolean heldUntilFull = published.isEmpty() && !first.isDone();
+        CompletableFuture<SocialEventSendResult> third = coalescer.add(SocialEvent.newFollower(3L, TARGET_ID, EVENT_IDS), this::publish);
+
+        // Assert
+        assertThat(heldUntilFull).isTrue();
+        assertThat(published).hasSize(1);
+        SocialEvent aggregate = published.get(0);
+        assertThat(aggregate.eventType()).isEqualTo(SocialEventType.NEW_FOLLOWERS);
+        assertThat(aggregate.eventData()).containsEntry("otherPlayerId", TARGET_ID);
+        assertThat(aggregate.followerIds()).containsExactly(1L, 2L, 3L);
+        assertThat(first.join().event().playerId()).isEqualTo(1L);
+        assertThat(third.join().event().playerId()).isEqualTo(3L);
+        assertThat(second.join().isAcknowledged()).isTrue();
+        assertThat(coalescer.openWindows()).isZero();
+        assertThat(coalescer.aggregates()).isEqualTo(1);
+        assertThat(meterRegistry.get("social.events.published")
+            .tags("type", "NEW_FOLLOWER", "outcome", "coalesced").counter().count()).isEqualTo(3.0);
+    }
+
+    @Test
+    void add_ShouldPublishALoneEventUnchangedWhenItsWindowCloses() {
+        // Arrange
+        coalescer = coalescer(Duration.ofMillis(20), 100, 100);
+        SocialEvent event = SocialEvent.newFollower(1L, TARGET_ID, EVENT_IDS);
+
+        // Act
+        SocialEventSendResult result = coalescer.add(event, this::publish).join();
+
+        // Assert
+        assertThat(published).containsExactly(event);
+        assertThat(result.event()).isEqualTo(event);
+        assertThat(coalescer.aggregates()).isZero();
+    }
+
+    @Test
+    void add_ShouldNotHoldEventsBeyondMaxTargetsAndFlushOnStop() {
+        // Arrange
+        coalescer = coalescer(Duration.ofMinutes(1), 100, 1);
+        CompletableFuture<SocialEventSendResult> held = coalescer.add(SocialEvent.newFollower(1L, TARGET_ID, EVENT_IDS), this::publish);
+        coalescer.add(SocialEvent.newFollower(2L, TARGET_ID, EVENT_IDS), this::publish);
+
+        // Act
+        CompletableFuture<SocialEventSendResult> otherTarget = coalescer.add(SocialEvent.newFollower(1L, 7L, EVENT_IDS), this::publish);
+        coalescer.stop();
+        CompletableFuture<SocialEventSendResult> afterStop = coalescer.add(SocialEvent.newFollower(3L, TARGET_ID, EVENT_IDS), this::publish);
+
+        // Assert
+        assertThat(otherTarget).isNull();
+        assertThat(afterStop).isNull();
+        assertThat(held).isCompleted();
+        assertThat(published).singleElement()
+            .satisfies(aggregate -> assertThat(aggregate.followerIds()).containsExactly(1L, 2L));
+        assertThat(coalescer.bypassed()).isEqualTo(2);
+    }
+
+    @Test
+    void add_ShouldFailEveryHeldEventWhenTheAggregateFails() {
+        // Arrange
+        coalescer = coalescer(Duration.ofMinutes(1), 2, 100);
+        CompletableFuture<SocialEventSendResult> first = coalescer.add(SocialEvent.newFollower(1L, TARGET_ID, EVENT_IDS),
+            event -> CompletableFuture.failedFuture(new RuntimeException("Kafka error")));
+
+        // Act
+        CompletableFuture<SocialEventSendResult> second = coalescer.add(SocialEvent.newFollower(2L, TARGET_ID, EVENT_IDS), this::publish);
+
+        // Assert
+        assertThat(first).isCompletedExceptionally();
+        assertThat(second).isCompletedExceptionally();
+        assertThat(published).isEmpty();
+    }
+
+    private NewFollowerCoalescer coalescer(Duration window, int maxFollowers, int maxTargets) {
+        SocialEventMetrics metrics = new SocialEventMetrics(meterRegistry);
+        NewFollowerCoalescer coalescer = new NewFollowerCoalescer(window, maxFollowers, maxTargets, 1,
+            Duration.ofSeconds(1), new UuidV7EventIdGenerator(), metrics);
+        coalescer.bindTo(meterRegistry);
+        coalescer.start();
+        return coalescer;
+    }
+
+    private CompletableFuture<SocialEventSendResult> publish(SocialEvent event) {
+        published.add(event);
+        RecordMetadata metadata = new RecordMetadata(new TopicPartition("social-events", 0), published.size(), 0, 0, 0, 0);
+        return CompletableFuture.completedFuture(new SocialEventSendResult(event, metadata));
+    }
+}
@@ -0,0 +1,96 @@
+package io.gaming.platform.socialservice.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.validation.BindValidationException;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+class ProducerTuningPropertiesTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withUserConfiguration(TuningConfiguration.class);
+
+    @Test
+    void binding_ShouldFailWhenMaxInFlightRequestsWouldBreakOrdering() {
+        // Arrange
+        ApplicationContextRunner runner =
+            contextRunner.withPropertyValues("app.kafka.producer.max-in-flight-requests-per-connection=6");
+
+        // Act & Assert
+        runner.run(context -> {
+            assertThat(context).hasFailed();
+            assertThat(context.getStartupFailure())
+                .hasRootCauseInstanceOf(BindValidationException.class)
+                .rootCause()
+                .hasMessageContaining("maxInFlightRequestsPerConnection");
+        });
+    }
+
+    @Test
+    void binding_ShouldFailWhenBufferMemoryIsSmallerThanBatchSize() {
+        // Arrange
+        ApplicationContextRunner runner = contextRunner.withPropertyValues(
+            "app.kafka.producer.batch-size=65536",
+            "app.kafka.producer.buffer-memory=32768");
+
+        // Act & Assert
+        runner.run(context -> {
+            assertThat(context).hasFailed();
+            assertThat(context.getStartupFailure())
+                .hasRootCauseInstanceOf(BindValidationException.class)
+                .rootCause()
+                .hasMessageContaining("buffer-memory must be at least batch-size");
+        });
+    }
+
+    @Test
+    void binding_ShouldFailWhenBufferMemoryIsSmallerThanTheProfileBatchSize() {
+        // Arrange
+        ApplicationContextRunner runner = contextRunner.withPropertyValues(
+            "app.kafka.producer.profile=high-throughput",
+            "app.kafka.producer.buffer-memory=131072");
+
+        // Act & Assert
+        runner.run(context -> assertThat(context).hasFailed());
+    }
+
+    @Test
+    void producerConfigs_ShouldUseOverridesAndTakeTheRestFromTheProfile() {
+        // Arrange
+        ApplicationContextRunner runner = contextRunner.withPropertyValues(
+            "app.kafka.producer.profile=high-throughput",
+            "app.kafka.producer.linger-ms=1",
+            "app.kafka.producer.compression-type=lz4");
+
+        // Act & Assert
+        runner.run(context -> {
+            assertThat(context).hasNotFailed();
+            ProducerTuningProperties tuning = context.getBean(ProducerTuningProperties.class);
+            assertThat(tuning.producerConfigs())
+                .containsEntry(ProducerConfig.LINGER_MS_CONFIG, 1)
+                .containsEntry(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4")
+                .containsEntry(ProducerConfig.BATCH_SIZE_CONFIG, ThroughputProfile.HIGH_THROUGHPUT.batchSize())
+                .containsEntry(ProducerConfig.BUFFER_MEMORY_CONFIG, ThroughputProfile.HIGH_THROUGHPUT.bufferMemory())
+                .containsEntry(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        });
+    }
+
+    @Test
+    void producerConfigs_ShouldDefaultToTheBalancedProfile() {
+        // Act & Assert
+        contextRunner.run(context -> {
+            ProducerTuningProperties tuning = context.getBean(ProducerTuningProperties.class);
+            assertThat(tuning.profile()).isEqualTo(ThroughputProfile.BALANCED);
+            assertThat(tuning.producerConfigs())
+                .containsEntry(ProducerConfig.LINGER_MS_CONFIG, ThroughputProfile.BALANCED.lingerMs())
+                .containsEntry(ProducerConfig.BATCH_SIZE_CONFIG, ThroughputProfile.BALANCED.batchSize());
+        });
+    }
+
+    @EnableConfigurationProperties(ProducerTuningProperties.class)
+    static class TuningConfiguration {
+    }
+}
@@ -0,0 +1,276 @@
+package io.gaming.platform.socialservice.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import io.gaming.platform.socialservice.backpressure.PublishRejectedException;
+import io.gaming.platform.socialservice.dto.FriendAcceptanceRequest;
+import io.gaming.platform.socialservice.dto.FriendRequestRequest;
+import io.gaming.platform.socialservice.dto.NewFollowerRequest;
+import io.gaming.platform.socialservice.dto.SocialEventBatchResponse;
+import io.gaming.platform.socialservice.dto.SocialEventResponse;
+import io.gaming.platform.socialservice.eventid.EventIdGenerator;
+import io.gaming.platform.socialservice.eventid.UuidV7EventIdGenerator;
+import io.gaming.platform.socialservice.friendrequest.PendingFriendRequestIndex;
+import io.gaming.platform.socialservice.metrics.SocialEventMetrics;
+import io.gaming.platform.socialservice.model.SocialEvent;
+import io.gaming.platform.socialservice.model.SocialEventType;
+import io.gaming.platform.socialservice.producer.SocialEventProducer;
+import io.gaming.platform.socialservice.producer.SocialEventSendResult;
+import io.gaming.platform.socialservice.ratelimit.PlayerRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+@ExtendWith(MockitoExtension.class)
+class SocialEventControllerTest {
+    private static final String TOPIC = "social-events";
+    private static final Long PLAYER_ID = 123L;
+    private static final Long OTHER_PLAYER_ID = 456L;
+    private static final EventIdGenerator EVENT_IDS = new UuidV7EventIdGenerator();
+
+    @Mock
+    private SocialEventProducer eventProducer;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private final PlayerRateLimiter rateLimiter = new PlayerRateLimiter(true, 1000, 1000, 1024, false);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SocialEventMetrics metrics = new SocialEventMetrics(meterRegistry);
+    private final PendingFriendRequestIndex pendingFriendRequests =
+        new PendingFriendRequestIndex(true, Duration.ofDays(7), 1024);
+
+    private SocialEventController asyncController;
+    private SocialEventController blockingController;
+
+    @BeforeEach
+    void setUp() {
+        asyncController = new SocialEventController(eventProducer, objectMapper, validator, rateLimiter, pendingFriendRequests, metrics, true);
+        blockingController = new SocialEventController(eventProducer, objectMapper, validator, rateLimiter, pendingFriendRequests, metrics, false);
+    }
+
+    @Test
+    void sendFriendRequest_ShouldNotCompleteUntilProducerCompletes() {
+        // Arrange
+        CompletableFuture<SocialEventSendResult> pending = new CompletableFuture<>();
+        when(eventProducer.sendFriendRequestEvent(any(), any())).thenReturn(pending);
+
+        // Act
+        CompletableFuture<ResponseEntity<SocialEventResponse>> response =
+            asyncController.sendFriendRequest(new FriendRequestRequest(PLAYER_ID, OTHER_PLAYER_ID));
+
+        // Assert
+        assertThat(response).isNotDone();
+        SocialEvent event = SocialEvent.friendRequest(PLAYER_ID, OTHER_PLAYER_ID, EVENT_IDS);
+        pending.complete(createSendResult(event));
+        assertThat(response).isCompleted();
+        assertThat(response.join().getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(response.join().getBody().eventId()).isEqualTo(event.eventId());
+    }
+
+    @Test
+    void sendFriendRequest_ShouldReturnErrorResponseWhenProducerFails() {
+        // Arrange
+        when(eventProducer.sendFriendRequestEvent(any(), any()))
+            .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Kafka error")));
+
+        // Act
+        CompletableFuture<ResponseEntity<SocialEventResponse>> response =
+            asyncController.sendFriendRequest(new FriendRequestRequest(PLAYER_ID, OTHER_PLAYER_ID));
+
+        // Assert
+        assertThat(response).isCompleted();
+        assertThat(response.join().getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        assertThat(response.join().getBody().isSuccess()).isFalse();
+        assertThat(response.join().getBody().eventType()).isEqualTo(SocialEventType.FRIEND_REQUEST);
+    }
+
+    @Test
+    void sendNewFollower_ShouldReturn503WithRetryAfterWhenProducerSheds() {
+        // Arrange
+        when(eventProducer.sendNewFollowerEvent(any(), any()))
+            .thenReturn(CompletableFuture.failedFuture(new PublishRejectedException(Duration.ofSeconds(2))));
+
+        // Act
+        ResponseEntity<SocialEventResponse> response =
+            asyncController.sendNewFollower(new NewFollowerRequest(PLAYER_ID, OTHER_PLAYER_ID)).join();
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(response.getBody().isSuccess()).isFalse();
+    }
+
+    @Test
+    void sendFriendRequest_ShouldWaitForProducerInBlockingMode() {
+        // Arrange
+        SocialEvent event = SocialEvent.friendRequest(PLAYER_ID, OTHER_PLAYER_ID, EVENT_IDS);
+        when(eventProducer.sendFriendRequestEvent(any(), any()))
+            .thenReturn(CompletableFuture.supplyAsync(() -> createSendResult(event)));
+
+        // Act
+        CompletableFuture<ResponseEntity<SocialEventResponse>> response =
+            blockingController.sendFriendRequest(new FriendRequestRequest(PLAYER_ID, OTHER_PLAYER_ID));
+
+        // Assert
+        assertThat(response).isCompleted();
+        assertThat(response.join().getBody().playerId()).isEqualTo(PLAYER_ID);
+    }
+
+    @Test
+    void sendNewFollower_ShouldReturn429WithRetryAfterWhenPlayerIsOverLimit() {
+        // Arrange
+        PlayerRateLimiter strictLimiter = new PlayerRateLimiter(true, 1, 1, 1024, false);
+        SocialEventController controller = new SocialEventController(
+            eventProducer, objectMapper, validator, strictLimiter, pendingFriendRequests, metrics, true);
+        when(eventProducer.sendNewFollowerEvent(any(), any())).thenAnswer(invocation ->
+            CompletableFuture.completedFuture(createSendResult(SocialEvent.newFollower(PLAYER_ID, OTHER_PLAYER_ID, EVENT_IDS))));
+
+        // Act
+        ResponseEntity<SocialEventResponse> first =
+            controller.sendNewFollower(new NewFollowerRequest(PLAYER_ID, OTHER_PLAYER_ID)).join();
+        ResponseEntity<SocialEventResponse> second =
+            controller.sendNewFollower(new NewFollowerRequest(PLAYER_ID, OTHER_PLAYER_ID)).join();
+
+        // Assert
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(second.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        verify(eventProducer, times(1)).sendNewFollowerEvent(any(), any());
+    }
+
+    @Test
+    void sendFriendAcceptance_ShouldReturn409WhenNoFriendRequestIsPending() {
+        // Arrange
+        pendingFriendRequests.markLoaded();
+        pendingFriendRequests.apply(SocialEvent.friendRequest(OTHER_PLAYER_ID, PLAYER_ID, EVENT_IDS));
+        when(eventProducer.sendFriendAcceptanceEvent(any(), any())).thenAnswer(invocation ->
+            CompletableFuture.completedFuture(createSendResult(SocialEvent.friendAccepted(PLAYER_ID, OTHER_PLAYER_ID, EVENT_IDS))));
+
+        // Act
+        ResponseEntity<SocialEventResponse> matched = asyncController.sendFriendAcceptance(
+            new FriendAcceptanceRequest(PLAYER_ID, OTHER_PLAYER_ID)).join();
+        ResponseEntity<SocialEventResponse> unmatched = asyncController.sendFriendAcceptance(
+            new FriendAcceptanceRequest(OTHER_PLAYER_ID, PLAYER_ID)).join();
+
+        // Assert
+        assertThat(matched.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(unmatched.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(unmatched.getBody().errorMessage()).isEqualTo("No pending friend request to accept");
+        assertThat(meterRegistry.get("social.events.published")
+            .tags("type", "FRIEND_ACCEPTED", "outcome", "no_pending_request").counter().count()).isEqualTo(1.0);
+        verify(eventProducer, times(1)).sendFriendAcceptanceEvent(any(), any());
+    }
+
+    @Test
+    void sendBatch_ShouldReturnOneResultPerItemInOrder() throws Exception {
+        // Arrange
+        when(eventProducer.sendSocialEvent(any(SocialEventType.class), any(), any())).thenAnswer(invocation ->
+            CompletableFuture.completedFuture(createSendResult(SocialEvent.of(
+                invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2), EVENT_IDS))));
+        String body = """
+            [
+              {"type":"FRIEND_REQUEST","playerId":1,"otherPlayerId":2},
+              {"type":"NEW_FOLLOWER","playerId":3},
+              {"type":"FRIEND_ACCEPTED","playerId":2,"otherPlayerId":1}
+            ]""";
+
+        // Act
+        CompletableFuture<ResponseEntity<SocialEventBatchResponse>> response = asyncController.sendBatch(
+            new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertThat(response).isCompleted();
+        SocialEventBatchResponse batch = response.join().getBody();
+        assertThat(response.join().getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(batch.accepted()).isEqualTo(2);
+        assertThat(batch.failed()).isEqualTo(1);
+        assertThat(batch.results()).extracting(SocialEventResponse::eventType).containsExactly(
+            SocialEventType.FRIEND_REQUEST, SocialEventType.NEW_FOLLOWER, SocialEventType.FRIEND_ACCEPTED);
+        assertThat(batch.results().get(1).errorMessage()).isEqualTo("Other player ID is required");
+    }
+
+    @Test
+    void sendBatch_ShouldChargeTheRateLimitPerItem() throws Exception {
+        // Arrange
+        PlayerRateLimiter strictLimiter = new PlayerRateLimiter(true, 1, 2, 1024, false);
+        SocialEventController controller = new SocialEventController(
+            eventProducer, objectMapper, validator, strictLimiter, pendingFriendRequests, metrics, true);
+        when(eventProducer.sendSocialEvent(any(SocialEventType.class), any(), any())).thenAnswer(invocation ->
+            CompletableFuture.completedFuture(createSendResult(SocialEvent.of(
+                invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2), EVENT_IDS))));
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < 50; i++) {
+            body.append(i == 0 ? "" : ",")
+                .append("{\"type\":\"NEW_FOLLOWER\",\"playerId\":1,\"otherPlayerId\":").append(100 + i).append('}');
+        }
+        body.append(']');
+
+        // Act
+        SocialEventBatchResponse first = controller.sendBatch(
+            new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8))).join().getBody();
+
+        // Assert
+        assertThat(first.accepted()).isEqualTo(2);
+        assertThat(first.failed()).isEqualTo(48);
+        assertThat(first.results().subList(2, 50)).extracting(SocialEventResponse::errorMessage)
+            .containsOnly("Rate limit exceeded");
+    }
+
+    @Test
+    void sendBatch_ShouldRefuseItemsAtTheInFlightLimitWithoutWaiting() throws Exception {
+        // Arrange
+        when(eventProducer.sendSocialEvent(any(SocialEventType.class), any(), any()))
+            .thenReturn(CompletableFuture.failedFuture(new PublishRejectedException(Duration.ofSeconds(2))));
+        String body = "[{\"type\":\"NEW_FOLLOWER\",\"playerId\":1,\"otherPlayerId\":2}]";
+
+        // Act
+        ResponseEntity<SocialEventBatchResponse> response = asyncController.sendBatch(
+            new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8))).join();
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(response.getBody().failed()).isEqualTo(1);
+        assertThat(response.getBody().results().get(0).errorMessage())
+            .isEqualTo(new PublishRejectedException(Duration.ofSeconds(2)).getMessage());
+    }
+
+    @Test
+    void sendBatch_ShouldRejectBodyThatIsNotAnArray() throws Exception {
+        // Act
+        CompletableFuture<ResponseEntity<SocialEventBatchResponse>> response = asyncController.sendBatch(
+            new ByteArrayInputStream("{}".getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertThat(response.join().getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    private SocialEventSendResult createSendResult(SocialEvent event) {
+        RecordMetadata metadata = new RecordMetadata(new TopicPartition(TOPIC, 0), 0, 0, 0, 0, 0);
+        return new SocialEventSendResult(event, metadata);
+    }
+}
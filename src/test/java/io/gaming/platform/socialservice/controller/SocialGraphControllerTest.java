@@ -0,0 +1,67 @@
+package io.gaming.platform.socialservice.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import io.gaming.platform.socialservice.dto.PlayerConnectionsResponse;
+import io.gaming.platform.socialservice.eventid.EventIdGenerator;
+import io.gaming.platform.socialservice.eventid.UuidV7EventIdGenerator;
+import io.gaming.platform.socialservice.graph.SocialGraph;
+import io.gaming.platform.socialservice.graph.SocialGraphConsumer;
+import io.gaming.platform.socialservice.model.SocialEvent;
+
+@ExtendWith(MockitoExtension.class)
+class SocialGraphControllerTest {
+    private static final EventIdGenerator EVENT_IDS = new UuidV7EventIdGenerator();
+
+    @Mock
+    private SocialGraphConsumer consumer;
+
+    private final SocialGraph graph = new SocialGraph();
+
+    private SocialGraphController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new SocialGraphController(graph, consumer);
+        graph.apply(SocialEvent.friendRequest(1L, 2L, EVENT_IDS));
+        graph.apply(SocialEvent.friendAccepted(2L, 1L, EVENT_IDS));
+    }
+
+    @Test
+    void getFriends_ShouldBeUnavailableUntilTheConsumerHasCaughtUp() {
+        // Arrange
+        when(consumer.isCaughtUp()).thenReturn(false);
+
+        // Act
+        ResponseEntity<PlayerConnectionsResponse> response = controller.getFriends(1L, null, 1000);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("5");
+        assertThat(response.getBody()).isNull();
+    }
+
+    @Test
+    void getFriends_ShouldServeTheGraphOnceTheConsumerHasCaughtUp() {
+        // Arrange
+        when(consumer.isCaughtUp()).thenReturn(true);
+
+        // Act
+        ResponseEntity<PlayerConnectionsResponse> response = controller.getFriends(1L, null, 1000);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().total()).isEqualTo(1);
+        assertThat(response.getBody().playerIds()).containsExactly(2L);
+    }
+}
@@ -0,0 +1,121 @@
+package io.gaming.platform.socialservice.eventid;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+class EventIdGeneratorTest {
+    private static final long NOW = 1_767_225_600_000L; // 2026-01-01T00:00:00Z
+
+    @Test
+    void uuidV7_ShouldEmbedTimestampAndSortByMillisecond() {
+        // Arrange
+        UuidV7EventIdGenerator generator = new UuidV7EventIdGenerator();
+
+        // Act
+        UUID earlier = UUID.fromString(generator.nextId(NOW));
+        UUID later = UUID.fromString(generator.nextId(NOW + 1));
+
+        // Assert
+        assertThat(earlier.version()).isEqualTo(7);
+        assertThat(earlier.variant()).isEqualTo(2);
+        assertThat(earlier.getMostSignificantBits() >>> 16).isEqualTo(NOW);
+        assertThat(earlier.toString()).isLessThan(later.toString());
+    }
+
+    @Test
+    void snowflake_ShouldIssueIncreasingIdsWithinAndAcrossMilliseconds() {
+        // Arrange
+        SnowflakeEventIdGenerator generator = new SnowflakeEventIdGenerator(5);
+
+        // Act
+        long first = generator.nextLong(NOW);
+        long second = generator.nextLong(NOW);
+        long afterClockStepBack = generator.nextLong(NOW - 1_000);
+        long nextMillisecond = generator.nextLong(NOW + 1);
+
+        // Assert
+        assertThat(second).isEqualTo(first + 1);
+        assertThat(afterClockStepBack).isGreaterThan(second);
+        assertThat(nextMillisecond).isGreaterThan(afterClockStepBack);
+        assertThat((first >>> 12) & SnowflakeEventIdGenerator.MAX_NODE_ID).isEqualTo(5);
+        assertThat((first >>> 22) + SnowflakeEventIdGenerator.EPOCH_MILLIS).isEqualTo(NOW);
+    }
+
+    @Test
+    void snowflake_ShouldCarryIntoNextMillisecondWhenSequenceIsExhausted() {
+        // Arrange
+        SnowflakeEventIdGenerator generator = new SnowflakeEventIdGenerator(0);
+        long previous = 0;
+
+        // Act
+        for (int i = 0; i < 4096; i++) {
+            previous = generator.nextLong(NOW);
+        }
+        long overflow = generator.nextLong(NOW);
+
+        // Assert
+        assertThat(previous & 0xFFF).isEqualTo(4095);
+        assertThat(overflow & 0xFFF).isZero();
+        assertThat((overflow >>> 22) + SnowflakeEventIdGenerator.EPOCH_MILLIS).isEqualTo(NOW + 1);
+    }
+
+    @Test
+    void snowflake_ShouldNotRepeatIdsAcrossThreads() throws Exception {
+        // Arrange
+        SnowflakeEventIdGenerator generator = new SnowflakeEventIdGenerator(1);
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        List<Future<?>> workers = new ArrayList<>();
+
+        // Act
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                workers.add(executor.submit(() -> {
+                    for (int i = 0; i < 50_000; i++) {
+                        ids.add(generator.nextId(System.currentTimeMillis()));
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+
+        // Assert
+        assertThat(ids).hasSize(8 * 50_000);
+    }
+
+    @Test
+    void snowflake_ShouldRejectNodeIdOutOfRange() {
+        assertThatThrownBy(() -> new SnowflakeEventIdGenerator(SnowflakeEventIdGenerator.MAX_NODE_ID + 1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void eventIds_ShouldRoundTripUuidsAndSnowflakeIds() {
+        // Arrange
+        String uuid = new UuidV7EventIdGenerator().nextId(NOW);
+        String snowflake = new SnowflakeEventIdGenerator(3).nextId(NOW);
+
+        // Act
+        UUID uuidBits = EventIds.toUuid(uuid);
+        UUID snowflakeBits = EventIds.toUuid(snowflake);
+
+        // Assert
+        assertThat(EventIds.toString(uuidBits.getMostSignificantBits(), uuidBits.getLeastSignificantBits())).isEqualTo(uuid);
+        assertThat(snowflakeBits.getMostSignificantBits()).isZero();
+        assertThat(EventIds.toString(0, snowflakeBits.getLeastSignificantBits())).isEqualTo(snowflake);
+        assertThatThrownBy(() -> EventIds.toUuid("not-an-id")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> EventIds.toUuid("0")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
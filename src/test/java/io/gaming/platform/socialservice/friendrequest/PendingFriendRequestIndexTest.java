@@ -0,0 +1,97 @@
+package io.gaming.platform.socialservice.friendrequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import io.gaming.platform.socialservice.eventid.EventIdGenerator;
+import io.gaming.platform.socialservice.eventid.UuidV7EventIdGenerator;
+import io.gaming.platform.socialservice.model.EventCategory;
+import io.gaming.platform.socialservice.model.SocialEvent;
+import io.gaming.platform.socialservice.model.SocialEventType;
+
+class PendingFriendRequestIndexTest {
+    private static final EventIdGenerator EVENT_IDS = new UuidV7EventIdGenerator();
+
+    private final PendingFriendRequestIndex index = new PendingFriendRequestIndex(true, Duration.ofDays(7), 1024);
+
+    @Test
+    void apply_ShouldOpenRequestForItsDirectionOnly() {
+        // Act
+        index.apply(SocialEvent.friendRequest(1L, 2L, EVENT_IDS));
+
+        // Assert
+        assertThat(index.isPending(1L, 2L)).isTrue();
+        assertThat(index.isPending(2L, 1L)).isFalse();
+    }
+
+    @Test
+    void apply_ShouldCloseRequestOnAcceptance() {
+        // Arrange
+        index.apply(SocialEvent.friendRequest(1L, 2L, EVENT_IDS));
+
+        // Act
+        index.apply(SocialEvent.friendAccepted(2L, 1L, EVENT_IDS));
+
+        // Assert
+        assertThat(index.isPending(1L, 2L)).isFalse();
+    }
+
+    @Test
+    void apply_ShouldIgnoreRequestsOlderThanTtl() {
+        // Arrange
+        SocialEvent stale = new SocialEvent(EventCategory.SOCIAL, SocialEventType.FRIEND_REQUEST,
+            UUID.randomUUID().toString(), Instant.now().minus(Duration.ofDays(8)), 1L, Map.of("otherPlayerId", 2L));
+
+        // Act
+        index.apply(stale);
+
+        // Assert
+        assertThat(index.isPending(1L, 2L)).isFalse();
+    }
+
+    @Test
+    void withdraw_ShouldOnlyCloseRequestsThatSubmitOpened() {
+        // Arrange
+        index.apply(SocialEvent.friendRequest(1L, 2L, EVENT_IDS));
+
+        // Act
+        boolean resubmitted = index.submit(SocialEvent.friendRequest(1L, 2L, EVENT_IDS));
+        boolean submitted = index.submit(SocialEvent.friendRequest(3L, 4L, EVENT_IDS));
+        index.withdraw(SocialEvent.friendRequest(3L, 4L, EVENT_IDS));
+
+        // Assert
+        assertThat(resubmitted).isFalse();
+        assertThat(submitted).isTrue();
+        assertThat(index.isPending(1L, 2L)).isTrue();
+        assertThat(index.isPending(3L, 4L)).isFalse();
+    }
+
+    @Test
+    void isAcceptable_ShouldLetAcceptancesThroughUntilLoaded() {
+        // Act & Assert
+        assertThat(index.isAcceptable(1L, 2L)).isTrue();
+        index.markLoaded();
+        assertThat(index.isAcceptable(1L, 2L)).isFalse();
+        index.apply(SocialEvent.friendRequest(1L, 2L, EVENT_IDS));
+        assertThat(index.isAcceptable(1L, 2L)).isTrue();
+    }
+
+    @Test
+    void apply_ShouldStayBoundedWhenManyRequestsAreOpen() {
+        // Act
+        for (long requester = 0; requester < 10_000; requester++) {
+            index.apply(SocialEvent.friendRequest(requester, requester + 1, EVENT_IDS));
+        }
+
+        // Assert
+        assertThat(index.capacity()).isEqualTo(1024);
+        assertThat(index.evictions()).isGreaterThanOrEqualTo(10_000 - 1024);
+        assertThat(index.isPending(9_999L, 10_000L)).isTrue();
+    }
+}
@@ -0,0 +1,76 @@
+package io.gaming.platform.socialservice.graph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.gaming.platform.socialservice.eventid.EventIdGenerator;
+import io.gaming.platform.socialservice.eventid.UuidV7EventIdGenerator;
+import io.gaming.platform.socialservice.model.SocialEvent;
+
+class SocialGraphSnapshotStoreTest {
+    private static final String TOPIC = "social-events";
+    private static final EventIdGenerator EVENT_IDS = new UuidV7EventIdGenerator();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void load_ShouldRestoreGraphAndOffsetsWrittenBefore() throws IOException {
+        // Arrange
+        SocialGraph graph = new SocialGraph();
+        graph.apply(SocialEvent.friendAccepted(1L, 2L, EVENT_IDS));
+        graph.apply(SocialEvent.newFollower(5L, 1L, EVENT_IDS));
+        graph.apply(SocialEvent.newFollower(3L, 1L, EVENT_IDS));
+        SocialGraphSnapshotStore store = new SocialGraphSnapshotStore(directory);
+        store.write(graph, TOPIC, Map.of(0, 42L, 1, 7L));
+        SocialGraph restored = new SocialGraph();
+
+        // Act
+        Map<Integer, Long> offsets = new SocialGraphSnapshotStore(directory).load(restored, TOPIC);
+
+        // Assert
+        assertThat(offsets).containsExactlyInAnyOrderEntriesOf(Map.of(0, 42L, 1, 7L));
+        assertThat(restored.areFriends(2L, 1L)).isTrue();
+        assertThat(restored.followers(1L, null, 10)).containsExactly(3L, 5L);
+        assertThat(restored.friendshipCount()).isEqualTo(1);
+        assertThat(restored.followCount()).isEqualTo(2);
+    }
+
+    @Test
+    void load_ShouldIgnoreCorruptSnapshotAndLeaveGraphEmpty() throws IOException {
+        // Arrange
+        SocialGraph graph = new SocialGraph();
+        graph.apply(SocialEvent.friendAccepted(1L, 2L, EVENT_IDS));
+        SocialGraphSnapshotStore store = new SocialGraphSnapshotStore(directory);
+        store.write(graph, TOPIC, Map.of(0, 1L));
+        try (RandomAccessFile file = new RandomAccessFile(directory.resolve("social-graph.snapshot").toFile(), "rw")) {
+            file.seek(file.length() - 12);
+            file.writeLong(99L);
+        }
+        SocialGraph restored = new SocialGraph();
+
+        // Act
+        Map<Integer, Long> offsets = store.load(restored, TOPIC);
+
+        // Assert
+        assertThat(offsets).isNull();
+        assertThat(restored.friendshipCount()).isZero();
+    }
+
+    @Test
+    void load_ShouldIgnoreSnapshotOfAnotherTopic() throws IOException {
+        // Arrange
+        SocialGraphSnapshotStore store = new SocialGraphSnapshotStore(directory);
+        store.write(new SocialGraph(), "other-topic", Map.of(0, 1L));
+
+        // Act & Assert
+        assertThat(store.load(new SocialGraph(), TOPIC)).isNull();
+    }
+}
@@ -0,0 +1,117 @@
+package io.gaming.platform.socialservice.graph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import io.gaming.platform.socialservice.eventid.EventIdGenerator;
+import io.gaming.platform.socialservice.eventid.UuidV7EventIdGenerator;
+import io.gaming.platform.socialservice.model.EventCategory;
+import io.gaming.platform.socialservice.model.SocialEvent;
+import io.gaming.platform.socialservice.model.SocialEventType;
+
+class SocialGraphTest {
+    private static final EventIdGenerator EVENT_IDS = new UuidV7EventIdGenerator();
+
+    private final SocialGraph graph = new SocialGraph();
+
+    @Test
+    void apply_ShouldMakeAcceptedFriendsFriendsOfEachOther() {
+        // Arrange
+        graph.apply(SocialEvent.friendRequest(1L, 2L, EVENT_IDS));
+
+        // Act
+        graph.apply(SocialEvent.friendAccepted(2L, 1L, EVENT_IDS));
+
+        // Assert
+        assertThat(graph.areFriends(1L, 2L)).isTrue();
+        assertThat(graph.areFriends(2L, 1L)).isTrue();
+        assertThat(graph.friends(1L, null, 10)).containsExactly(2L);
+        assertThat(graph.friendshipCount()).isEqualTo(1);
+    }
+
+    @Test
+    void apply_ShouldIgnoreFriendRequestsAndRepeats() {
+        // Act
+        graph.apply(SocialEvent.friendRequest(1L, 2L, EVENT_IDS));
+        graph.apply(SocialEvent.newFollower(3L, 1L, EVENT_IDS));
+        graph.apply(SocialEvent.newFollower(3L, 1L, EVENT_IDS));
+
+        // Assert
+        assertThat(graph.areFriends(1L, 2L)).isFalse();
+        assertThat(graph.followers(1L, null, 10)).containsExactly(3L);
+        assertThat(graph.followerCount(1L)).isEqualTo(1);
+        assertThat(graph.followCount()).isEqualTo(1);
+    }
+
+    @Test
+    void followers_ShouldPageInAscendingOrderWhateverTheArrivalOrder() {
+        // Arrange
+        for (long follower : new long[] {50, 10, 40, 20, 30, 10}) {
+            graph.apply(SocialEvent.newFollower(follower, 7L, EVENT_IDS));
+        }
+
+        // Act
+        long[] firstPage = graph.followers(7L, null, 2);
+        long[] secondPage = graph.followers(7L, firstPage[firstPage.length - 1], 2);
+        long[] lastPage = graph.followers(7L, 40L, 2);
+
+        // Assert
+        assertThat(firstPage).containsExactly(10L, 20L);
+        assertThat(secondPage).containsExactly(30L, 40L);
+        assertThat(lastPage).containsExactly(50L);
+        assertThat(graph.followerCount(7L)).isEqualTo(5);
+    }
+
+    @Test
+    void apply_ShouldAddEveryFollowerOfAnAggregate() {
+        // Arrange
+        SocialEvent readAsJson = new SocialEvent(EventCategory.SOCIAL, SocialEventType.NEW_FOLLOWERS,
+            UUID.randomUUID().toString(), null, 8L, Map.of("otherPlayerId", 7, "followerIds", List.of(6, 8)));
+
+        // Act
+        graph.apply(SocialEvent.newFollowers(new long[] {30, 10, 20}, 7L, epochMillis -> UUID.randomUUID().toString()));
+        graph.apply(readAsJson);
+
+        // Assert
+        assertThat(graph.followers(7L, null, 10)).containsExactly(6L, 8L, 10L, 20L, 30L);
+        assertThat(graph.followCount()).isEqualTo(5);
+    }
+
+    @Test
+    void mutualFriends_ShouldReturnCommonFriendsUpToLimit() {
+        // Arrange
+        for (long friend : new long[] {3, 4, 5, 6}) {
+            graph.apply(SocialEvent.friendAccepted(1L, friend, EVENT_IDS));
+        }
+        for (long friend : new long[] {4, 6, 8}) {
+            graph.apply(SocialEvent.friendAccepted(friend, 2L, EVENT_IDS));
+        }
+
+        // Act
+        long[] mutual = graph.mutualFriends(1L, 2L, 10);
+        long[] limited = graph.mutualFriends(2L, 1L, 1);
+
+        // Assert
+        assertThat(mutual).containsExactly(4L, 6L);
+        assertThat(limited).containsExactly(4L);
+    }
+
+    @Test
+    void lookups_ShouldHandleManyPlayers() {
+        // Arrange
+        for (long player = 0; player < 20_000; player++) {
+            graph.apply(SocialEvent.newFollower(player + 1, player, EVENT_IDS));
+        }
+
+        // Act & Assert
+        for (long player = 0; player < 20_000; player++) {
+            assertThat(graph.followers(player, null, 10)).containsExactly(player + 1);
+        }
+        assertThat(graph.followers(20_000L, null, 10)).isEmpty();
+    }
+}
@@ -0,0 +1,177 @@
+package io.gaming.platform.socialservice.ingest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.gaming.platform.socialservice.backpressure.PublishRejectedException;
+import io.gaming.platform.socialservice.eventid.EventIdGenerator;
+import io.gaming.platform.socialservice.eventid.UuidV7EventIdGenerator;
+import io.gaming.platform.socialservice.friendrequest.PendingFriendRequestIndex;
+import io.gaming.platform.socialservice.ingest.IngestProtocol.Reply;
+import io.gaming.platform.socialservice.metrics.SocialEventMetrics;
+import io.gaming.platform.socialservice.model.SocialEvent;
+import io.gaming.platform.socialservice.model.SocialEventType;
+import io.gaming.platform.socialservice.producer.SocialEventProducer;
+import io.gaming.platform.socialservice.producer.SocialEventSendResult;
+import io.gaming.platform.socialservice.ratelimit.PlayerRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class SocialEventIngestServerTest {
+    private static final String TOPIC = "social-events";
+    private static final long PLAYER_ID = 123L;
+    private static final long OTHER_PLAYER_ID = 456L;
+    private static final EventIdGenerator EVENT_IDS = new UuidV7EventIdGenerator();
+
+    @Mock
+    private SocialEventProducer eventProducer;
+
+    private final PlayerRateLimiter rateLimiter = new PlayerRateLimiter(true, 1000, 1000, 1024, false);
+    private final PendingFriendRequestIndex pendingFriendRequests =
+        new PendingFriendRequestIndex(true, Duration.ofDays(7), 1024);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SocialEventMetrics metrics = new SocialEventMetrics(meterRegistry);
+
+    private SocialEventIngestServer server;
+    private Socket socket;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (socket != null) {
+            socket.close();
+        }
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Test
+    void streamedEvent_ShouldBeAcknowledgedWithEventIdAndOffset() throws IOException {
+        // Arrange
+        SocialEvent event = SocialEvent.newFollower(PLAYER_ID, OTHER_PLAYER_ID, EVENT_IDS);
+        when(eventProducer.sendSocialEvent(eq(SocialEventType.NEW_FOLLOWER), anyLong(), anyLong(), anyLong()))
+            .thenReturn(CompletableFuture.completedFuture(createSendResult(event, 3, 42)));
+        startServer(16);
+        DataInputStream in = connect();
+
+        // Act
+        int window = IngestProtocol.readHello(in);
+        send(7, SocialEventType.NEW_FOLLOWER, PLAYER_ID, OTHER_PLAYER_ID);
+        Reply reply = IngestProtocol.readReply(in);
+
+        // Assert
+        assertThat(window).isEqualTo(16);
+        assertThat(reply.acknowledged()).isTrue();
+        assertThat(reply.sequence()).isEqualTo(7);
+        assertThat(reply.partition()).isEqualTo(3);
+        assertThat(reply.offset()).isEqualTo(42);
+        assertThat(reply.eventId()).isEqualTo(event.eventId());
+    }
+
+    @Test
+    void streamedEvent_ShouldBeRefusedWithTheReasonTheHttpApiWouldGive() throws IOException {
+        // Arrange
+        when(eventProducer.sendSocialEvent(eq(SocialEventType.FRIEND_REQUEST), anyLong(), anyLong(), anyLong()))
+            .thenReturn(CompletableFuture.failedFuture(new PublishRejectedException(Duration.ofSeconds(2))));
+        pendingFriendRequests.markLoaded();
+        startServer(16);
+        DataInputStream in = connect();
+        IngestProtocol.readHello(in);
+
+        // Act
+        send(1, SocialEventType.NEW_FOLLOWERS, PLAYER_ID, OTHER_PLAYER_ID);
+        send(2, SocialEventType.FRIEND_ACCEPTED, PLAYER_ID, OTHER_PLAYER_ID);
+        send(3, SocialEventType.FRIEND_REQUEST, PLAYER_ID, OTHER_PLAYER_ID);
+        List<Reply> replies = List.of(IngestProtocol.readReply(in), IngestProtocol.readReply(in), IngestProtocol.readReply(in));
+
+        // Assert
+        assertThat(replies).extracting(Reply::sequence).containsExactly(1L, 2L, 3L);
+        assertThat(replies).extracting(Reply::reason).containsExactly(
+            IngestProtocol.REASON_INVALID, IngestProtocol.REASON_NO_PENDING_REQUEST, IngestProtocol.REASON_OVERLOADED);
+        assertThat(replies.get(2).retryAfterMillis()).isEqualTo(2000);
+        assertThat(meterRegistry.get("social.events.published")
+            .tags("type", "FRIEND_ACCEPTED", "outcome", "no_pending_request").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void stream_ShouldNotBeReadPastItsWindowUntilRepliesAreWritten() throws IOException {
+        // Arrange
+        List<CompletableFuture<SocialEventSendResult>> sends = new ArrayList<>();
+        when(eventProducer.sendSocialEvent(eq(SocialEventType.FRIEND_REQUEST), anyLong(), anyLong(), anyLong()))
+            .thenAnswer(invocation -> {
+                CompletableFuture<SocialEventSendResult> send = new CompletableFuture<>();
+                synchronized (sends) {
+                    sends.add(send);
+                }
+                return send;
+            });
+        startServer(2);
+        DataInputStream in = connect();
+        IngestProtocol.readHello(in);
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            send(i, SocialEventType.FRIEND_REQUEST, PLAYER_ID + i, OTHER_PLAYER_ID);
+        }
+
+        // Assert
+        verify(eventProducer, after(300).times(2))
+            .sendSocialEvent(eq(SocialEventType.FRIEND_REQUEST), anyLong(), anyLong(), anyLong());
+        synchronized (sends) {
+            sends.get(0).complete(createSendResult(SocialEvent.friendRequest(PLAYER_ID, OTHER_PLAYER_ID, EVENT_IDS), 0, 0));
+        }
+        assertThat(IngestProtocol.readReply(in).sequence()).isZero();
+        verify(eventProducer, timeout(1000).times(3))
+            .sendSocialEvent(eq(SocialEventType.FRIEND_REQUEST), anyLong(), anyLong(), anyLong());
+        synchronized (sends) {
+            sends.forEach(send -> send.complete(
+                createSendResult(SocialEvent.friendRequest(PLAYER_ID, OTHER_PLAYER_ID, EVENT_IDS), 0, 1)));
+        }
+    }
+
+    private void startServer(int window) {
+        server = new SocialEventIngestServer(eventProducer, rateLimiter, pendingFriendRequests, metrics,
+            0, window, 10, Duration.ofSeconds(1), true);
+        server.start();
+    }
+
+    private DataInputStream connect() throws IOException {
+        socket = new Socket(InetAddress.getLoopbackAddress(), server.port());
+        return new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+    }
+
+    private void send(long sequence, SocialEventType type, long playerId, long otherPlayerId) throws IOException {
+        DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+        IngestProtocol.writeEvent(out, sequence, type, playerId, otherPlayerId);
+        out.flush();
+    }
+
+    private SocialEventSendResult createSendResult(SocialEvent event, int partition, long offset) {
+        RecordMetadata metadata = new RecordMetadata(new TopicPartition(TOPIC, partition), offset, 0, 0, 0, 0);
+        return new SocialEventSendResult(event, metadata);
+    }
+}
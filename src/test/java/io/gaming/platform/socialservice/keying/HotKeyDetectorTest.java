@@ -0,0 +1,77 @@
+package io.gaming.platform.socialservice.keying;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.gaming.platform.socialservice.keying.HotKeyDetector.HotKey;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class HotKeyDetectorTest {
+
+    @Test
+    void record_ShouldRankHottestKeysAmongBackgroundTraffic() {
+        // Arrange
+        HotKeyDetector detector = new HotKeyDetector(3, 1024, 4, Duration.ofMinutes(1));
+
+        // Act
+        for (int i = 0; i < 20_000; i++) {
+            long background = 1_000 + i;
+            detector.record(background, Long.toString(background));
+            if (i % 2 == 0) {
+                detector.record(42, "42");
+            }
+            if (i % 10 == 0) {
+                detector.record(7, "7");
+            }
+        }
+
+        // Assert
+        List<HotKey> hot = detector.hotKeys();
+        assertThat(hot).extracting(HotKey::key).startsWith("42", "7");
+        assertThat(hot.get(0).estimate()).isBetween(10_000L, 10_000L + 20_000L * 4 / 1024);
+        assertThat(detector.estimate(1_000)).isLessThan(100);
+    }
+
+    @Test
+    void record_ShouldHalveCountsEveryDecayInterval() throws Exception {
+        // Arrange
+        HotKeyDetector detector = new HotKeyDetector(3, 1024, 4, Duration.ofMillis(50));
+        for (int i = 0; i < 1_000; i++) {
+            detector.record(42, "42");
+        }
+
+        // Act
+        Thread.sleep(60);
+        long afterDecay = detector.record(42, "42");
+
+        // Assert
+        assertThat(afterDecay).isEqualTo(501);
+    }
+
+    @Test
+    void recordPartition_ShouldReportSkewAsBusiestOverMean() {
+        // Arrange
+        HotKeyDetector detector = new HotKeyDetector(3, 1024, 4, Duration.ofMinutes(1));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        detector.bindTo(registry);
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            detector.recordPartition(0);
+            detector.recordPartition(1);
+            detector.recordPartition(2);
+        }
+        for (int i = 0; i < 300; i++) {
+            detector.recordPartition(33);
+        }
+
+        // Assert
+        assertThat(detector.partitionCounts()).hasSize(34);
+        assertThat(detector.partitionSkew()).isEqualTo(300.0 * 34 / 600);
+        assertThat(registry.get("social.events.partition.skew").gauge().value()).isEqualTo(17.0);
+    }
+}
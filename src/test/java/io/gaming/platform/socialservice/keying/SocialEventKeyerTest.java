@@ -0,0 +1,81 @@
+package io.gaming.platform.socialservice.keying;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import io.gaming.platform.socialservice.config.KeyingProperties;
+import io.gaming.platform.socialservice.config.KeyingProperties.Spread;
+import io.gaming.platform.socialservice.eventid.EventIdGenerator;
+import io.gaming.platform.socialservice.eventid.UuidV7EventIdGenerator;
+import io.gaming.platform.socialservice.model.SocialEvent;
+import io.gaming.platform.socialservice.model.SocialEventType;
+
+class SocialEventKeyerTest {
+    private static final EventIdGenerator EVENT_IDS = new UuidV7EventIdGenerator();
+
+    @Test
+    void key_ShouldFollowStrategyConfiguredPerType() {
+        // Arrange
+        KeyingProperties properties = new KeyingProperties(KeyStrategy.ACTOR, Map.of(
+            SocialEventType.NEW_FOLLOWER, KeyStrategy.TARGET,
+            SocialEventType.FRIEND_ACCEPTED, KeyStrategy.PAIR,
+            SocialEventType.NEW_FOLLOWERS, KeyStrategy.PAIR), null, null);
+        SocialEventKeyer keyer = new SocialEventKeyer(properties, null);
+
+        // Act & Assert
+        assertThat(keyer.key(SocialEvent.friendRequest(5L, 3L, EVENT_IDS))).isEqualTo("5");
+        assertThat(keyer.key(SocialEvent.newFollower(5L, 3L, EVENT_IDS))).isEqualTo("3");
+        assertThat(keyer.key(SocialEvent.friendAccepted(5L, 3L, EVENT_IDS))).isEqualTo("3-5");
+        assertThat(keyer.key(SocialEvent.friendAccepted(3L, 5L, EVENT_IDS))).isEqualTo("3-5");
+        assertThat(keyer.key(SocialEvent.newFollowers(new long[] {5L, 6L}, 3L, EVENT_IDS))).isEqualTo("3");
+    }
+
+    @Test
+    void key_ShouldSpreadOnlyHotTargetsAcrossStableSubKeys() {
+        // Arrange
+        KeyingProperties properties = new KeyingProperties(KeyStrategy.ACTOR,
+            Map.of(SocialEventType.NEW_FOLLOWER, KeyStrategy.TARGET), null, new Spread(true, null, 4, 100));
+        SocialEventKeyer keyer = new SocialEventKeyer(properties, new HotKeyDetector(10, 1024, 4, Duration.ofMinutes(1)));
+        for (long follower = 1; follower < 100; follower++) {
+            keyer.key(SocialEvent.newFollower(follower, 42L, EVENT_IDS));
+        }
+
+        // Act
+        Set<String> hotKeys = new HashSet<>();
+        for (long follower = 100; follower < 200; follower++) {
+            hotKeys.add(keyer.key(SocialEvent.newFollower(follower, 42L, EVENT_IDS)));
+        }
+        String repeat = keyer.key(SocialEvent.newFollower(150L, 42L, EVENT_IDS));
+        String again = keyer.key(SocialEvent.newFollower(150L, 42L, EVENT_IDS));
+
+        // Assert
+        assertThat(hotKeys).hasSize(4).allMatch(key -> key.startsWith("42#"));
+        assertThat(repeat).isEqualTo(again);
+        assertThat(keyer.key(SocialEvent.newFollower(1L, 43L, EVENT_IDS))).isEqualTo("43");
+        assertThat(keyer.key(SocialEvent.friendRequest(1L, 42L, EVENT_IDS))).isEqualTo("1");
+    }
+
+    @Test
+    void key_ShouldGiveAPairTheSameSubKeyInEitherDirection() {
+        // Arrange
+        KeyingProperties properties = new KeyingProperties(KeyStrategy.ACTOR,
+            Map.of(SocialEventType.FRIEND_REQUEST, KeyStrategy.PAIR, SocialEventType.FRIEND_ACCEPTED, KeyStrategy.PAIR),
+            null, new Spread(true, Set.of(SocialEventType.FRIEND_REQUEST, SocialEventType.FRIEND_ACCEPTED), 8, 1));
+        SocialEventKeyer keyer = new SocialEventKeyer(properties, new HotKeyDetector(10, 1024, 4, Duration.ofMinutes(1)));
+        keyer.key(SocialEvent.friendRequest(3L, 5L, EVENT_IDS));
+
+        // Act
+        String request = keyer.key(SocialEvent.friendRequest(3L, 5L, EVENT_IDS));
+        String acceptance = keyer.key(SocialEvent.friendAccepted(5L, 3L, EVENT_IDS));
+
+        // Assert
+        assertThat(request).startsWith("3-5#");
+        assertThat(acceptance).isEqualTo(request);
+    }
+}
@@ -0,0 +1,143 @@
+package io.gaming.platform.socialservice.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.gaming.platform.socialservice.eventid.EventIdGenerator;
+import io.gaming.platform.socialservice.eventid.UuidV7EventIdGenerator;
+import io.gaming.platform.socialservice.model.SocialEvent;
+import io.gaming.platform.socialservice.outbox.SocialEventOutbox.Batch;
+import io.gaming.platform.socialservice.outbox.SocialEventOutbox.Entry;
+import io.gaming.platform.socialservice.outbox.SocialEventOutbox.Position;
+
+class SocialEventOutboxTest {
+    private static final int SEGMENT_SIZE = 4096;
+    private static final EventIdGenerator EVENT_IDS = new UuidV7EventIdGenerator();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void append_ShouldMakeRecordsReadableInOrderOnceDurable() throws Exception {
+        try (SocialEventOutbox outbox = new SocialEventOutbox(directory, SEGMENT_SIZE, 0)) {
+            // Arrange
+            SocialEvent first = SocialEvent.friendRequest(1L, 2L, EVENT_IDS);
+            SocialEvent second = SocialEvent.friendAccepted(2L, 1L, EVENT_IDS);
+            SocialEvent third = SocialEvent.newFollower(1L, 3L, EVENT_IDS);
+
+            // Act
+            CompletableFuture.allOf(
+                outbox.append("1", first),
+                outbox.append("2", second),
+                outbox.append("1", third)).join();
+            Batch batch = outbox.read(outbox.checkpoint(), 10);
+
+            // Assert
+            assertThat(batch.entries()).extracting(Entry::key).containsExactly("1", "2", "1");
+            assertThat(batch.entries()).extracting(entry -> entry.event().eventId())
+                .containsExactly(first.eventId(), second.eventId(), third.eventId());
+        }
+    }
+
+    @Test
+    void read_ShouldContinueAcrossSegmentsAndCommitShouldDeleteDrainedSegments() throws Exception {
+        try (SocialEventOutbox outbox = new SocialEventOutbox(directory, SEGMENT_SIZE, 0)) {
+            // Arrange
+            List<CompletableFuture<Void>> appends = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                appends.add(outbox.append(Integer.toString(i), SocialEvent.newFollower((long) i, 0L, EVENT_IDS)));
+            }
+            CompletableFuture.allOf(appends.toArray(CompletableFuture[]::new)).join();
+
+            // Act
+            List<Entry> read = new ArrayList<>();
+            Position position = outbox.checkpoint();
+            Batch batch;
+            do {
+                batch = outbox.read(position, 64);
+                read.addAll(batch.entries());
+                position = batch.next();
+            } while (!batch.entries().isEmpty());
+            outbox.commit(position);
+
+            // Assert
+            assertThat(read).hasSize(200);
+            assertThat(read.get(199).key()).isEqualTo("199");
+            assertThat(read.get(199).event().playerId()).isEqualTo(199L);
+            assertThat(segmentCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void reopen_ShouldResumeFromCheckpointAndKeepAppending() throws Exception {
+        // Arrange
+        SocialEvent pending = SocialEvent.friendRequest(1L, 2L, EVENT_IDS);
+        SocialEvent afterRestart = SocialEvent.friendAccepted(2L, 1L, EVENT_IDS);
+        try (SocialEventOutbox outbox = new SocialEventOutbox(directory, SEGMENT_SIZE, 0)) {
+            outbox.append("1", SocialEvent.newFollower(1L, 3L, EVENT_IDS)).join();
+            outbox.commit(outbox.read(outbox.checkpoint(), 10).next());
+            outbox.append("1", pending).join();
+        }
+
+        // Act
+        try (SocialEventOutbox outbox = new SocialEventOutbox(directory, SEGMENT_SIZE, 0)) {
+            outbox.append("2", afterRestart).join();
+            Batch batch = outbox.read(outbox.checkpoint(), 10);
+
+            // Assert
+            assertThat(batch.entries()).extracting(entry -> entry.event().eventId())
+                .containsExactly(pending.eventId(), afterRestart.eventId());
+        }
+    }
+
+    @Test
+    void append_ShouldKeepWritingToTheCurrentSegmentWhenTheNextCannotBeCreated() throws Exception {
+        try (SocialEventOutbox outbox = new SocialEventOutbox(directory, SEGMENT_SIZE, 0)) {
+            // Arrange
+            String largeKey = "k".repeat(SEGMENT_SIZE / 2);
+            Path blocker = Files.createDirectory(directory.resolve(String.format("%020d.seg", 1)));
+            outbox.append(largeKey, SocialEvent.newFollower(1L, 0L, EVENT_IDS)).join();
+
+            // Act
+            CompletableFuture<Void> rollFailed = outbox.append(largeKey, SocialEvent.newFollower(2L, 0L, EVENT_IDS));
+            List<String> durable = new ArrayList<>(List.of(largeKey));
+            for (int i = 0; i < 5; i++) {
+                outbox.append("small-" + i, SocialEvent.newFollower((long) i, 0L, EVENT_IDS)).join();
+                durable.add("small-" + i);
+            }
+            Files.delete(blocker);
+            for (int i = 0; i < 50; i++) {
+                outbox.append("after-" + i, SocialEvent.newFollower((long) i, 0L, EVENT_IDS)).join();
+                durable.add("after-" + i);
+            }
+            List<Entry> read = new ArrayList<>();
+            Position position = outbox.checkpoint();
+            Batch batch;
+            do {
+                batch = outbox.read(position, 64);
+                read.addAll(batch.entries());
+                position = batch.next();
+            } while (!batch.entries().isEmpty());
+
+            // Assert
+            assertThat(rollFailed).isCompletedExceptionally();
+            assertThat(read).extracting(Entry::key).containsExactlyElementsOf(durable);
+            assertThat(segmentCount()).isEqualTo(2);
+        }
+    }
+
+    private long segmentCount() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(".seg")).count();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package io.gaming.platform.socialservice.producer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.utils.Utils;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.ProducerFactory;
+
+import io.gaming.platform.socialservice.eventid.EventIdGenerator;
+import io.gaming.platform.socialservice.eventid.UuidV7EventIdGenerator;
+import io.gaming.platform.socialservice.model.SocialEvent;
+import io.gaming.platform.socialservice.producer.ShardedKafkaTemplate.ShardBy;
+
+class ShardedKafkaTemplateTest {
+    private static final String TOPIC = "social-events";
+    private static final int PARTITIONS = 6;
+    private static final int SHARDS = 3;
+    private static final EventIdGenerator EVENT_IDS = new UuidV7EventIdGenerator();
+
+    private final List<ProducerFactory<String, SocialEvent>> factories = new ArrayList<>();
+    private final List<Producer<String, SocialEvent>> producers = new ArrayList<>();
+    private final List<Map.Entry<Integer, ProducerRecord<String, SocialEvent>>> sent = new ArrayList<>();
+
+    @Test
+    void send_ShouldWriteEachPartitionThroughOneShard() {
+        // Arrange
+        ShardedKafkaTemplate<SocialEvent> template = template(ShardBy.PARTITION);
+
+        // Act
+        for (long player = 0; player < 100; player++) {
+            template.send(TOPIC, Long.toString(player), SocialEvent.newFollower(player, 1L, EVENT_IDS));
+            template.send(TOPIC, Long.toString(player), SocialEvent.newFollower(player, 2L, EVENT_IDS));
+        }
+
+        // Assert
+        assertThat(sent).hasSize(200);
+        Map<Integer, Integer> shardOfPartition = new HashMap<>();
+        for (Map.Entry<Integer, ProducerRecord<String, SocialEvent>> entry : sent) {
+            ProducerRecord<String, SocialEvent> record = entry.getValue();
+            int expected = Utils.toPositive(Utils.murmur2(record.key().getBytes(StandardCharsets.UTF_8))) % PARTITIONS;
+            assertThat(record.partition()).isEqualTo(expected);
+            assertThat(entry.getKey()).isEqualTo(expected % SHARDS);
+            assertThat(shardOfPartition.putIfAbsent(record.partition(), entry.getKey()))
+                .isIn(null, entry.getKey());
+        }
+        assertThat(shardOfPartition).hasSize(PARTITIONS);
+    }
+
+    @Test
+    void send_ShouldUseTheCachedPartitionCountUntilItIsRefreshed() {
+        // Arrange
+        ShardedKafkaTemplate<SocialEvent> template = template(ShardBy.PARTITION);
+        for (long player = 0; player < 100; player++) {
+            template.send(TOPIC, Long.toString(player), SocialEvent.newFollower(player, 1L, EVENT_IDS));
+        }
+        List<PartitionInfo> grown = partitions(PARTITIONS * 2);
+        producers.forEach(producer -> lenient().when(producer.partitionsFor(anyString())).thenReturn(grown));
+
+        // Act
+        template.refreshPartitionCounts();
+        sent.clear();
+        for (long player = 0; player < 100; player++) {
+            template.send(TOPIC, Long.toString(player), SocialEvent.newFollower(player, 1L, EVENT_IDS));
+        }
+        template.destroy();
+
+        // Assert
+        verify(producers.get(0), times(2)).partitionsFor(TOPIC);
+        for (Map.Entry<Integer, ProducerRecord<String, SocialEvent>> entry : sent) {
+            ProducerRecord<String, SocialEvent> record = entry.getValue();
+            int expected = Utils.toPositive(Utils.murmur2(record.key().getBytes(StandardCharsets.UTF_8))) % (PARTITIONS * 2);
+            assertThat(record.partition()).isEqualTo(expected);
+        }
+        assertThat(sent).extracting(entry -> entry.getValue().partition()).anyMatch(partition -> partition >= PARTITIONS);
+    }
+
+    @Test
+    void send_ShouldKeepEachKeyOnOneShardAndCloseEveryShard() {
+        // Arrange
+        ShardedKafkaTemplate<SocialEvent> template = template(ShardBy.KEY);
+        Map<String, Integer> shardOfKey = new HashMap<>();
+
+        // Act
+        for (int round = 0; round < 3; round++) {
+            for (long player = 0; player < 50; player++) {
+                template.send(TOPIC, Long.toString(player), SocialEvent.newFollower(player, 1L, EVENT_IDS));
+            }
+        }
+        template.destroy();
+
+        // Assert
+        assertThat(sent).hasSize(150);
+        for (Map.Entry<Integer, ProducerRecord<String, SocialEvent>> entry : sent) {
+            assertThat(entry.getValue().partition()).isNull();
+            assertThat(shardOfKey.putIfAbsent(entry.getValue().key(), entry.getKey())).isIn(null, entry.getKey());
+            assertThat(entry.getKey()).isEqualTo(Utils.toPositive(
+                Utils.murmur2(entry.getValue().key().getBytes(StandardCharsets.UTF_8))) % SHARDS);
+        }
+        assertThat(new HashSet<>(shardOfKey.values())).hasSize(SHARDS);
+        factories.forEach(factory -> verify(factory).reset());
+    }
+
+    @SuppressWarnings("unchecked")
+    private ShardedKafkaTemplate<SocialEvent> template(ShardBy shardBy) {
+        List<PartitionInfo> partitions = partitions(PARTITIONS);
+        for (int i = 0; i < SHARDS; i++) {
+            int shard = i;
+            ProducerFactory<String, SocialEvent> factory = mock(ProducerFactory.class);
+            Producer<String, SocialEvent> producer = mock(Producer.class);
+            lenient().when(factory.createProducer()).thenReturn(producer);
+            lenient().when(producer.partitionsFor(anyString())).thenReturn(partitions);
+            lenient().when(producer.send(any(), any())).thenAnswer(invocation -> {
+                sent.add(Map.entry(shard, invocation.getArgument(0)));
+                return new CompletableFuture<>();
+            });
+            factories.add(factory);
+            producers.add(producer);
+        }
+        return new ShardedKafkaTemplate<>(factories, shardBy, Duration.ofSeconds(30));
+    }
+
+    private static List<PartitionInfo> partitions(int count) {
+        return IntStream.range(0, count)
+            .mapToObj(partition -> new PartitionInfo(TOPIC, partition, null, null, null))
+            .toList();
+    }
+}
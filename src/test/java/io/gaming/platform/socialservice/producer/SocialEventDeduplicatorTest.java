@@ -0,0 +1,133 @@
+package io.gaming.platform.socialservice.producer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+import io.gaming.platform.socialservice.eventid.EventIdGenerator;
+import io.gaming.platform.socialservice.eventid.SnowflakeEventIdGenerator;
+import io.gaming.platform.socialservice.eventid.UuidV7EventIdGenerator;
+import io.gaming.platform.socialservice.model.SocialEvent;
+import io.gaming.platform.socialservice.model.SocialEventType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SocialEventDeduplicatorTest {
+    private static final EventIdGenerator EVENT_IDS = new UuidV7EventIdGenerator();
+
+    @Test
+    void findDuplicate_ShouldReturnOriginalForRepeatWithinWindow() {
+        // Arrange
+        SocialEventDeduplicator deduplicator = new SocialEventDeduplicator(true, Duration.ofSeconds(10), 1024);
+        SocialEvent original = SocialEvent.friendRequest(1L, 2L, EVENT_IDS);
+
+        // Act
+        SocialEventDeduplicator.Duplicate first = deduplicator.findDuplicate(original, new CompletableFuture<>());
+        SocialEvent repeat = deduplicator.findDuplicate(
+            SocialEvent.friendRequest(1L, 2L, EVENT_IDS), new CompletableFuture<>()).original();
+
+        // Assert
+        assertThat(first).isNull();
+        assertThat(repeat.eventId()).isEqualTo(original.eventId());
+        assertThat(repeat.eventType()).isEqualTo(original.eventType());
+        assertThat(repeat.playerId()).isEqualTo(1L);
+        assertThat(deduplicator.hits()).isEqualTo(1);
+        assertThat(deduplicator.misses()).isEqualTo(1);
+    }
+
+    @Test
+    void findDuplicate_ShouldReturnOriginalSnowflakeId() {
+        // Arrange
+        SocialEventDeduplicator deduplicator = new SocialEventDeduplicator(true, Duration.ofSeconds(10), 1024);
+        SnowflakeEventIdGenerator eventIds = new SnowflakeEventIdGenerator(1);
+        SocialEvent original = SocialEvent.of(SocialEventType.NEW_FOLLOWER, 1L, 2L, eventIds);
+        deduplicator.findDuplicate(original, new CompletableFuture<>());
+
+        // Act
+        SocialEvent repeat = deduplicator.findDuplicate(
+            SocialEvent.of(SocialEventType.NEW_FOLLOWER, 1L, 2L, eventIds), new CompletableFuture<>()).original();
+
+        // Assert
+        assertThat(repeat.eventId()).isEqualTo(original.eventId());
+    }
+
+    @Test
+    void findDuplicate_ShouldReturnTheOriginalSendUntilItIsAcknowledged() {
+        // Arrange
+        SocialEventDeduplicator deduplicator = new SocialEventDeduplicator(true, Duration.ofSeconds(10), 1024);
+        SocialEvent original = SocialEvent.friendRequest(1L, 2L, EVENT_IDS);
+        CompletableFuture<SocialEventSendResult> send = new CompletableFuture<>();
+        deduplicator.findDuplicate(original, send);
+
+        // Act
+        SocialEventDeduplicator.Duplicate inFlight = deduplicator.findDuplicate(
+            SocialEvent.friendRequest(1L, 2L, EVENT_IDS), new CompletableFuture<>());
+        send.complete(SocialEventSendResult.unacknowledged(original, "social-events"));
+        SocialEventDeduplicator.Duplicate acknowledged = deduplicator.findDuplicate(
+            SocialEvent.friendRequest(1L, 2L, EVENT_IDS), new CompletableFuture<>());
+
+        // Assert
+        assertThat(inFlight.send()).isSameAs(send);
+        assertThat(acknowledged.send()).isNull();
+        assertThat(acknowledged.original().eventId()).isEqualTo(original.eventId());
+    }
+
+    @Test
+    void findDuplicate_ShouldDistinguishEventTypeAndDirection() {
+        // Arrange
+        SocialEventDeduplicator deduplicator = new SocialEventDeduplicator(true, Duration.ofSeconds(10), 1024);
+        deduplicator.findDuplicate(SocialEvent.friendRequest(1L, 2L, EVENT_IDS), new CompletableFuture<>());
+
+        // Act & Assert
+        assertThat(deduplicator.findDuplicate(SocialEvent.newFollower(1L, 2L, EVENT_IDS), new CompletableFuture<>())).isNull();
+        assertThat(deduplicator.findDuplicate(SocialEvent.friendRequest(2L, 1L, EVENT_IDS), new CompletableFuture<>())).isNull();
+    }
+
+    @Test
+    void findDuplicate_ShouldForgetExpiredAndForgottenEntries() {
+        // Arrange
+        SocialEventDeduplicator expiring = new SocialEventDeduplicator(true, Duration.ZERO, 1024);
+        SocialEventDeduplicator forgetting = new SocialEventDeduplicator(true, Duration.ofSeconds(10), 1024);
+        SocialEvent event = SocialEvent.newFollower(1L, 2L, EVENT_IDS);
+        expiring.findDuplicate(event, new CompletableFuture<>());
+        forgetting.findDuplicate(event, new CompletableFuture<>());
+
+        // Act
+        forgetting.forget(event);
+
+        // Assert
+        assertThat(expiring.findDuplicate(SocialEvent.newFollower(1L, 2L, EVENT_IDS), new CompletableFuture<>())).isNull();
+        assertThat(forgetting.findDuplicate(SocialEvent.newFollower(1L, 2L, EVENT_IDS), new CompletableFuture<>())).isNull();
+    }
+
+    @Test
+    void findDuplicate_ShouldStayWithinCapacityAndCountEvictions() {
+        // Arrange
+        SocialEventDeduplicator deduplicator = new SocialEventDeduplicator(true, Duration.ofSeconds(10), 1024);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        deduplicator.bindTo(registry);
+
+        // Act
+        for (long player = 0; player < 10_000; player++) {
+            deduplicator.findDuplicate(SocialEvent.newFollower(player, 0L, EVENT_IDS), new CompletableFuture<>());
+        }
+
+        // Assert
+        assertThat(deduplicator.capacity()).isEqualTo(1024);
+        assertThat(deduplicator.evictions()).isGreaterThanOrEqualTo(10_000 - 1024);
+        assertThat(registry.get("social.events.dedup.evictions").functionCounter().count())
+            .isEqualTo((double) deduplicator.evictions());
+    }
+
+    @Test
+    void findDuplicate_ShouldDoNothingWhenDisabled() {
+        // Arrange
+        SocialEventDeduplicator deduplicator = new SocialEventDeduplicator(false, Duration.ofSeconds(10), 1024);
+        deduplicator.findDuplicate(SocialEvent.friendRequest(1L, 2L, EVENT_IDS), new CompletableFuture<>());
+
+        // Act & Assert
+        assertThat(deduplicator.findDuplicate(SocialEvent.friendRequest(1L, 2L, EVENT_IDS), new CompletableFuture<>())).isNull();
+    }
+}
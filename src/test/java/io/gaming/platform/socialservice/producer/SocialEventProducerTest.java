@@ -1,18 +1,29 @@
 package io.gaming.platform.socialservice.producer;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.SerializationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -21,8 +32,22 @@
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gaming.platform.socialservice.backpressure.PublishLimiter;
+import io.gaming.platform.socialservice.backpressure.PublishRejectedException;
+import io.gaming.platform.socialservice.coalescing.NewFollowerCoalescer;
+import io.gaming.platform.socialservice.config.BackpressureProperties;
+import io.gaming.platform.socialservice.config.KeyingProperties;
+import io.gaming.platform.socialservice.config.PublishLogProperties;
+import io.gaming.platform.socialservice.eventid.EventIdGenerator;
+import io.gaming.platform.socialservice.eventid.UuidV7EventIdGenerator;
+import io.gaming.platform.socialservice.friendrequest.PendingFriendRequestIndex;
+import io.gaming.platform.socialservice.keying.KeyStrategy;
+import io.gaming.platform.socialservice.keying.SocialEventKeyer;
+import io.gaming.platform.socialservice.metrics.SocialEventMetrics;
+import io.gaming.platform.socialservice.model.SocialEvent;
+import io.gaming.platform.socialservice.model.SocialEventType;
+import io.gaming.platform.socialservice.outbox.SocialEventOutbox;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 class SocialEventProducerTest {
@@ -30,109 +55,354 @@ class SocialEventProducerTest {
     private static final Long PLAYER_ID = 123L;
     private static final Long OTHER_PLAYER_ID = 456L;
     private static final String ERROR_MESSAGE = "Error serializing event";
+    private static final EventIdGenerator EVENT_IDS = new UuidV7EventIdGenerator();
 
     @Mock
-    private KafkaTemplate<String, String> kafkaTemplate;
+    private KafkaTemplate<String, SocialEvent> kafkaTemplate;
 
-    @Mock
-    private ObjectMapper objectMapper;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SocialEventMetrics metrics = new SocialEventMetrics(meterRegistry);
+    private final SocialEventPublishLog publishLog =
+        new SocialEventPublishLog(new PublishLogProperties(1.0, null, true));
+
+    private final PendingFriendRequestIndex pendingFriendRequests =
+        new PendingFriendRequestIndex(true, Duration.ofDays(7), 1024);
+
+    private final SocialEventKeyer keyer =
+        new SocialEventKeyer(new KeyingProperties(KeyStrategy.ACTOR, null, null, null), null);
+
+    private final PublishLimiter limiter = new PublishLimiter(backpressure(2));
 
     private SocialEventProducer socialEventProducer;
 
     @BeforeEach
     void setUp() {
-        socialEventProducer = new SocialEventProducer(kafkaTemplate, objectMapper, TOPIC);
+        socialEventProducer = new SocialEventProducer(kafkaTemplate, TOPIC, deduplicator(), null, metrics, publishLog, pendingFriendRequests, new UuidV7EventIdGenerator(), keyer, limiter, null);
     }
 
     @Test
-    void sendFriendRequestEvent_ShouldSendCorrectEvent() throws Exception {
+    void sendFriendRequestEvent_ShouldSendCorrectEvent() {
         // Arrange
-        String eventJson = """
-            {"eventType":"FRIEND_REQUEST","playerId":123,"data":{"targetId":456}}""";
-        
-        when(objectMapper.writeValueAsString(any())).thenReturn(eventJson);
-        when(kafkaTemplate.send(eq(TOPIC), eq(PLAYER_ID.toString()), eq(eventJson)))
-            .thenReturn(CompletableFuture.completedFuture(createSendResult()));
+        when(kafkaTemplate.send(eq(TOPIC), eq(PLAYER_ID.toString()), any(SocialEvent.class)))
+            .thenAnswer(invocation -> CompletableFuture.completedFuture(createSendResult(invocation.getArgument(2))));
 
         // Act
-        CompletableFuture<SendResult<String, String>> result = socialEventProducer.sendFriendRequestEvent(PLAYER_ID, OTHER_PLAYER_ID);
+        CompletableFuture<SocialEventSendResult> result = socialEventProducer.sendFriendRequestEvent(PLAYER_ID, OTHER_PLAYER_ID);
 
         // Assert
         assertThat(result).isCompleted();
-        verify(kafkaTemplate).send(eq(TOPIC), eq(PLAYER_ID.toString()), eq(eventJson));
+        assertThat(result.join().event().eventType()).isEqualTo(SocialEventType.FRIEND_REQUEST);
+        assertThat(pendingFriendRequests.isPending(PLAYER_ID, OTHER_PLAYER_ID)).isTrue();
+        assertThat(result.join().event().playerId()).isEqualTo(PLAYER_ID);
+        verify(kafkaTemplate).send(eq(TOPIC), eq(PLAYER_ID.toString()), argThat(event ->
+            event.eventType() == SocialEventType.FRIEND_REQUEST
+                && event.eventData().equals(Map.of("otherPlayerId", OTHER_PLAYER_ID))));
     }
 
     @Test
-    void sendFriendAcceptanceEvent_ShouldSendCorrectEvent() throws Exception {
+    void sendFriendAcceptanceEvent_ShouldSendCorrectEvent() {
         // Arrange
-        String eventJson = """
-            {"eventType":"FRIEND_ACCEPTED","playerId":123,"data":{"requesterId":456}}""";
-        
-        when(objectMapper.writeValueAsString(any())).thenReturn(eventJson);
-        when(kafkaTemplate.send(eq(TOPIC), eq(PLAYER_ID.toString()), eq(eventJson)))
-            .thenReturn(CompletableFuture.completedFuture(createSendResult()));
+        when(kafkaTemplate.send(eq(TOPIC), eq(PLAYER_ID.toString()), any(SocialEvent.class)))
+            .thenAnswer(invocation -> CompletableFuture.completedFuture(createSendResult(invocation.getArgument(2))));
 
         // Act
-        CompletableFuture<SendResult<String, String>> result = socialEventProducer.sendFriendAcceptanceEvent(PLAYER_ID, OTHER_PLAYER_ID);
+        CompletableFuture<SocialEventSendResult> result = socialEventProducer.sendFriendAcceptanceEvent(PLAYER_ID, OTHER_PLAYER_ID);
 
         // Assert
         assertThat(result).isCompleted();
-        verify(kafkaTemplate).send(eq(TOPIC), eq(PLAYER_ID.toString()), eq(eventJson));
+        verify(kafkaTemplate).send(eq(TOPIC), eq(PLAYER_ID.toString()), argThat(event ->
+            event.eventType() == SocialEventType.FRIEND_ACCEPTED
+                && event.eventData().equals(Map.of("otherPlayerId", OTHER_PLAYER_ID))));
     }
 
     @Test
-    void sendNewFollowerEvent_ShouldSendCorrectEvent() throws Exception {
+    void sendNewFollowerEvent_ShouldSendCorrectEvent() {
         // Arrange
-        String eventJson = """
-            {"eventType":"NEW_FOLLOWER","playerId":123,"data":{"followedId":456}}""";
-        
-        when(objectMapper.writeValueAsString(any())).thenReturn(eventJson);
-        when(kafkaTemplate.send(eq(TOPIC), eq(PLAYER_ID.toString()), eq(eventJson)))
-            .thenReturn(CompletableFuture.completedFuture(createSendResult()));
+        when(kafkaTemplate.send(eq(TOPIC), eq(PLAYER_ID.toString()), any(SocialEvent.class)))
+            .thenAnswer(invocation -> CompletableFuture.completedFuture(createSendResult(invocation.getArgument(2))));
 
         // Act
-        CompletableFuture<SendResult<String, String>> result = socialEventProducer.sendNewFollowerEvent(PLAYER_ID, OTHER_PLAYER_ID);
+        CompletableFuture<SocialEventSendResult> result = socialEventProducer.sendNewFollowerEvent(PLAYER_ID, OTHER_PLAYER_ID);
 
         // Assert
         assertThat(result).isCompleted();
-        verify(kafkaTemplate).send(eq(TOPIC), eq(PLAYER_ID.toString()), eq(eventJson));
+        verify(kafkaTemplate).send(eq(TOPIC), eq(PLAYER_ID.toString()), argThat(event ->
+            event.eventType() == SocialEventType.NEW_FOLLOWER
+                && event.eventData().equals(Map.of("otherPlayerId", OTHER_PLAYER_ID))));
+    }
+
+    @Test
+    void sendFriendRequestEvent_ShouldOpenTheRequestBeforeItIsAcknowledged() {
+        // Arrange
+        pendingFriendRequests.markLoaded();
+        CompletableFuture<SendResult<String, SocialEvent>> ack = new CompletableFuture<>();
+        when(kafkaTemplate.send(eq(TOPIC), eq(PLAYER_ID.toString()), any(SocialEvent.class))).thenReturn(ack);
+
+        // Act
+        CompletableFuture<SocialEventSendResult> result = socialEventProducer.sendFriendRequestEvent(PLAYER_ID, OTHER_PLAYER_ID);
+
+        // Assert
+        assertThat(result).isNotDone();
+        assertThat(pendingFriendRequests.isAcceptable(PLAYER_ID, OTHER_PLAYER_ID)).isTrue();
     }
 
-    @SuppressWarnings("serial")
     @Test
-    void sendSocialEvent_ShouldHandleSerializationError() throws JsonProcessingException {
+    void sendFriendRequestEvent_ShouldWithdrawTheRequestWhenTheSendFails() {
         // Arrange
-        when(objectMapper.writeValueAsString(any())).thenThrow(new JsonProcessingException(ERROR_MESSAGE) {});
+        CompletableFuture<SendResult<String, SocialEvent>> ack = new CompletableFuture<>();
+        when(kafkaTemplate.send(eq(TOPIC), eq(PLAYER_ID.toString()), any(SocialEvent.class))).thenReturn(ack);
+        CompletableFuture<SocialEventSendResult> result = socialEventProducer.sendFriendRequestEvent(PLAYER_ID, OTHER_PLAYER_ID);
 
         // Act
-        CompletableFuture<SendResult<String, String>> result = socialEventProducer.sendFriendRequestEvent(PLAYER_ID, OTHER_PLAYER_ID);
+        ack.completeExceptionally(new RuntimeException("Kafka error"));
 
         // Assert
         assertThat(result).isCompletedExceptionally();
-        verify(kafkaTemplate, never()).send(anyString(), anyString(), anyString());
+        assertThat(pendingFriendRequests.isPending(PLAYER_ID, OTHER_PLAYER_ID)).isFalse();
     }
 
     @Test
-    void sendSocialEvent_ShouldHandleKafkaError() throws JsonProcessingException {
+    void sendSocialEvent_ShouldHandleSerializationError() {
         // Arrange
-        String eventJson = """
-            {"eventType":"FRIEND_REQUEST","playerId":123,"data":{"targetId":456}}""";
-        
-        when(objectMapper.writeValueAsString(any())).thenReturn(eventJson);
-        when(kafkaTemplate.send(eq(TOPIC), eq(PLAYER_ID.toString()), eq(eventJson)))
+        when(kafkaTemplate.send(anyString(), anyString(), any(SocialEvent.class)))
+            .thenThrow(new SerializationException(ERROR_MESSAGE));
+
+        // Act
+        CompletableFuture<SocialEventSendResult> result = socialEventProducer.sendFriendRequestEvent(PLAYER_ID, OTHER_PLAYER_ID);
+
+        // Assert
+        assertThat(result).isCompletedExceptionally();
+    }
+
+    @Test
+    void sendSocialEvent_ShouldHandleKafkaError() {
+        // Arrange
+        when(kafkaTemplate.send(eq(TOPIC), eq(PLAYER_ID.toString()), any(SocialEvent.class)))
             .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Kafka error")));
 
         // Act
-        CompletableFuture<SendResult<String, String>> result = socialEventProducer.sendFriendRequestEvent(PLAYER_ID, OTHER_PLAYER_ID);
+        CompletableFuture<SocialEventSendResult> result = socialEventProducer.sendFriendRequestEvent(PLAYER_ID, OTHER_PLAYER_ID);
 
         // Assert
         assertThat(result).isCompletedExceptionally();
     }
 
-    private SendResult<String, String> createSendResult() {
-        ProducerRecord<String, String> record = new ProducerRecord<>(TOPIC, PLAYER_ID.toString(), "test-value");
+    @Test
+    void sendSocialEvent_ShouldRecordAckLatencyAndOutcomePerEventType() {
+        // Arrange
+        CompletableFuture<SendResult<String, SocialEvent>> ack = new CompletableFuture<>();
+        when(kafkaTemplate.send(eq(TOPIC), eq(PLAYER_ID.toString()), any(SocialEvent.class))).thenReturn(ack);
+        when(kafkaTemplate.send(eq(TOPIC), eq(OTHER_PLAYER_ID.toString()), any(SocialEvent.class)))
+            .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Kafka error")));
+
+        // Act
+        CompletableFuture<SocialEventSendResult> pending = socialEventProducer.sendNewFollowerEvent(PLAYER_ID, OTHER_PLAYER_ID);
+        int inFlightBeforeAck = metrics.inFlight();
+        ack.complete(createSendResult(SocialEvent.newFollower(PLAYER_ID, OTHER_PLAYER_ID, EVENT_IDS)));
+        socialEventProducer.sendFriendRequestEvent(OTHER_PLAYER_ID, PLAYER_ID);
+
+        // Assert
+        assertThat(pending).isCompleted();
+        assertThat(inFlightBeforeAck).isEqualTo(1);
+        assertThat(metrics.inFlight()).isZero();
+        assertThat(meterRegistry.get("social.events.ack").tags("type", "NEW_FOLLOWER", "outcome", "success").timer().count())
+            .isEqualTo(1);
+        assertThat(meterRegistry.get("social.events.published").tags("type", "NEW_FOLLOWER", "outcome", "acknowledged")
+            .counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("social.events.ack").tags("type", "FRIEND_REQUEST", "outcome", "failure").timer().count())
+            .isEqualTo(1);
+        assertThat(meterRegistry.get("social.events.published").tags("type", "FRIEND_REQUEST", "outcome", "failed")
+            .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void sendSocialEvent_ShouldAppendToOutboxInsteadOfKafkaWhenOutboxEnabled() {
+        // Arrange
+        SocialEventOutbox outbox = mock(SocialEventOutbox.class);
+        SocialEventProducer outboxProducer = new SocialEventProducer(kafkaTemplate, TOPIC, deduplicator(), outbox, metrics, publishLog, pendingFriendRequests, new UuidV7EventIdGenerator(), keyer, limiter, null);
+
+        when(outbox.append(eq(PLAYER_ID.toString()), any(SocialEvent.class)))
+            .thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        CompletableFuture<SocialEventSendResult> result = outboxProducer.sendNewFollowerEvent(PLAYER_ID, OTHER_PLAYER_ID);
+
+        // Assert
+        assertThat(result).isCompleted();
+        assertThat(result.join().event().eventType()).isEqualTo(SocialEventType.NEW_FOLLOWER);
+        assertThat(result.join().isAcknowledged()).isFalse();
+        verify(kafkaTemplate, never()).send(anyString(), anyString(), any(SocialEvent.class));
+    }
+
+    @Test
+    void sendSocialEvent_ShouldSuppressRepeatAndReturnOriginalEvent() {
+        // Arrange
+        when(kafkaTemplate.send(eq(TOPIC), eq(PLAYER_ID.toString()), any(SocialEvent.class)))
+            .thenAnswer(invocation -> CompletableFuture.completedFuture(createSendResult(invocation.getArgument(2))));
+
+        // Act
+        SocialEventSendResult first = socialEventProducer.sendFriendRequestEvent(PLAYER_ID, OTHER_PLAYER_ID).join();
+        SocialEventSendResult repeat = socialEventProducer.sendFriendRequestEvent(PLAYER_ID, OTHER_PLAYER_ID).join();
+
+        // Assert
+        assertThat(repeat.event().eventId()).isEqualTo(first.event().eventId());
+        assertThat(repeat.isAcknowledged()).isFalse();
+        verify(kafkaTemplate, times(1)).send(anyString(), anyString(), any(SocialEvent.class));
+    }
+
+    @Test
+    void sendSocialEvent_ShouldFailARepeatWhenTheOriginalInFlightFails() {
+        // Arrange
+        CompletableFuture<SendResult<String, SocialEvent>> inFlight = new CompletableFuture<>();
+        when(kafkaTemplate.send(eq(TOPIC), eq(PLAYER_ID.toString()), any(SocialEvent.class))).thenReturn(inFlight);
+        CompletableFuture<SocialEventSendResult> original = socialEventProducer.sendFriendRequestEvent(PLAYER_ID, OTHER_PLAYER_ID);
+        CompletableFuture<SocialEventSendResult> repeat = socialEventProducer.sendFriendRequestEvent(PLAYER_ID, OTHER_PLAYER_ID);
+
+        // Act
+        boolean pendingWhileInFlight = !repeat.isDone();
+        inFlight.completeExceptionally(new RuntimeException("Kafka error"));
+
+        // Assert
+        assertThat(pendingWhileInFlight).isTrue();
+        assertThat(original).isCompletedExceptionally();
+        assertThat(repeat).isCompletedExceptionally();
+        verify(kafkaTemplate, times(1)).send(anyString(), anyString(), any(SocialEvent.class));
+    }
+
+    @Test
+    void sendSocialEvent_ShouldCompleteARepeatWithTheOriginalOnceAcknowledged() {
+        // Arrange
+        CompletableFuture<SendResult<String, SocialEvent>> inFlight = new CompletableFuture<>();
+        when(kafkaTemplate.send(eq(TOPIC), eq(PLAYER_ID.toString()), any(SocialEvent.class))).thenReturn(inFlight);
+        CompletableFuture<SocialEventSendResult> original = socialEventProducer.sendFriendRequestEvent(PLAYER_ID, OTHER_PLAYER_ID);
+        CompletableFuture<SocialEventSendResult> repeat = socialEventProducer.sendFriendRequestEvent(PLAYER_ID, OTHER_PLAYER_ID);
+
+        // Act
+        inFlight.complete(createSendResult(SocialEvent.friendRequest(PLAYER_ID, OTHER_PLAYER_ID, EVENT_IDS)));
+
+        // Assert
+        assertThat(repeat.join().event().eventId()).isEqualTo(original.join().event().eventId());
+        assertThat(repeat.join().isAcknowledged()).isTrue();
+    }
+
+    @Test
+    void sendSocialEvent_ShouldPublishRetryAfterFailedSend() {
+        // Arrange
+        when(kafkaTemplate.send(eq(TOPIC), eq(PLAYER_ID.toString()), any(SocialEvent.class)))
+            .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Kafka error")))
+            .thenAnswer(invocation -> CompletableFuture.completedFuture(createSendResult(invocation.getArgument(2))));
+
+        // Act
+        CompletableFuture<SocialEventSendResult> failed = socialEventProducer.sendFriendRequestEvent(PLAYER_ID, OTHER_PLAYER_ID);
+        CompletableFuture<SocialEventSendResult> retry = socialEventProducer.sendFriendRequestEvent(PLAYER_ID, OTHER_PLAYER_ID);
+
+        // Assert
+        assertThat(failed).isCompletedExceptionally();
+        assertThat(retry.join().isAcknowledged()).isTrue();
+        verify(kafkaTemplate, times(2)).send(anyString(), anyString(), any(SocialEvent.class));
+    }
+
+    @Test
+    void sendSocialEvent_ShouldShedEventsOverInFlightLimitUntilAcknowledged() {
+        // Arrange
+        CompletableFuture<SendResult<String, SocialEvent>> pendingAck = new CompletableFuture<>();
+        when(kafkaTemplate.send(eq(TOPIC), anyString(), any(SocialEvent.class))).thenReturn(pendingAck);
+        socialEventProducer.sendNewFollowerEvent(1L, OTHER_PLAYER_ID);
+        socialEventProducer.sendNewFollowerEvent(2L, OTHER_PLAYER_ID);
+
+        // Act
+        CompletableFuture<SocialEventSendResult> shed = socialEventProducer.sendNewFollowerEvent(3L, OTHER_PLAYER_ID);
+        pendingAck.complete(createSendResult(SocialEvent.newFollower(1L, OTHER_PLAYER_ID, EVENT_IDS)));
+        CompletableFuture<SocialEventSendResult> afterAck = socialEventProducer.sendNewFollowerEvent(3L, OTHER_PLAYER_ID);
+
+        // Assert
+        assertThat(shed).isCompletedExceptionally();
+        assertThatThrownBy(shed::join).hasCauseInstanceOf(PublishRejectedException.class);
+        assertThat(afterAck).isCompleted();
+        assertThat(limiter.rejections()).isEqualTo(1);
+        assertThat(limiter.inFlight()).isZero();
+        assertThat(meterRegistry.get("social.events.published")
+            .tags("type", "NEW_FOLLOWER", "outcome", "shed").counter().count()).isEqualTo(1.0);
+        verify(kafkaTemplate, times(3)).send(anyString(), anyString(), any(SocialEvent.class));
+    }
+
+    @Test
+    void sendSocialEvent_ShouldPaceABatchLargerThanTheLimitInsteadOfSheddingIt() {
+        // Arrange
+        Executor broker = CompletableFuture.delayedExecutor(5, TimeUnit.MILLISECONDS);
+        when(kafkaTemplate.send(eq(TOPIC), anyString(), any(SocialEvent.class)))
+            .thenAnswer(invocation -> CompletableFuture.supplyAsync(
+                () -> createSendResult(invocation.getArgument(2)), broker));
+        long permitDeadline = socialEventProducer.permitDeadline();
+        List<CompletableFuture<SocialEventSendResult>> batch = new ArrayList<>();
+
+        // Act
+        for (long follower = 1; follower <= 20; follower++) {
+            batch.add(socialEventProducer.sendSocialEvent(SocialEventType.NEW_FOLLOWER, follower, OTHER_PLAYER_ID, permitDeadline));
+        }
+        CompletableFuture.allOf(batch.toArray(CompletableFuture[]::new)).join();
+
+        // Assert
+        assertThat(batch).allMatch(result -> result.join().isAcknowledged());
+        assertThat(limiter.rejections()).isZero();
+        assertThat(limiter.isDegraded()).isFalse();
+        verify(kafkaTemplate, times(20)).send(anyString(), anyString(), any(SocialEvent.class));
+    }
+
+    @Test
+    void sendSocialEvent_ShouldRefuseABatchItemStillWithoutAPermitAtTheDeadline() {
+        // Arrange
+        when(kafkaTemplate.send(eq(TOPIC), anyString(), any(SocialEvent.class))).thenReturn(new CompletableFuture<>());
+        long permitDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(50);
+        socialEventProducer.sendSocialEvent(SocialEventType.NEW_FOLLOWER, 1L, OTHER_PLAYER_ID, permitDeadline);
+        socialEventProducer.sendSocialEvent(SocialEventType.NEW_FOLLOWER, 2L, OTHER_PLAYER_ID, permitDeadline);
+
+        // Act
+        CompletableFuture<SocialEventSendResult> refused =
+            socialEventProducer.sendSocialEvent(SocialEventType.NEW_FOLLOWER, 3L, OTHER_PLAYER_ID, permitDeadline);
+
+        // Assert
+        assertThatThrownBy(refused::join).hasCauseInstanceOf(PublishRejectedException.class);
+        assertThat(limiter.rejections()).isEqualTo(1);
+        assertThat(limiter.isDegraded()).isTrue();
+    }
+
+    @Test
+    void sendNewFollowerEvent_ShouldPublishOneAggregateWhenCoalescing() {
+        // Arrange
+        NewFollowerCoalescer coalescer = new NewFollowerCoalescer(Duration.ofMinutes(1), 2, 100, 1,
+            Duration.ofSeconds(1), new UuidV7EventIdGenerator(), metrics);
+        coalescer.start();
+        SocialEventProducer coalescingProducer = new SocialEventProducer(kafkaTemplate, TOPIC, deduplicator(), null, metrics, publishLog, pendingFriendRequests, new UuidV7EventIdGenerator(), keyer, limiter, coalescer);
+        when(kafkaTemplate.send(eq(TOPIC), anyString(), any(SocialEvent.class)))
+            .thenAnswer(invocation -> CompletableFuture.completedFuture(createSendResult(invocation.getArgument(2))));
+
+        // Act
+        CompletableFuture<SocialEventSendResult> first = coalescingProducer.sendNewFollowerEvent(1L, OTHER_PLAYER_ID);
+        CompletableFuture<SocialEventSendResult> second = coalescingProducer.sendNewFollowerEvent(2L, OTHER_PLAYER_ID);
+        coalescer.stop();
+
+        // Assert
+        assertThat(first.join().event().playerId()).isEqualTo(1L);
+        assertThat(second.join().isAcknowledged()).isTrue();
+        verify(kafkaTemplate, times(1)).send(eq(TOPIC), anyString(),
+            argThat(event -> event.eventType() == SocialEventType.NEW_FOLLOWERS && event.followerIds().length == 2
+                && event.playerId().equals(OTHER_PLAYER_ID)));
+    }
+
+    private static BackpressureProperties backpressure(int limit) {
+        return new BackpressureProperties(true, BackpressureProperties.Mode.FIXED, limit, 1, limit,
+            Duration.ofMillis(100), 2.0, Duration.ofSeconds(1), Duration.ofSeconds(10), Duration.ofSeconds(5));
+    }
+
+    private static SocialEventDeduplicator deduplicator() {
+        return new SocialEventDeduplicator(true, Duration.ofSeconds(10), 1024);
+    }
+
+    private SendResult<String, SocialEvent> createSendResult(SocialEvent event) {
+        ProducerRecord<String, SocialEvent> record = new ProducerRecord<>(TOPIC, PLAYER_ID.toString(), event);
         TopicPartition topicPartition = new TopicPartition(TOPIC, 0);
         RecordMetadata metadata = new RecordMetadata(topicPartition, 0, 0, 0, 0, 0);
         return new SendResult<>(record, metadata);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,44 @@
+package io.gaming.platform.socialservice.producer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import io.gaming.platform.socialservice.config.PublishLogProperties;
+import io.gaming.platform.socialservice.model.SocialEventType;
+
+class SocialEventPublishLogTest {
+
+    @Test
+    void isSampled_ShouldApplyPerTypeOverridesOverDefaultRate() {
+        // Arrange
+        SocialEventPublishLog publishLog = new SocialEventPublishLog(new PublishLogProperties(
+            0.0, Map.of(SocialEventType.FRIEND_ACCEPTED, 1.0), false));
+
+        // Act
+        long requestsSampled = IntStream.range(0, 1000)
+            .filter(i -> publishLog.isSampled(SocialEventType.FRIEND_REQUEST)).count();
+        long acceptancesSampled = IntStream.range(0, 1000)
+            .filter(i -> publishLog.isSampled(SocialEventType.FRIEND_ACCEPTED)).count();
+
+        // Assert
+        assertThat(requestsSampled).isZero();
+        assertThat(acceptancesSampled).isEqualTo(1000);
+    }
+
+    @Test
+    void isSampled_ShouldLogRoughlyTheConfiguredFraction() {
+        // Arrange
+        SocialEventPublishLog publishLog = new SocialEventPublishLog(new PublishLogProperties(0.1, null, false));
+
+        // Act
+        long sampled = IntStream.range(0, 100_000)
+            .filter(i -> publishLog.isSampled(SocialEventType.NEW_FOLLOWER)).count();
+
+        // Assert
+        assertThat(sampled).isBetween(9_000L, 11_000L);
+    }
+}
@@ -0,0 +1,66 @@
+package io.gaming.platform.socialservice.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class PlayerRateLimiterTest {
+
+    @Test
+    void tryAcquire_ShouldAllowBurstThenReportWaitUntilNextToken() {
+        // Arrange
+        PlayerRateLimiter limiter = new PlayerRateLimiter(true, 2, 3, 1024, true);
+
+        // Act
+        long first = limiter.tryAcquire(42L);
+        long second = limiter.tryAcquire(42L);
+        long third = limiter.tryAcquire(42L);
+        long fourth = limiter.tryAcquire(42L);
+
+        // Assert
+        assertThat(first).isZero();
+        assertThat(second).isZero();
+        assertThat(third).isZero();
+        assertThat(fourth).isPositive().isLessThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(500));
+        assertThat(limiter.rejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void tryAcquire_ShouldKeepSeparateBucketsPerPlayer() {
+        // Arrange
+        PlayerRateLimiter limiter = new PlayerRateLimiter(true, 1, 1, 1024, false);
+        limiter.tryAcquire(1L);
+
+        // Act & Assert
+        assertThat(limiter.tryAcquire(1L)).isPositive();
+        assertThat(limiter.tryAcquire(2L)).isZero();
+    }
+
+    @Test
+    void tryAcquire_ShouldStayBoundedWhenManyPlayersAreActive() {
+        // Arrange
+        PlayerRateLimiter limiter = new PlayerRateLimiter(true, 1, 1, 64, false);
+
+        // Act
+        for (long player = 0; player < 10_000; player++) {
+            limiter.tryAcquire(player);
+        }
+
+        // Assert
+        assertThat(limiter.allowedCount()).isEqualTo(10_000);
+        assertThat(limiter.evictionCount()).isGreaterThanOrEqualTo(10_000 - 64);
+    }
+
+    @Test
+    void tryAcquire_ShouldAllowEverythingWhenDisabled() {
+        // Arrange
+        PlayerRateLimiter limiter = new PlayerRateLimiter(false, 1, 1, 1024, true);
+
+        // Act & Assert
+        for (int i = 0; i < 100; i++) {
+            assertThat(limiter.tryAcquire(7L)).isZero();
+        }
+    }
+}
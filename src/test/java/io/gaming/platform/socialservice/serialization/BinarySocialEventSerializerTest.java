@@ -0,0 +1,123 @@
+package io.gaming.platform.socialservice.serialization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+
+import io.gaming.platform.socialservice.eventid.EventIdGenerator;
+import io.gaming.platform.socialservice.eventid.SnowflakeEventIdGenerator;
+import io.gaming.platform.socialservice.eventid.UuidV7EventIdGenerator;
+import io.gaming.platform.socialservice.model.EventCategory;
+import io.gaming.platform.socialservice.model.SocialEvent;
+import io.gaming.platform.socialservice.model.SocialEventType;
+
+class BinarySocialEventSerializerTest {
+    private static final String TOPIC = "social-events";
+    private static final EventIdGenerator EVENT_IDS = new UuidV7EventIdGenerator();
+
+    private final BinarySocialEventSerializer serializer = new BinarySocialEventSerializer();
+    private final BinarySocialEventDeserializer deserializer = new BinarySocialEventDeserializer();
+
+    @Test
+    void serialize_ShouldRoundTripFactoryEvents() {
+        // Arrange
+        SocialEvent event = SocialEvent.newFollower(123L, 456L, EVENT_IDS);
+
+        // Act
+        SocialEvent decoded = deserializer.deserialize(TOPIC, serializer.serialize(TOPIC, event));
+
+        // Assert
+        assertThat(decoded.category()).isEqualTo(EventCategory.SOCIAL);
+        assertThat(decoded.eventType()).isEqualTo(SocialEventType.NEW_FOLLOWER);
+        assertThat(decoded.eventId()).isEqualTo(event.eventId());
+        assertThat(decoded.timestamp()).isEqualTo(event.timestamp().truncatedTo(ChronoUnit.MICROS));
+        assertThat(decoded.playerId()).isEqualTo(123L);
+        assertThat(decoded.eventData()).isEqualTo(Map.of("otherPlayerId", 456L));
+    }
+
+    @Test
+    void serialize_ShouldRoundTripSnowflakeEventIds() {
+        // Arrange
+        SocialEvent event = SocialEvent.of(SocialEventType.FRIEND_REQUEST, 123L, 456L, new SnowflakeEventIdGenerator(7));
+
+        // Act
+        SocialEvent decoded = deserializer.deserialize(TOPIC, serializer.serialize(TOPIC, event));
+
+        // Assert
+        assertThat(decoded.eventId()).isEqualTo(event.eventId());
+        assertThat(decoded.eventId()).doesNotContain("-");
+    }
+
+    @Test
+    void serialize_ShouldRoundTripArbitraryEventData() {
+        // Arrange
+        Map<String, Object> eventData = new LinkedHashMap<>();
+        eventData.put("otherPlayerId", -7);
+        eventData.put("source", "tournament");
+        eventData.put("mutual", true);
+        eventData.put("score", 1.5);
+        eventData.put("note", null);
+        SocialEvent event = new SocialEvent(EventCategory.SOCIAL, SocialEventType.FRIEND_REQUEST,
+            UUID.randomUUID().toString(), Instant.parse("2025-01-01T00:00:00.000001Z"), Long.MAX_VALUE, eventData);
+
+        // Act
+        SocialEvent decoded = deserializer.deserialize(TOPIC, serializer.serialize(TOPIC, event));
+
+        // Assert
+        assertThat(decoded.timestamp()).isEqualTo(event.timestamp());
+        assertThat(decoded.playerId()).isEqualTo(Long.MAX_VALUE);
+        assertThat(decoded.eventData()).containsEntry("otherPlayerId", -7L)
+            .containsEntry("source", "tournament")
+            .containsEntry("mutual", true)
+            .containsEntry("score", 1.5)
+            .containsEntry("note", null);
+    }
+
+    @Test
+    void serialize_ShouldPackFollowerIdsOfAggregates() {
+        // Arrange
+        long[] followers = {1_000_000_000L, 1_000_000_007L, 999_999_990L, 5L};
+        SocialEvent event = SocialEvent.newFollowers(followers, 42L, new SnowflakeEventIdGenerator(1));
+
+        // Act
+        byte[] encoded = serializer.serialize(TOPIC, event);
+        SocialEvent decoded = deserializer.deserialize(TOPIC, encoded);
+
+        // Assert
+        assertThat(decoded.eventType()).isEqualTo(SocialEventType.NEW_FOLLOWERS);
+        assertThat(decoded.playerId()).isEqualTo(42L);
+        assertThat(decoded.eventData()).containsEntry("otherPlayerId", 42L);
+        assertThat(decoded.followerIds()).containsExactly(followers);
+        assertThat(encoded).hasSizeLessThan(60);
+    }
+
+    @Test
+    void serialize_ShouldBeMuchSmallerThanJson() {
+        // Act
+        byte[] encoded = serializer.serialize(TOPIC, SocialEvent.friendRequest(123456789L, 987654321L, EVENT_IDS));
+
+        // Assert
+        assertThat(encoded[0]).isEqualTo(BinarySocialEventSerializer.SCHEMA_VERSION);
+        assertThat(encoded).hasSizeLessThan(48);
+    }
+
+    @Test
+    void deserialize_ShouldRejectUnknownSchemaVersion() {
+        // Arrange
+        byte[] encoded = serializer.serialize(TOPIC, SocialEvent.friendRequest(1L, 2L, EVENT_IDS));
+        encoded[0] = 99;
+
+        // Act & Assert
+        assertThatThrownBy(() -> deserializer.deserialize(TOPIC, encoded))
+            .isInstanceOf(SerializationException.class)
+            .hasMessageContaining("schema version 99");
+    }
+}
@@ -0,0 +1,90 @@
+package io.gaming.platform.socialservice.startup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.serialization.Serializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.gaming.platform.socialservice.eventid.UuidV7EventIdGenerator;
+import io.gaming.platform.socialservice.model.SocialEvent;
+import io.gaming.platform.socialservice.model.SocialEventType;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+class StartupWarmupTest {
+    private static final String TOPIC = "social-events";
+
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, SocialEvent> kafkaTemplate = mock(KafkaTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final Serializer<SocialEvent> serializer = mock(Serializer.class);
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    void run_ShouldLoadMetadataAndEncodeEveryEventType() {
+        // Arrange
+        when(kafkaTemplate.partitionsFor(TOPIC)).thenReturn(List.of(
+            new PartitionInfo(TOPIC, 0, null, null, null), new PartitionInfo(TOPIC, 1, null, null, null)));
+        StartupWarmup warmup = warmup(true, Duration.ofSeconds(5));
+
+        // Act
+        warmup.run(new DefaultApplicationArguments());
+
+        // Assert
+        verify(kafkaTemplate).partitionsFor(TOPIC);
+        verify(serializer, times(SocialEventType.values().length)).serialize(eq(TOPIC), any(SocialEvent.class));
+        verify(kafkaTemplate, never()).send(any(String.class), any(String.class), any(SocialEvent.class));
+    }
+
+    @Test
+    void run_ShouldBecomeReadyWhenMetadataTimesOut() {
+        // Arrange
+        when(kafkaTemplate.partitionsFor(TOPIC)).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return List.of();
+        });
+        StartupWarmup warmup = warmup(true, Duration.ofMillis(50));
+        long start = System.nanoTime();
+
+        // Act
+        warmup.run(new DefaultApplicationArguments());
+
+        // Assert
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(4));
+        verify(serializer, times(SocialEventType.values().length)).serialize(eq(TOPIC), any(SocialEvent.class));
+    }
+
+    @Test
+    void run_ShouldDoNothingWhenDisabled() {
+        // Arrange
+        StartupWarmup warmup = warmup(false, Duration.ofSeconds(5));
+
+        // Act
+        warmup.run(new DefaultApplicationArguments());
+
+        // Assert
+        verifyNoInteractions(kafkaTemplate, serializer);
+    }
+
+    private StartupWarmup warmup(boolean enabled, Duration timeout) {
+        return new StartupWarmup(kafkaTemplate, serializer, objectMapper, validator, new UuidV7EventIdGenerator(),
+            TOPIC, enabled, timeout);
+    }
+}
@@ -0,0 +1,113 @@
+package io.gaming.platform.socialservice.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.gaming.platform.socialservice.eventid.EventIdGenerator;
+import io.gaming.platform.socialservice.eventid.UuidV7EventIdGenerator;
+import io.gaming.platform.socialservice.model.SocialEvent;
+
+class SocialEventStreamHubTest {
+    private static final long PLAYER_ID = 123L;
+    private static final long OTHER_PLAYER_ID = 456L;
+    private static final EventIdGenerator EVENT_IDS = new UuidV7EventIdGenerator();
+
+    private final SocialEventStreamHub hub =
+        new SocialEventStreamHub(2, 2, Duration.ofMinutes(1), Duration.ofMinutes(30));
+
+    @AfterEach
+    void tearDown() {
+        hub.destroy();
+    }
+
+    @Test
+    void publish_ShouldDeliverOnlyToTheAddressedPlayer() throws Exception {
+        // Arrange
+        RecordingEmitter addressed = new RecordingEmitter();
+        RecordingEmitter other = new RecordingEmitter();
+        hub.subscribe(OTHER_PLAYER_ID, addressed);
+        hub.subscribe(PLAYER_ID, other);
+
+        // Act
+        hub.publish(SocialEvent.friendRequest(PLAYER_ID, OTHER_PLAYER_ID, EVENT_IDS));
+
+        // Assert
+        assertThat(addressed.sent.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(addressed.events).hasSize(1);
+        assertThat(other.events).isEmpty();
+    }
+
+    @Test
+    void subscribe_ShouldRefuseStreamsBeyondMaxSubscribers() {
+        // Act
+        SseEmitter first = hub.subscribe(1L, new RecordingEmitter());
+        SseEmitter second = hub.subscribe(2L, new RecordingEmitter());
+        SseEmitter third = hub.subscribe(3L, new RecordingEmitter());
+
+        // Assert
+        assertThat(first).isNotNull();
+        assertThat(second).isNotNull();
+        assertThat(third).isNull();
+        assertThat(hub.subscriberCount()).isEqualTo(2);
+    }
+
+    @Test
+    void publish_ShouldEvictSubscriberThatFallsBufferSizeBehind() throws Exception {
+        // Arrange
+        RecordingEmitter stalled = new RecordingEmitter(new CountDownLatch(1));
+        hub.subscribe(OTHER_PLAYER_ID, stalled);
+        hub.publish(SocialEvent.newFollower(PLAYER_ID, OTHER_PLAYER_ID, EVENT_IDS));
+        assertThat(stalled.entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            hub.publish(SocialEvent.newFollower(PLAYER_ID + i + 1, OTHER_PLAYER_ID, EVENT_IDS));
+        }
+
+        // Assert
+        assertThat(hub.evictions()).isEqualTo(1);
+        assertThat(hub.subscriberCount()).isZero();
+        stalled.release.countDown();
+    }
+
+    /**
+     * Records what would be written to the client; optionally blocks the first write like a full socket.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+        final List<SseEventBuilder> events = new CopyOnWriteArrayList<>();
+        final CountDownLatch sent = new CountDownLatch(1);
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release;
+
+        RecordingEmitter() {
+            this(new CountDownLatch(0));
+        }
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            events.add(builder);
+            sent.countDown();
+        }
+    }
+}